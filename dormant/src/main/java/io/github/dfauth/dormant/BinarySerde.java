@@ -1,11 +1,11 @@
 package io.github.dfauth.dormant;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -46,11 +46,9 @@ public class BinarySerde implements Serde {
     }
 
     public static byte[] serialize(Dormant dormant) {
-        var baos = new ByteArrayOutputStream();
+        var baos = SizedByteArrayOutputStream.create(dormant.sizeHint());
         var serde = new BinarySerde(new DataOutputStream(baos));
-        serde.writeInt(serde.magicNumber());
-        serde.writeInt(dormant.typeId());
-        dormant.write(serde);
+        serde.writeEnvelope(dormant);
         return baos.toByteArray();
     }
 
@@ -375,17 +373,7 @@ public class BinarySerde implements Serde {
     @Override
     public <T> List<T> readList(Reader<T> reader)
     {
-        int size = readInt();
-        if (size == -1)
-        {
-            return null;
-        }
-        List<T> list = new ArrayList<>(size);
-        for (int i = 0; i < size; i++)
-        {
-            list.add(reader.read(this));
-        }
-        return list;
+        return readCollection(reader, ArrayList::new);
     }
 
     @Override
@@ -410,19 +398,84 @@ public class BinarySerde implements Serde {
     @Override
     public <K, V> Map<K, V> readMap(Reader<K> keyReader, Reader<V> valueReader)
     {
-        int size = readInt();
-        if (size == -1)
-        {
-            return null;
+        // newHashMap sizes for the load factor so the map never rehashes while being filled
+        return readMapInto(keyReader, valueReader, HashMap::newHashMap);
+    }
+
+    // Bulk primitive arrays: one read/write of the whole payload instead of one call per element
+    @Override
+    public Serde writeIntArray(int[] values) {
+        if (values == null) {
+            return writeInt(-1);
         }
-        Map<K, V> map = new HashMap<>(size);
-        for (int i = 0; i < size; i++)
-        {
-            K key = keyReader.read(this);
-            V value = valueReader.read(this);
-            map.put(key, value);
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * values.length);
+        buffer.asIntBuffer().put(values);
+        writeInt(values.length);
+        tryCatch(() -> out.write(buffer.array()));
+        return this;
+    }
+
+    @Override
+    public int[] readIntArray() {
+        byte[] bytes = readArrayBytes(Integer.BYTES);
+        if (bytes == null) return null;
+        int[] values = new int[bytes.length / Integer.BYTES];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(values);
+        return values;
+    }
+
+    @Override
+    public Serde writeLongArray(long[] values) {
+        if (values == null) {
+            return writeInt(-1);
         }
-        return map;
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * values.length);
+        buffer.asLongBuffer().put(values);
+        writeInt(values.length);
+        tryCatch(() -> out.write(buffer.array()));
+        return this;
+    }
+
+    @Override
+    public long[] readLongArray() {
+        byte[] bytes = readArrayBytes(Long.BYTES);
+        if (bytes == null) return null;
+        long[] values = new long[bytes.length / Long.BYTES];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(values);
+        return values;
+    }
+
+    @Override
+    public Serde writeDoubleArray(double[] values) {
+        if (values == null) {
+            return writeInt(-1);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES * values.length);
+        buffer.asDoubleBuffer().put(values);
+        writeInt(values.length);
+        tryCatch(() -> out.write(buffer.array()));
+        return this;
+    }
+
+    @Override
+    public double[] readDoubleArray() {
+        byte[] bytes = readArrayBytes(Double.BYTES);
+        if (bytes == null) return null;
+        double[] values = new double[bytes.length / Double.BYTES];
+        ByteBuffer.wrap(bytes).asDoubleBuffer().get(values);
+        return values;
+    }
+
+    private byte[] readArrayBytes(int elementSize) {
+        int size = readInt();
+        if (size == -1) return null;
+        // a corrupt length must not wrap to a small array and misalign the rest of the stream
+        if (size < 0 || size > Integer.MAX_VALUE / elementSize) {
+            throw new IllegalArgumentException("Invalid array length: " + size);
+        }
+        byte[] bytes = new byte[size * elementSize];
+        tryCatch(() -> in.readFully(bytes));
+        return bytes;
     }
 
 }
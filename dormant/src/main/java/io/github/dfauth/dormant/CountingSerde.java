@@ -0,0 +1,317 @@
+package io.github.dfauth.dormant;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Write-only {@link Serde} that encodes nothing and counts the bytes
+ * {@link BinarySerde} would produce for the same sequence of writes.
+ * Backs {@link Dormant#serializedSize()}.
+ */
+class CountingSerde implements Serde {
+
+    private int count;
+
+    int count() {
+        return count;
+    }
+
+    @Override
+    public int magicNumber() {
+        return BinarySerde.MAGIC_NUMBER;
+    }
+
+    // Write methods
+    @Override
+    public Serde writeInt(int value) {
+        count += Integer.BYTES;
+        return this;
+    }
+
+    @Override
+    public Serde writeLong(long value) {
+        count += Long.BYTES;
+        return this;
+    }
+
+    @Override
+    public Serde writeFloat(float value) {
+        count += Float.BYTES;
+        return this;
+    }
+
+    @Override
+    public Serde writeDouble(double value) {
+        count += Double.BYTES;
+        return this;
+    }
+
+    @Override
+    public Serde writeBoolean(boolean value) {
+        count += 1;
+        return this;
+    }
+
+    @Override
+    public Serde writeByte(byte value) {
+        count += Byte.BYTES;
+        return this;
+    }
+
+    @Override
+    public Serde writeShort(short value) {
+        count += Short.BYTES;
+        return this;
+    }
+
+    @Override
+    public Serde writeChar(char value) {
+        count += Character.BYTES;
+        return this;
+    }
+
+    @Override
+    public Serde writeString(String value) {
+        count += Integer.BYTES + (value == null ? 0 : utf8Length(value));
+        return this;
+    }
+
+    @Override
+    public Serde writeBigDecimal(BigDecimal value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            // scale, length, then BigInteger.toByteArray() which is bitLength / 8 + 1 bytes
+            count += Integer.BYTES + Integer.BYTES + value.unscaledValue().bitLength() / 8 + 1;
+        }
+        return this;
+    }
+
+    @Override
+    public Serde writeLocalDate(LocalDate value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            count += Long.BYTES;
+        }
+        return this;
+    }
+
+    @Override
+    public Serde writeInstant(Instant value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            count += Long.BYTES + Integer.BYTES;
+        }
+        return this;
+    }
+
+    @Override
+    public Serde writeLocalDateTime(LocalDateTime value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            count += Long.BYTES + Long.BYTES;
+        }
+        return this;
+    }
+
+    @Override
+    public Serde writeBytes(byte[] value) {
+        count += Integer.BYTES + (value == null ? 0 : value.length);
+        return this;
+    }
+
+    @Override
+    public Serde writeEnum(Enum<?> value) {
+        return writeString(value != null ? value.name() : null);
+    }
+
+    @Override
+    public Serde writeOrdinal(Enum<?> value) {
+        return writeInt(0);
+    }
+
+    @Override
+    public Serde writeDormant(Dormant value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeInt(value.typeId());
+            value.write(this);
+        }
+        return this;
+    }
+
+    @Override
+    public <T> Serde writeList(List<T> list, Writer<T> writer) {
+        writeInt(0);
+        if (list != null) {
+            for (T element : list) {
+                writer.write(this, element);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public <K, V> Serde writeMap(Map<K, V> map, Writer<K> keyWriter, Writer<V> valueWriter) {
+        writeInt(0);
+        if (map != null) {
+            for (Map.Entry<K, V> entry : map.entrySet()) {
+                keyWriter.write(this, entry.getKey());
+                valueWriter.write(this, entry.getValue());
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public Serde writeIntArray(int[] values) {
+        count += Integer.BYTES + (values == null ? 0 : Integer.BYTES * values.length);
+        return this;
+    }
+
+    @Override
+    public Serde writeLongArray(long[] values) {
+        count += Integer.BYTES + (values == null ? 0 : Long.BYTES * values.length);
+        return this;
+    }
+
+    @Override
+    public Serde writeDoubleArray(double[] values) {
+        count += Integer.BYTES + (values == null ? 0 : Double.BYTES * values.length);
+        return this;
+    }
+
+    /**
+     * Length of {@code value.getBytes(UTF_8)} without encoding it. Unpaired
+     * surrogates count as one byte, matching the '?' the encoder substitutes.
+     */
+    static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // 4 bytes for the pair of chars
+                bytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    // Read methods
+    @Override
+    public int readInt() {
+        throw writeOnly();
+    }
+
+    @Override
+    public long readLong() {
+        throw writeOnly();
+    }
+
+    @Override
+    public float readFloat() {
+        throw writeOnly();
+    }
+
+    @Override
+    public double readDouble() {
+        throw writeOnly();
+    }
+
+    @Override
+    public boolean readBoolean() {
+        throw writeOnly();
+    }
+
+    @Override
+    public byte readByte() {
+        throw writeOnly();
+    }
+
+    @Override
+    public short readShort() {
+        throw writeOnly();
+    }
+
+    @Override
+    public char readChar() {
+        throw writeOnly();
+    }
+
+    @Override
+    public String readString() {
+        throw writeOnly();
+    }
+
+    @Override
+    public BigDecimal readBigDecimal() {
+        throw writeOnly();
+    }
+
+    @Override
+    public LocalDate readLocalDate() {
+        throw writeOnly();
+    }
+
+    @Override
+    public Instant readInstant() {
+        throw writeOnly();
+    }
+
+    @Override
+    public LocalDateTime readLocalDateTime() {
+        throw writeOnly();
+    }
+
+    @Override
+    public byte[] readBytes() {
+        throw writeOnly();
+    }
+
+    @Override
+    public <E extends Enum<E>> E readEnum(Class<E> enumClass) {
+        throw writeOnly();
+    }
+
+    @Override
+    public <E extends Enum<E>> E readOrdinal(Class<E> enumClass) {
+        throw writeOnly();
+    }
+
+    @Override
+    public <T extends Dormant> T readDormant() {
+        throw writeOnly();
+    }
+
+    @Override
+    public <T extends Dormant> T readDormant(Supplier<T> factory) {
+        throw writeOnly();
+    }
+
+    @Override
+    public <T> List<T> readList(Reader<T> reader) {
+        throw writeOnly();
+    }
+
+    @Override
+    public <K, V> Map<K, V> readMap(Reader<K> keyReader, Reader<V> valueReader) {
+        throw writeOnly();
+    }
+
+    private static UnsupportedOperationException writeOnly() {
+        return new UnsupportedOperationException("CountingSerde only supports writes");
+    }
+}
@@ -21,16 +21,33 @@ public interface Dormant extends Externalizable {
     void write(Serde serde);
 
     default byte[] write() {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ByteArrayOutputStream baos = SizedByteArrayOutputStream.create(sizeHint());
         write(baos);
         return baos.toByteArray();
     }
 
+    /**
+     * Initial capacity for the buffer {@link #write()} encodes into, or a
+     * non-positive value to fall back to the default growable buffer.
+     * Large objects can return {@link #serializedSize()} (or a cheaper
+     * estimate of their own) to avoid repeated grow-and-copy rounds.
+     */
+    default int sizeHint() {
+        return -1;
+    }
+
+    /**
+     * Exact length of {@link #write()}'s output under the binary encoding,
+     * computed by a counting pass over {@link #write(Serde)}.
+     */
+    default int serializedSize() {
+        CountingSerde serde = new CountingSerde();
+        serde.writeEnvelope(this);
+        return serde.count();
+    }
+
     default void write(OutputStream stream) {
-        Serde serde = SerdeFactory.create(stream);
-        serde.writeInt(serde.magicNumber());
-        serde.writeInt(typeId());
-        write(serde);
+        SerdeFactory.create(stream).writeEnvelope(this);
     }
 
     void read(Serde serde);
@@ -41,10 +58,7 @@ public interface Dormant extends Externalizable {
     }
 
     default void read(InputStream stream) {
-        Serde serde = SerdeFactory.create(stream);
-        serde.readInt(); // magic number
-        serde.readInt(); // typeId
-        read(serde);
+        SerdeFactory.create(stream).readEnvelope(this);
     }
 
     static void readLenient(Runnable runnable) {
@@ -0,0 +1,407 @@
+package io.github.dfauth.dormant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+import static io.github.dfauth.trycatch.TryCatch.tryCatch;
+
+/**
+ * Append-only key-value store for {@link Dormant} values (a Bitcask-style log).
+ * <p>
+ * Every {@link #put} or {@link #remove} appends a frame to the data file:
+ * <pre>
+ *   int    crc32c     (over everything that follows)
+ *   int    keyLength
+ *   int    valueLength (-1 marks a removal)
+ *   byte[] key        (UTF-8)
+ *   byte[] value      ({@link Dormant#write()} bytes)
+ * </pre>
+ * An in-memory {@link OffsetIndex} maps each live key to the position and
+ * length of its latest value, so a point read is one hash probe plus one
+ * positional read. The index is rebuilt on open by scanning the frames. A
+ * torn tail (e.g. after a crash mid-write), i.e. a bad frame with no valid
+ * frame at any later offset, is truncated away. A bad frame whose declared
+ * length leads to a valid frame is skipped with a warning; any other bad
+ * frame fails the open rather than discard the frames after it. Superseded
+ * frames are reclaimed by {@link #compact()}.
+ * <p>
+ * Reads may proceed concurrently; writes and compaction are exclusive.
+ */
+public class DormantStore implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(DormantStore.class);
+
+    static final int HEADER_SIZE = 12;
+    private static final int TOMBSTONE = -1;
+
+    private final Path path;
+    private final DormantRegistry registry;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel channel;
+    private OffsetIndex index = new OffsetIndex();
+    private long end;
+    private long staleFrames;
+
+    public DormantStore(Path path) {
+        this(path, null);
+    }
+
+    public DormantStore(Path path, DormantRegistry registry) {
+        this.path = path;
+        this.registry = registry;
+        this.channel = tryCatch(() -> FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        tryCatch(() -> {
+            try {
+                rebuild();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        });
+    }
+
+    public void put(String key, Dormant value) {
+        byte[] bytes = value.write();
+        lock.writeLock().lock();
+        try {
+            long position = append(key, bytes, bytes.length);
+            if (index.put(key, position, bytes.length)) {
+                staleFrames++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            if (index.offset(key) == OffsetIndex.ABSENT) {
+                return false;
+            }
+            // the index changes only once the tombstone is written, as in put
+            append(key, null, TOMBSTONE);
+            index.remove(key);
+            // both the superseded value and the tombstone itself are garbage
+            staleFrames += 2;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public <T extends Dormant> Optional<T> get(String key, Supplier<T> factory) {
+        return getBytes(key).map(bytes -> {
+            T value = factory.get();
+            value.read(bytes);
+            return value;
+        });
+    }
+
+    public <T extends Dormant> Optional<T> get(String key) {
+        if (registry == null) {
+            throw new UnsupportedOperationException("No DormantRegistry available. Use get(String, Supplier<T>) instead.");
+        }
+        return getBytes(key).map(registry::deserialize);
+    }
+
+    public Optional<byte[]> getBytes(String key) {
+        lock.readLock().lock();
+        try {
+            long position = index.offset(key);
+            if (position == OffsetIndex.ABSENT) {
+                return Optional.empty();
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(index.length(key));
+            tryCatch(() -> readFully(channel, buffer, position));
+            return Optional.of(buffer.array());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean containsKey(String key) {
+        lock.readLock().lock();
+        try {
+            return index.offset(key) != OffsetIndex.ABSENT;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of frames in the data file that no longer back a live key;
+     * a hint for when {@link #compact()} is worthwhile.
+     */
+    public long staleFrames() {
+        lock.readLock().lock();
+        try {
+            return staleFrames;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the data file keeping only the latest frame of each live key,
+     * then atomically replaces the original. The store switches to the
+     * compacted file only once the replacement has succeeded; on failure the
+     * temporary file is deleted and the original remains in use.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+            OffsetIndex compacted = new OffsetIndex(index.size());
+            tryCatch(() -> {
+                // opened before the move, so the channel follows the file to its new name
+                FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                long length;
+                try {
+                    length = copyLive(out, compacted);
+                    out.force(true);
+                    Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException | RuntimeException e) {
+                    out.close();
+                    Files.deleteIfExists(tmp);
+                    throw e;
+                }
+                FileChannel original = channel;
+                channel = out;
+                end = length;
+                index = compacted;
+                staleFrames = 0;
+                original.close();
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the latest frame of each live key to {@code out}, recording
+     * their new positions in {@code compacted}.
+     *
+     * @return the length written
+     */
+    private long copyLive(FileChannel out, OffsetIndex compacted) {
+        long[] position = {0L};
+        index.forEach((key, offset, length) -> tryCatch(() -> {
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer value = ByteBuffer.allocate(length);
+            readFully(channel, value, offset);
+            ByteBuffer frame = frame(keyBytes, value.array(), length);
+            int written = frame.remaining();
+            writeFully(out, frame, position[0]);
+            compacted.put(key, position[0] + HEADER_SIZE + keyBytes.length, length);
+            position[0] += written;
+        }));
+        return position[0];
+    }
+
+    /**
+     * Forces appended frames to the storage device.
+     */
+    public void sync() {
+        tryCatch(() -> channel.force(false));
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (channel.isOpen()) {
+                channel.force(true);
+                channel.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long append(String key, byte[] value, int valueLength) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer frame = frame(keyBytes, value, valueLength);
+        long position = end;
+        int written = frame.remaining();
+        tryCatch(() -> writeFully(channel, frame, position));
+        end += written;
+        return position + HEADER_SIZE + keyBytes.length;
+    }
+
+    private static ByteBuffer frame(byte[] key, byte[] value, int valueLength) {
+        int size = HEADER_SIZE + key.length + Math.max(valueLength, 0);
+        ByteBuffer frame = ByteBuffer.allocate(size);
+        frame.putInt(0)
+                .putInt(key.length)
+                .putInt(valueLength)
+                .put(key);
+        if (value != null) {
+            frame.put(value, 0, valueLength);
+        }
+        frame.putInt(0, crc(frame.array(), 4, size - 4));
+        return frame.flip();
+    }
+
+    private void rebuild() throws IOException {
+        long size = channel.size();
+        long position = 0;
+        while (position < size) {
+            ByteBuffer frame = readFrame(position, size);
+            if (frame == null) {
+                long frameEnd = declaredEnd(position, size);
+                if (frameEnd > position && frameEnd < size && readFrame(frameEnd, size) != null) {
+                    log.warn("Skipping corrupt frame of {} bytes at {} in {}", frameEnd - position, position, path);
+                    position = frameEnd;
+                    continue;
+                }
+                long next = isZeroFilled(position, size) ? -1 : nextFrame(position + 1, size);
+                if (next < 0) {
+                    // torn tail: nothing valid follows
+                    break;
+                }
+                throw new IOException("Corrupt frame at " + position + " in " + path + " cannot be resynchronised with the valid frame at " + next);
+            }
+            int keyLength = frame.getInt(4);
+            int valueLength = frame.getInt(8);
+            String key = new String(frame.array(), HEADER_SIZE, keyLength, StandardCharsets.UTF_8);
+            if (valueLength == TOMBSTONE) {
+                if (index.remove(key)) {
+                    staleFrames++;
+                }
+                staleFrames++;
+            } else if (index.put(key, position + HEADER_SIZE + keyLength, valueLength)) {
+                staleFrames++;
+            }
+            position += frame.capacity();
+        }
+        if (position < size) {
+            log.warn("Truncating {} trailing bytes of an incomplete frame in {}", size - position, path);
+            channel.truncate(position);
+        }
+        end = position;
+    }
+
+    /**
+     * @return the end of the frame at {@code position} according to its
+     * header, {@code Long.MAX_VALUE} if the header itself is cut off by the
+     * end of the file, or {@code -1} if the header is implausible
+     */
+    private long declaredEnd(long position, long size) throws IOException {
+        if (position + HEADER_SIZE > size) {
+            return Long.MAX_VALUE;
+        }
+        ByteBuffer header = readFully(channel, ByteBuffer.allocate(HEADER_SIZE), position);
+        int keyLength = header.getInt(4);
+        int valueLength = header.getInt(8);
+        if (keyLength < 0 || valueLength < TOMBSTONE) {
+            return -1;
+        }
+        return position + HEADER_SIZE + (long) keyLength + Math.max(valueLength, 0);
+    }
+
+    /**
+     * @return the whole frame at {@code position}, or {@code null} if it is
+     * incomplete, implausible or fails its checksum
+     */
+    private ByteBuffer readFrame(long position, long size) throws IOException {
+        long frameEnd = declaredEnd(position, size);
+        if (frameEnd < 0 || frameEnd > size) {
+            return null;
+        }
+        ByteBuffer frame = readFully(channel, ByteBuffer.allocate((int) (frameEnd - position)), position);
+        return crc(frame.array(), 4, frame.capacity() - 4) == frame.getInt(0) ? frame : null;
+    }
+
+    /**
+     * @return the first offset from {@code from} holding a whole frame that
+     * passes its checksum, or {@code -1} if there is none
+     */
+    private long nextFrame(long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        for (long at = from; at + HEADER_SIZE <= size; ) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), size - at));
+            readFully(channel, buffer, at);
+            // offsets whose header lies within the buffer
+            int candidates = buffer.limit() - HEADER_SIZE + 1;
+            for (int i = 0; i < candidates; i++) {
+                int keyLength = buffer.getInt(i + 4);
+                int valueLength = buffer.getInt(i + 8);
+                // screen the header in memory before reading the frame
+                if (keyLength >= 0 && valueLength >= TOMBSTONE
+                        && at + i + HEADER_SIZE + (long) keyLength + Math.max(valueLength, 0) <= size
+                        && readFrame(at + i, size) != null) {
+                    return at + i;
+                }
+            }
+            at += candidates;
+        }
+        return -1;
+    }
+
+    /**
+     * Whether the file is all zeros from {@code position}, as left by a crash
+     * after the file was extended but before the frame reached the disk.
+     */
+    private boolean isZeroFilled(long position, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        for (long at = position; at < size; at += buffer.capacity()) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), size - at));
+            readFully(channel, buffer, at);
+            while (buffer.hasRemaining()) {
+                if (buffer.get() != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new IOException("Unexpected end of file at " + (position + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        int written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer, position + written);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,380 @@
+package io.github.dfauth.dormant;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * {@link Serde} decorator that measures each {@link Dormant} it encodes or
+ * decodes: bytes, elapsed time and nesting depth are added to
+ * {@link SerdeMetrics} and, when a JFR recording has it enabled, emitted as
+ * a {@link SerdeEvent}. Figures for an object include its nested objects.
+ * <p>
+ * Nested objects, lists and maps are driven through this decorator (rather
+ * than the delegate) so their elements are measured too. Objects read with
+ * the registry-based {@link #readDormant()} are decoded by the delegate and
+ * are not individually measured.
+ * <p>
+ * Created by {@link InstrumentedSerdeProvider}; when instrumentation is not
+ * configured no decorator is involved and there is no overhead at all.
+ */
+class InstrumentedSerde implements Serde {
+
+    private final Serde delegate;
+    private final LongSupplier position;
+    private int depth;
+
+    InstrumentedSerde(Serde delegate, LongSupplier position) {
+        this.delegate = delegate;
+        this.position = position;
+    }
+
+    @Override
+    public int magicNumber() {
+        return delegate.magicNumber();
+    }
+
+    @Override
+    public Serde writeEnvelope(Dormant value) {
+        long from = position.getAsLong();
+        writeInt(magicNumber());
+        writeInt(value.typeId());
+        encode(value, from);
+        return this;
+    }
+
+    @Override
+    public Serde readEnvelope(Dormant value) {
+        long from = position.getAsLong();
+        readInt(); // magic number
+        readInt(); // typeId
+        decode(value, from);
+        return this;
+    }
+
+    // Write methods
+    @Override
+    public Serde writeInt(int value) {
+        delegate.writeInt(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeLong(long value) {
+        delegate.writeLong(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeFloat(float value) {
+        delegate.writeFloat(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeDouble(double value) {
+        delegate.writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeBoolean(boolean value) {
+        delegate.writeBoolean(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeByte(byte value) {
+        delegate.writeByte(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeShort(short value) {
+        delegate.writeShort(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeChar(char value) {
+        delegate.writeChar(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeString(String value) {
+        delegate.writeString(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeBigDecimal(BigDecimal value) {
+        delegate.writeBigDecimal(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeLocalDate(LocalDate value) {
+        delegate.writeLocalDate(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeInstant(Instant value) {
+        delegate.writeInstant(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeLocalDateTime(LocalDateTime value) {
+        delegate.writeLocalDateTime(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeBytes(byte[] value) {
+        delegate.writeBytes(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeEnum(Enum<?> value) {
+        delegate.writeEnum(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeOrdinal(Enum<?> value) {
+        delegate.writeOrdinal(value);
+        return this;
+    }
+
+    @Override
+    public Serde writeDormant(Dormant value) {
+        long from = position.getAsLong();
+        writeBoolean(value != null);
+        if (value != null) {
+            writeInt(value.typeId());
+            encode(value, from);
+        }
+        return this;
+    }
+
+    @Override
+    public <T> Serde writeList(List<T> list, Writer<T> writer) {
+        if (list == null) {
+            writeInt(-1);
+        } else {
+            writeInt(list.size());
+            for (T element : list) {
+                writer.write(this, element);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public <K, V> Serde writeMap(Map<K, V> map, Writer<K> keyWriter, Writer<V> valueWriter) {
+        if (map == null) {
+            writeInt(-1);
+        } else {
+            writeInt(map.size());
+            for (Map.Entry<K, V> entry : map.entrySet()) {
+                keyWriter.write(this, entry.getKey());
+                valueWriter.write(this, entry.getValue());
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public Serde writeIntArray(int[] values) {
+        delegate.writeIntArray(values);
+        return this;
+    }
+
+    @Override
+    public Serde writeLongArray(long[] values) {
+        delegate.writeLongArray(values);
+        return this;
+    }
+
+    @Override
+    public Serde writeDoubleArray(double[] values) {
+        delegate.writeDoubleArray(values);
+        return this;
+    }
+
+    // Read methods
+    @Override
+    public int readInt() {
+        return delegate.readInt();
+    }
+
+    @Override
+    public long readLong() {
+        return delegate.readLong();
+    }
+
+    @Override
+    public float readFloat() {
+        return delegate.readFloat();
+    }
+
+    @Override
+    public double readDouble() {
+        return delegate.readDouble();
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return delegate.readBoolean();
+    }
+
+    @Override
+    public byte readByte() {
+        return delegate.readByte();
+    }
+
+    @Override
+    public short readShort() {
+        return delegate.readShort();
+    }
+
+    @Override
+    public char readChar() {
+        return delegate.readChar();
+    }
+
+    @Override
+    public String readString() {
+        return delegate.readString();
+    }
+
+    @Override
+    public BigDecimal readBigDecimal() {
+        return delegate.readBigDecimal();
+    }
+
+    @Override
+    public LocalDate readLocalDate() {
+        return delegate.readLocalDate();
+    }
+
+    @Override
+    public Instant readInstant() {
+        return delegate.readInstant();
+    }
+
+    @Override
+    public LocalDateTime readLocalDateTime() {
+        return delegate.readLocalDateTime();
+    }
+
+    @Override
+    public byte[] readBytes() {
+        return delegate.readBytes();
+    }
+
+    @Override
+    public <E extends Enum<E>> E readEnum(Class<E> enumClass) {
+        return delegate.readEnum(enumClass);
+    }
+
+    @Override
+    public <E extends Enum<E>> E readOrdinal(Class<E> enumClass) {
+        return delegate.readOrdinal(enumClass);
+    }
+
+    @Override
+    public <T extends Dormant> T readDormant() {
+        return delegate.readDormant();
+    }
+
+    @Override
+    public <T extends Dormant> T readDormant(Supplier<T> factory) {
+        long from = position.getAsLong();
+        if (readBoolean()) {
+            readInt(); // consume typeId
+            T value = factory.get();
+            decode(value, from);
+            return value;
+        }
+        return null;
+    }
+
+    @Override
+    public <T> List<T> readList(Reader<T> reader) {
+        return readCollection(reader, ArrayList::new);
+    }
+
+    @Override
+    public <K, V> Map<K, V> readMap(Reader<K> keyReader, Reader<V> valueReader) {
+        return readMapInto(keyReader, valueReader, HashMap::newHashMap);
+    }
+
+    @Override
+    public int[] readIntArray() {
+        return delegate.readIntArray();
+    }
+
+    @Override
+    public long[] readLongArray() {
+        return delegate.readLongArray();
+    }
+
+    @Override
+    public double[] readDoubleArray() {
+        return delegate.readDoubleArray();
+    }
+
+    private void encode(Dormant value, long from) {
+        SerdeEvent event = new SerdeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int level = depth++;
+        try {
+            value.write(this);
+        } finally {
+            depth--;
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = position.getAsLong() - from;
+        SerdeMetrics.forType(value.getClass()).encoded(bytes, nanos, level);
+        commit(event, value, SerdeEvent.ENCODE, bytes, level);
+    }
+
+    private void decode(Dormant value, long from) {
+        SerdeEvent event = new SerdeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int level = depth++;
+        try {
+            value.read(this);
+        } finally {
+            depth--;
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = position.getAsLong() - from;
+        SerdeMetrics.forType(value.getClass()).decoded(bytes, nanos, level);
+        commit(event, value, SerdeEvent.DECODE, bytes, level);
+    }
+
+    private static void commit(SerdeEvent event, Dormant value, String operation, long bytes, int level) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = value.getClass().getName();
+            event.operation = operation;
+            event.bytes = bytes;
+            event.depth = level;
+            event.commit();
+        }
+    }
+}
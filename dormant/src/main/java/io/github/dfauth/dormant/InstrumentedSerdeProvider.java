@@ -0,0 +1,113 @@
+package io.github.dfauth.dormant;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * {@link SerdeProvider} that wraps the serdes of another provider in an
+ * {@link InstrumentedSerde}, counting the bytes that pass through the
+ * underlying stream.
+ * <p>
+ * Enable it either by listing this class in
+ * {@code META-INF/services/io.github.dfauth.dormant.SerdeProvider} (it then
+ * instruments the {@link BinarySerdeProvider}) or by setting the system
+ * property {@value #INSTRUMENT_PROPERTY}{@code =true}, which makes
+ * {@link SerdeFactory} wrap whichever provider it discovered.
+ */
+public class InstrumentedSerdeProvider implements SerdeProvider {
+
+    public static final String INSTRUMENT_PROPERTY = "dormant.serde.instrument";
+
+    private final SerdeProvider delegate;
+
+    public InstrumentedSerdeProvider() {
+        this(new BinarySerdeProvider());
+    }
+
+    public InstrumentedSerdeProvider(SerdeProvider delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Serde create(OutputStream out) {
+        CountingOutputStream counting = new CountingOutputStream(out);
+        return new InstrumentedSerde(delegate.create(counting), counting::count);
+    }
+
+    @Override
+    public Serde create(InputStream in) {
+        CountingInputStream counting = new CountingInputStream(in);
+        return new InstrumentedSerde(delegate.create(counting), counting::count);
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
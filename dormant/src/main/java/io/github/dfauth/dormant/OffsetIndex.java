@@ -0,0 +1,170 @@
+package io.github.dfauth.dormant;
+
+/**
+ * Open-addressing (linear probing) hash index from a string key to the
+ * location of its most recent value in a {@link DormantStore} data file.
+ * <p>
+ * Keys, their hashes, value offsets and value lengths live in parallel arrays
+ * so a lookup touches no per-entry objects. Removal uses backward-shift
+ * deletion, so there are no tombstones to skip over and probe sequences stay
+ * short. Not thread-safe; {@link DormantStore} guards access.
+ */
+final class OffsetIndex {
+
+    static final long ABSENT = -1L;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] keys;
+    private int[] hashes;
+    private long[] offsets;
+    private int[] lengths;
+    private int mask;
+    private int size;
+
+    OffsetIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    OffsetIndex(int expected) {
+        allocate(tableSizeFor(expected));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the value offset for {@code key}, or {@link #ABSENT}
+     */
+    long offset(String key) {
+        int slot = find(key);
+        return slot < 0 ? ABSENT : offsets[slot];
+    }
+
+    /**
+     * @return the value length for {@code key}, or {@code -1} if absent
+     */
+    int length(String key) {
+        int slot = find(key);
+        return slot < 0 ? -1 : lengths[slot];
+    }
+
+    /**
+     * @return {@code true} if an existing entry was replaced
+     */
+    boolean put(String key, long offset, int length) {
+        int h = hash(key);
+        int slot = h & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == h && keys[slot].equals(key)) {
+                offsets[slot] = offset;
+                lengths[slot] = length;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        hashes[slot] = h;
+        offsets[slot] = offset;
+        lengths[slot] = length;
+        if (++size > (mask + 1) >>> 1) {
+            resize();
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} if an entry was removed
+     */
+    boolean remove(String key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        // backward-shift deletion: pull forward any entry whose probe sequence passes through the hole
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != null) {
+            int home = hashes[next] & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                move(next, hole);
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = null;
+        size--;
+        return true;
+    }
+
+    void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                consumer.accept(keys[i], offsets[i], lengths[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(String key, long offset, int length);
+    }
+
+    private int find(String key) {
+        int h = hash(key);
+        int slot = h & mask;
+        while (keys[slot] != null) {
+            if (hashes[slot] == h && keys[slot].equals(key)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void move(int from, int to) {
+        keys[to] = keys[from];
+        hashes[to] = hashes[from];
+        offsets[to] = offsets[from];
+        lengths[to] = lengths[from];
+    }
+
+    private void resize() {
+        String[] oldKeys = keys;
+        int[] oldHashes = hashes;
+        long[] oldOffsets = offsets;
+        int[] oldLengths = lengths;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                hashes[slot] = oldHashes[i];
+                offsets[slot] = oldOffsets[i];
+                lengths[slot] = oldLengths[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new String[capacity];
+        hashes = new int[capacity];
+        offsets = new long[capacity];
+        lengths = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int tableSizeFor(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expected * 2 - 1)) << 1;
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
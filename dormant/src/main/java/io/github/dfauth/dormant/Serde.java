@@ -4,9 +4,11 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
 public interface Serde {
@@ -43,6 +45,26 @@ public interface Serde {
     int magicNumber();
     Serde writeDormant(Dormant value);
 
+    /**
+     * Writes a top-level {@link Dormant}: magic number and type id followed by its fields.
+     */
+    default Serde writeEnvelope(Dormant value) {
+        writeInt(magicNumber());
+        writeInt(value.typeId());
+        value.write(this);
+        return this;
+    }
+
+    /**
+     * Reads a top-level {@link Dormant} written by {@link #writeEnvelope(Dormant)} into {@code value}.
+     */
+    default Serde readEnvelope(Dormant value) {
+        readInt(); // magic number
+        readInt(); // typeId
+        value.read(this);
+        return this;
+    }
+
     // Read methods
     int readInt();
     default Serde readInt(Consumer<Integer> consumer) {
@@ -165,4 +187,126 @@ public interface Serde {
         consumer.accept(readMap(keyReader, valueReader));
         return this;
     }
+
+    /**
+     * Reads a list written by {@link #writeList} into a collection created
+     * by {@code factory}, which is given the element count so it can be
+     * sized up front.
+     */
+    default <T, C extends Collection<T>> C readCollection(Reader<T> reader, IntFunction<C> factory) {
+        int size = readInt();
+        if (size == -1) {
+            return null;
+        }
+        C collection = factory.apply(size);
+        for (int i = 0; i < size; i++) {
+            collection.add(reader.read(this));
+        }
+        return collection;
+    }
+
+    /**
+     * Reads a map written by {@link #writeMap} into a map created by
+     * {@code factory}, which is given the entry count so it can be sized up
+     * front (or ignore it, e.g. for a sorted map).
+     */
+    default <K, V, M extends Map<K, V>> M readMapInto(Reader<K> keyReader, Reader<V> valueReader, IntFunction<M> factory) {
+        int size = readInt();
+        if (size == -1) {
+            return null;
+        }
+        M map = factory.apply(size);
+        for (int i = 0; i < size; i++) {
+            K key = keyReader.read(this);
+            V value = valueReader.read(this);
+            map.put(key, value);
+        }
+        return map;
+    }
+
+    // Primitive arrays share the wire format of writeList with the boxed
+    // element writer, e.g. writeIntArray(a) reads back via readList(Serde::readInt)
+    default Serde writeIntArray(int[] values) {
+        if (values == null) {
+            return writeInt(-1);
+        }
+        writeInt(values.length);
+        for (int value : values) {
+            writeInt(value);
+        }
+        return this;
+    }
+
+    default int[] readIntArray() {
+        int size = readInt();
+        if (size == -1) {
+            return null;
+        }
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = readInt();
+        }
+        return values;
+    }
+
+    default Serde readIntArray(Consumer<int[]> consumer) {
+        consumer.accept(readIntArray());
+        return this;
+    }
+
+    default Serde writeLongArray(long[] values) {
+        if (values == null) {
+            return writeInt(-1);
+        }
+        writeInt(values.length);
+        for (long value : values) {
+            writeLong(value);
+        }
+        return this;
+    }
+
+    default long[] readLongArray() {
+        int size = readInt();
+        if (size == -1) {
+            return null;
+        }
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = readLong();
+        }
+        return values;
+    }
+
+    default Serde readLongArray(Consumer<long[]> consumer) {
+        consumer.accept(readLongArray());
+        return this;
+    }
+
+    default Serde writeDoubleArray(double[] values) {
+        if (values == null) {
+            return writeInt(-1);
+        }
+        writeInt(values.length);
+        for (double value : values) {
+            writeDouble(value);
+        }
+        return this;
+    }
+
+    default double[] readDoubleArray() {
+        int size = readInt();
+        if (size == -1) {
+            return null;
+        }
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = readDouble();
+        }
+        return values;
+    }
+
+    default Serde readDoubleArray(Consumer<double[]> consumer) {
+        consumer.accept(readDoubleArray());
+        return this;
+    }
 }
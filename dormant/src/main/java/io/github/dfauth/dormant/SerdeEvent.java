@@ -0,0 +1,39 @@
+package io.github.dfauth.dormant;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded by {@link InstrumentedSerde} for each {@link Dormant}
+ * encoded or decoded. The event duration is the encode/decode time; byte
+ * counts and timings include any nested {@link Dormant}s.
+ */
+@Name("io.github.dfauth.dormant.Serde")
+@Label("Dormant Serde")
+@Category("Dormant")
+@Description("Encoding or decoding of a Dormant object")
+@StackTrace(false)
+class SerdeEvent extends Event {
+
+    static final String ENCODE = "encode";
+    static final String DECODE = "decode";
+
+    @Label("Type")
+    String type;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Depth")
+    @Description("Nesting depth, 0 for a top-level object")
+    int depth;
+}
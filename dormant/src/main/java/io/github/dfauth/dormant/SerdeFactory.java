@@ -9,9 +9,14 @@ public class SerdeFactory {
     private static final SerdeProvider PROVIDER = loadProvider();
 
     private static SerdeProvider loadProvider() {
-        return ServiceLoader.load(SerdeProvider.class)
+        SerdeProvider provider = ServiceLoader.load(SerdeProvider.class)
                 .findFirst()
                 .orElseGet(BinarySerdeProvider::new);
+        return instrument(provider, Boolean.getBoolean(InstrumentedSerdeProvider.INSTRUMENT_PROPERTY));
+    }
+
+    static SerdeProvider instrument(SerdeProvider provider, boolean enabled) {
+        return enabled && !(provider instanceof InstrumentedSerdeProvider) ? new InstrumentedSerdeProvider(provider) : provider;
     }
 
     public static Serde create(OutputStream out) {
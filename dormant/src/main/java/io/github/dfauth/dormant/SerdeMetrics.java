@@ -0,0 +1,87 @@
+package io.github.dfauth.dormant;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide serialization counters per {@link Dormant} type, maintained
+ * by {@link InstrumentedSerde}. Counters are {@link LongAdder}s so
+ * concurrent encoders do not contend; {@link #snapshot()} is intended to be
+ * scraped periodically.
+ */
+public class SerdeMetrics {
+
+    private static final Map<Class<?>, TypeMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private static final ClassValue<TypeMetrics> BY_TYPE = new ClassValue<>() {
+        @Override
+        protected TypeMetrics computeValue(Class<?> type) {
+            return METRICS.computeIfAbsent(type, k -> new TypeMetrics());
+        }
+    };
+
+    static TypeMetrics forType(Class<?> type) {
+        return BY_TYPE.get(type);
+    }
+
+    /**
+     * @return current counters keyed by class name
+     */
+    public static Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        METRICS.forEach((type, metrics) -> result.put(type.getName(), metrics.snapshot()));
+        return result;
+    }
+
+    public static void reset() {
+        METRICS.values().forEach(TypeMetrics::reset);
+    }
+
+    public record Snapshot(long encodes, long bytesWritten, long encodeNanos,
+                           long decodes, long bytesRead, long decodeNanos,
+                           long maxDepth) {
+    }
+
+    static class TypeMetrics {
+        private final LongAdder encodes = new LongAdder();
+        private final LongAdder bytesWritten = new LongAdder();
+        private final LongAdder encodeNanos = new LongAdder();
+        private final LongAdder decodes = new LongAdder();
+        private final LongAdder bytesRead = new LongAdder();
+        private final LongAdder decodeNanos = new LongAdder();
+        private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+        void encoded(long bytes, long nanos, int depth) {
+            encodes.increment();
+            bytesWritten.add(bytes);
+            encodeNanos.add(nanos);
+            maxDepth.accumulate(depth);
+        }
+
+        void decoded(long bytes, long nanos, int depth) {
+            decodes.increment();
+            bytesRead.add(bytes);
+            decodeNanos.add(nanos);
+            maxDepth.accumulate(depth);
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(encodes.sum(), bytesWritten.sum(), encodeNanos.sum(),
+                    decodes.sum(), bytesRead.sum(), decodeNanos.sum(),
+                    maxDepth.get());
+        }
+
+        void reset() {
+            encodes.reset();
+            bytesWritten.reset();
+            encodeNanos.reset();
+            decodes.reset();
+            bytesRead.reset();
+            decodeNanos.reset();
+            maxDepth.reset();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.dfauth.dormant;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * {@link ByteArrayOutputStream} pre-sized from {@link Dormant#sizeHint()}.
+ * When the hint was exact the internal buffer is handed back as-is rather
+ * than copied, so the encoded bytes are allocated exactly once.
+ */
+class SizedByteArrayOutputStream extends ByteArrayOutputStream {
+
+    static ByteArrayOutputStream create(int sizeHint) {
+        return sizeHint > 0 ? new SizedByteArrayOutputStream(sizeHint) : new ByteArrayOutputStream();
+    }
+
+    private SizedByteArrayOutputStream(int size) {
+        super(size);
+    }
+
+    @Override
+    public synchronized byte[] toByteArray() {
+        return count == buf.length ? buf : super.toByteArray();
+    }
+}
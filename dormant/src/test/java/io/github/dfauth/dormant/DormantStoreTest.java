@@ -0,0 +1,267 @@
+package io.github.dfauth.dormant;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DormantStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void putAndGet() throws IOException {
+        try (var store = new DormantStore(dir.resolve("data"))) {
+            store.put("ASX:BHP", new SimpleMessage("bhp", 1));
+            store.put("ASX:CBA", new SimpleMessage("cba", 2));
+
+            assertEquals(Optional.of(new SimpleMessage("bhp", 1)), store.get("ASX:BHP", SimpleMessage::new));
+            assertEquals(Optional.of(new SimpleMessage("cba", 2)), store.get("ASX:CBA", SimpleMessage::new));
+            assertEquals(Optional.empty(), store.get("ASX:XYZ", SimpleMessage::new));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    void putOverwritesPreviousValue() throws IOException {
+        try (var store = new DormantStore(dir.resolve("data"))) {
+            store.put("ASX:BHP", new SimpleMessage("old", 1));
+            store.put("ASX:BHP", new SimpleMessage("new", 2));
+
+            assertEquals(Optional.of(new SimpleMessage("new", 2)), store.get("ASX:BHP", SimpleMessage::new));
+            assertEquals(1, store.size());
+            assertEquals(1, store.staleFrames());
+        }
+    }
+
+    @Test
+    void remove() throws IOException {
+        try (var store = new DormantStore(dir.resolve("data"))) {
+            store.put("ASX:BHP", new SimpleMessage("bhp", 1));
+
+            assertTrue(store.remove("ASX:BHP"));
+            assertFalse(store.remove("ASX:BHP"));
+            assertFalse(store.containsKey("ASX:BHP"));
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    void failedRemoveKeepsTheKey() throws IOException {
+        var store = new DormantStore(dir.resolve("data"));
+        store.put("ASX:BHP", new SimpleMessage("bhp", 1));
+        store.close();
+
+        assertThrows(RuntimeException.class, () -> store.remove("ASX:BHP"));
+        assertTrue(store.containsKey("ASX:BHP"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void getViaRegistry() throws IOException {
+        var registry = new DormantRegistry("io.github.dfauth.dormant");
+        try (var store = new DormantStore(dir.resolve("data"), registry)) {
+            var composite = new CompositeMessage("header", new SimpleMessage("body", 3));
+            store.put("composite", composite);
+
+            Optional<CompositeMessage> restored = store.get("composite");
+            assertEquals(Optional.of(composite), restored);
+        }
+    }
+
+    @Test
+    void getWithoutRegistryThrows() throws IOException {
+        try (var store = new DormantStore(dir.resolve("data"))) {
+            assertThrows(UnsupportedOperationException.class, () -> store.get("anything"));
+        }
+    }
+
+    @Test
+    void indexIsRebuiltOnOpen() throws IOException {
+        Path data = dir.resolve("data");
+        try (var store = new DormantStore(data)) {
+            store.put("a", new SimpleMessage("a1", 1));
+            store.put("b", new SimpleMessage("b1", 1));
+            store.put("a", new SimpleMessage("a2", 2));
+            store.remove("b");
+        }
+        try (var store = new DormantStore(data)) {
+            assertEquals(1, store.size());
+            assertEquals(Optional.of(new SimpleMessage("a2", 2)), store.get("a", SimpleMessage::new));
+            assertFalse(store.containsKey("b"));
+            assertEquals(3, store.staleFrames());
+        }
+    }
+
+    @Test
+    void tornTailIsTruncatedOnOpen() throws IOException {
+        Path data = dir.resolve("data");
+        try (var store = new DormantStore(data)) {
+            store.put("a", new SimpleMessage("a", 1));
+        }
+        long intact = Files.size(data);
+        // simulate a crash part-way through appending a frame
+        Files.write(data, new byte[]{0, 0, 0, 1, 0, 0}, StandardOpenOption.APPEND);
+
+        try (var store = new DormantStore(data)) {
+            assertEquals(intact, Files.size(data));
+            assertEquals(Optional.of(new SimpleMessage("a", 1)), store.get("a", SimpleMessage::new));
+            store.put("b", new SimpleMessage("b", 2));
+        }
+        try (var store = new DormantStore(data)) {
+            assertEquals(2, store.size());
+            assertEquals(Optional.of(new SimpleMessage("b", 2)), store.get("b", SimpleMessage::new));
+        }
+    }
+
+    @Test
+    void corruptMiddleFrameIsSkippedWithoutTruncating() throws IOException {
+        Path data = dir.resolve("data");
+        long secondFrame;
+        try (var store = new DormantStore(data)) {
+            store.put("a", new SimpleMessage("a", 1));
+            secondFrame = Files.size(data);
+            store.put("b", new SimpleMessage("b", 2));
+            store.put("c", new SimpleMessage("c", 3));
+        }
+        long intact = Files.size(data);
+        // flip the last byte of b's value, leaving its lengths plausible
+        corrupt(data, secondFrame + DormantStore.HEADER_SIZE + 1 + new SimpleMessage("b", 2).write().length - 1);
+
+        try (var store = new DormantStore(data)) {
+            assertEquals(intact, Files.size(data));
+            assertEquals(Optional.of(new SimpleMessage("a", 1)), store.get("a", SimpleMessage::new));
+            assertFalse(store.containsKey("b"));
+            assertEquals(Optional.of(new SimpleMessage("c", 3)), store.get("c", SimpleMessage::new));
+        }
+    }
+
+    @Test
+    void unrecoverableMiddleFrameFailsTheOpen() throws IOException {
+        Path data = dir.resolve("data");
+        long secondFrame;
+        try (var store = new DormantStore(data)) {
+            store.put("a", new SimpleMessage("a", 1));
+            secondFrame = Files.size(data);
+            store.put("b", new SimpleMessage("b", 2));
+            store.put("c", new SimpleMessage("c", 3));
+        }
+        byte[] before = Files.readAllBytes(data);
+        // a negative key length: the frame's extent, and so the next frame, is unknown
+        corrupt(data, secondFrame + 4);
+
+        assertThrows(RuntimeException.class, () -> new DormantStore(data));
+        assertEquals(before.length, Files.size(data));
+    }
+
+    @Test
+    void middleFrameLengthPastEndFailsTheOpen() throws IOException {
+        Path data = dir.resolve("data");
+        long secondFrame;
+        try (var store = new DormantStore(data)) {
+            store.put("a", new SimpleMessage("a", 1));
+            secondFrame = Files.size(data);
+            store.put("b", new SimpleMessage("b", 2));
+            store.put("c", new SimpleMessage("c", 3));
+        }
+        byte[] before = Files.readAllBytes(data);
+        // key length grows by 2^23, so the frame claims to run past the end of the file
+        corrupt(data, secondFrame + 5);
+
+        assertThrows(RuntimeException.class, () -> new DormantStore(data));
+        assertEquals(before.length, Files.size(data));
+    }
+
+    @Test
+    void zeroFilledTailIsTruncatedOnOpen() throws IOException {
+        Path data = dir.resolve("data");
+        try (var store = new DormantStore(data)) {
+            store.put("a", new SimpleMessage("a", 1));
+        }
+        long intact = Files.size(data);
+        Files.write(data, new byte[100], StandardOpenOption.APPEND);
+
+        try (var store = new DormantStore(data)) {
+            assertEquals(intact, Files.size(data));
+            assertEquals(1, store.size());
+        }
+    }
+
+    private static void corrupt(Path data, long position) throws IOException {
+        byte[] bytes = Files.readAllBytes(data);
+        bytes[(int) position] ^= (byte) 0x80;
+        Files.write(data, bytes);
+    }
+
+    @Test
+    void failedCompactionLeavesStoreUsable() throws IOException {
+        Path data = dir.resolve("data");
+        try (var store = new DormantStore(data)) {
+            store.put("a", new SimpleMessage("a1", 1));
+            store.put("a", new SimpleMessage("a2", 2));
+            // the open channel keeps the unlinked file alive; a non-empty
+            // directory in its place makes the final move fail
+            Files.delete(data);
+            Files.createDirectory(data);
+            Files.createFile(data.resolve("x"));
+
+            assertThrows(RuntimeException.class, store::compact);
+
+            assertFalse(Files.exists(dir.resolve("data.compact")));
+            assertEquals(1, store.staleFrames());
+            assertEquals(Optional.of(new SimpleMessage("a2", 2)), store.get("a", SimpleMessage::new));
+            store.put("b", new SimpleMessage("b", 3));
+            assertEquals(Optional.of(new SimpleMessage("b", 3)), store.get("b", SimpleMessage::new));
+        }
+    }
+
+    @Test
+    void compactionDropsSupersededFrames() throws IOException {
+        Path data = dir.resolve("data");
+        try (var store = new DormantStore(data)) {
+            for (int i = 0; i < 100; i++) {
+                store.put("key" + (i % 10), new SimpleMessage("value" + i, i));
+            }
+            store.remove("key0");
+            long before = Files.size(data);
+
+            store.compact();
+
+            assertTrue(Files.size(data) < before);
+            assertEquals(0, store.staleFrames());
+            assertEquals(9, store.size());
+            for (int k = 1; k < 10; k++) {
+                int last = 90 + k;
+                assertEquals(Optional.of(new SimpleMessage("value" + last, last)), store.get("key" + k, SimpleMessage::new));
+            }
+            store.put("key0", new SimpleMessage("again", 0));
+        }
+        try (var store = new DormantStore(data)) {
+            assertEquals(10, store.size());
+            assertEquals(Optional.of(new SimpleMessage("again", 0)), store.get("key0", SimpleMessage::new));
+            assertEquals(0, store.staleFrames());
+        }
+    }
+
+    @Test
+    void indexSurvivesGrowthAndRemoval() {
+        var index = new OffsetIndex();
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(index.put("key" + i, i, i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(index.remove("key" + i));
+        }
+        assertEquals(500, index.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? OffsetIndex.ABSENT : i, index.offset("key" + i));
+        }
+    }
+}
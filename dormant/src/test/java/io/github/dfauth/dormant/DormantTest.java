@@ -12,6 +12,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -369,6 +373,101 @@ class DormantTest {
         assertEquals(original, restored);
     }
 
+    @Test
+    void testSerializedSizeMatchesEncodedLength() {
+        var original = new TestObject("unicode: \u00e9\u00e0\u00fc\u4e16\u754c \uD83D\uDE00", 1, 2L, 3.0f, 4.0, true, (byte) 5, (short) 6, 'G',
+                new NestedObject("inner", 99), List.of("a", "b"), Map.of("k", 7));
+        assertEquals(original.write().length, original.serializedSize());
+
+        var nulls = new TestObject(null, 0, 0L, 0.0f, 0.0, false, (byte) 0, (short) 0, 'A', null, null, null);
+        assertEquals(nulls.write().length, nulls.serializedSize());
+    }
+
+    @Test
+    void testSerializedSizeOfTemporalAndBigDecimalFields() {
+        var decimals = new BigDecimalObject(new BigDecimal("99999999999999999999999999999.99999999999999999999"), new BigDecimal("-0.001"), null);
+        assertEquals(decimals.write().length, decimals.serializedSize());
+
+        var times = new InstantObject(Instant.parse("2024-06-15T10:30:00.123456789Z"), null);
+        assertEquals(times.write().length, times.serializedSize());
+
+        var dateTimes = new LocalDateTimeObject(LocalDateTime.of(2024, 6, 15, 10, 30), null);
+        assertEquals(dateTimes.write().length, dateTimes.serializedSize());
+
+        var bytes = new ByteArrayObject(new byte[]{1, 2, 3}, null);
+        assertEquals(bytes.write().length, bytes.serializedSize());
+
+        var enums = new EnumObject(Direction.NORTH, null);
+        assertEquals(enums.write().length, enums.serializedSize());
+    }
+
+    @Test
+    void testExactSizeHintRoundTrip() {
+        var original = new SizedObject(new NestedObject("sized", 1), List.of("x", "y", "z"));
+        byte[] bytes = original.write();
+        assertEquals(original.serializedSize(), bytes.length);
+
+        var restored = new SizedObject();
+        restored.read(bytes);
+        assertEquals(original, restored);
+        assertArrayEquals(bytes, BinarySerde.serialize(original));
+    }
+
+    @Test
+    void testPrimitiveArrayRoundTrip() {
+        var original = new PrimitiveArrayObject(new int[]{1, -2, Integer.MAX_VALUE}, new long[]{Long.MIN_VALUE, 0L},
+                new double[]{1.5, Double.NaN, -0.0}, new TreeSet<>(List.of("b", "a")), new TreeMap<>(Map.of("x", 1, "y", 2)));
+        byte[] bytes = original.write();
+        assertEquals(original.serializedSize(), bytes.length);
+
+        var restored = new PrimitiveArrayObject();
+        restored.read(bytes);
+        assertArrayEquals(original.ints, restored.ints);
+        assertArrayEquals(original.longs, restored.longs);
+        assertArrayEquals(original.doubles, restored.doubles);
+        assertEquals(original.names, restored.names);
+        assertInstanceOf(TreeSet.class, restored.names);
+        assertEquals(original.ranks, restored.ranks);
+        assertInstanceOf(TreeMap.class, restored.ranks);
+    }
+
+    @Test
+    void testPrimitiveArrayWithNullValues() {
+        var original = new PrimitiveArrayObject(null, new long[0], null, null, null);
+        byte[] bytes = original.write();
+
+        var restored = new PrimitiveArrayObject();
+        restored.read(bytes);
+        assertNull(restored.ints);
+        assertArrayEquals(new long[0], restored.longs);
+        assertNull(restored.doubles);
+        assertNull(restored.names);
+        assertNull(restored.ranks);
+    }
+
+    @Test
+    void testPrimitiveArraysShareListWireFormat() {
+        var baos = new ByteArrayOutputStream();
+        SerdeFactory.create(baos).writeList(List.of(1, 2, 3), Serde::writeInt)
+                .writeDoubleArray(new double[]{0.5, 0.25});
+
+        var serde = SerdeFactory.create(new ByteArrayInputStream(baos.toByteArray()));
+        assertArrayEquals(new int[]{1, 2, 3}, serde.readIntArray());
+        assertEquals(List.of(0.5, 0.25), serde.readList(Serde::readDouble));
+    }
+
+    @Test
+    void testCorruptPrimitiveArrayLengthRejected() {
+        // 0x20000001 doubles would wrap to 8 bytes
+        for (int length : new int[]{0x20000001, -2}) {
+            var baos = new ByteArrayOutputStream();
+            SerdeFactory.create(baos).writeInt(length).writeDouble(1.0);
+
+            var serde = SerdeFactory.create(new ByteArrayInputStream(baos.toByteArray()));
+            assertThrows(IllegalArgumentException.class, serde::readDoubleArray);
+        }
+    }
+
     enum Direction { NORTH, SOUTH, EAST, WEST }
     enum Priority { LOW, MEDIUM, HIGH }
 
@@ -524,6 +623,61 @@ class DormantTest {
         }
     }
 
+    @AllArgsConstructor
+    static class PrimitiveArrayObject implements Dormant {
+        int[] ints;
+        long[] longs;
+        double[] doubles;
+        SortedSet<String> names;
+        SortedMap<String, Integer> ranks;
+
+        PrimitiveArrayObject() {}
+
+        @Override
+        public void write(Serde serde) {
+            serde.writeIntArray(ints)
+                    .writeLongArray(longs)
+                    .writeDoubleArray(doubles)
+                    .writeList(names == null ? null : List.copyOf(names), Serde::writeString)
+                    .writeMap(ranks, Serde::writeString, Serde::writeInt);
+        }
+
+        @Override
+        public void read(Serde serde) {
+            serde.readIntArray(v -> ints = v)
+                    .readLongArray(v -> longs = v)
+                    .readDoubleArray(v -> doubles = v);
+            names = serde.readCollection(Serde::readString, n -> new TreeSet<>());
+            ranks = serde.readMapInto(Serde::readString, Serde::readInt, n -> new TreeMap<>());
+        }
+    }
+
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    static class SizedObject implements Dormant {
+        NestedObject nested;
+        List<String> tags;
+
+        SizedObject() {}
+
+        @Override
+        public int sizeHint() {
+            return serializedSize();
+        }
+
+        @Override
+        public void write(Serde serde) {
+            serde.writeDormant(nested)
+                    .writeList(tags, Serde::writeString);
+        }
+
+        @Override
+        public void read(Serde serde) {
+            serde.readDormant(NestedObject::new, v -> nested = v)
+                    .readList(Serde::readString, v -> tags = v);
+        }
+    }
+
     @EqualsAndHashCode
     @AllArgsConstructor
     public static class NestedObject implements Dormant {
@@ -0,0 +1,129 @@
+package io.github.dfauth.dormant;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedSerdeTest {
+
+    private final SerdeProvider provider = new InstrumentedSerdeProvider();
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void setUp() {
+        SerdeMetrics.reset();
+    }
+
+    @Test
+    void roundTripIsUnchanged() {
+        var original = new CompositeMessage("header", new SimpleMessage("body", 2));
+        var baos = new ByteArrayOutputStream();
+        provider.create(baos).writeEnvelope(original);
+
+        assertArrayEquals(original.write(), baos.toByteArray());
+
+        var restored = new CompositeMessage();
+        provider.create(new ByteArrayInputStream(baos.toByteArray())).readEnvelope(restored);
+        assertEquals(original, restored);
+    }
+
+    @Test
+    void countersArePerTypeAndIncludeNestedObjects() {
+        var inner = new SimpleMessage("body", 2);
+        var original = new CompositeMessage("header", inner);
+        var baos = new ByteArrayOutputStream();
+        provider.create(baos).writeEnvelope(original);
+        provider.create(new ByteArrayInputStream(baos.toByteArray())).readEnvelope(new CompositeMessage());
+
+        var composite = SerdeMetrics.snapshot().get(CompositeMessage.class.getName());
+        assertEquals(1, composite.encodes());
+        assertEquals(1, composite.decodes());
+        assertEquals(original.serializedSize(), composite.bytesWritten());
+        assertEquals(original.serializedSize(), composite.bytesRead());
+        assertEquals(0, composite.maxDepth());
+
+        var simple = SerdeMetrics.snapshot().get(SimpleMessage.class.getName());
+        // presence flag + typeId + fields
+        int nestedBytes = 1 + 4 + (inner.serializedSize() - 8);
+        assertEquals(nestedBytes, simple.bytesWritten());
+        assertEquals(nestedBytes, simple.bytesRead());
+        assertEquals(1, simple.maxDepth());
+    }
+
+    @Test
+    void listElementsAreMeasured() {
+        var original = new Batch(List.of(new SimpleMessage("a", 1), new SimpleMessage("b", 2), new SimpleMessage("c", 3)));
+        var baos = new ByteArrayOutputStream();
+        provider.create(baos).writeEnvelope(original);
+
+        var restored = new Batch();
+        provider.create(new ByteArrayInputStream(baos.toByteArray())).readEnvelope(restored);
+        assertEquals(original.messages, restored.messages);
+
+        var simple = SerdeMetrics.snapshot().get(SimpleMessage.class.getName());
+        assertEquals(3, simple.encodes());
+        assertEquals(3, simple.decodes());
+    }
+
+    @Test
+    void emitsJfrEvents() throws Exception {
+        Path file = dir.resolve("serde.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(SerdeEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            var baos = new ByteArrayOutputStream();
+            provider.create(baos).writeEnvelope(new CompositeMessage("header", new SimpleMessage("body", 2)));
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("io.github.dfauth.dormant.Serde"))
+                .toList();
+
+        assertEquals(2, events.size());
+        assertTrue(events.stream().allMatch(e -> e.getString("operation").equals(SerdeEvent.ENCODE)));
+        assertTrue(events.stream().anyMatch(e -> e.getString("type").equals(SimpleMessage.class.getName()) && e.getInt("depth") == 1));
+        assertTrue(events.stream().anyMatch(e -> e.getString("type").equals(CompositeMessage.class.getName()) && e.getInt("depth") == 0));
+    }
+
+    @Test
+    void instrumentationIsOptIn() {
+        var binary = new BinarySerdeProvider();
+        assertSame(binary, SerdeFactory.instrument(binary, false));
+        assertInstanceOf(InstrumentedSerdeProvider.class, SerdeFactory.instrument(binary, true));
+        assertSame(provider, SerdeFactory.instrument(provider, true));
+    }
+
+    static class Batch implements Dormant {
+        List<SimpleMessage> messages;
+
+        Batch() {}
+
+        Batch(List<SimpleMessage> messages) {
+            this.messages = messages;
+        }
+
+        @Override
+        public void write(Serde serde) {
+            serde.writeList(messages, Serde::writeDormant);
+        }
+
+        @Override
+        public void read(Serde serde) {
+            serde.readList(s -> s.readDormant(SimpleMessage::new), v -> messages = v);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.dfauth.ta.bench;
+
+import io.github.dfauth.ta.AverageTrueRange;
+import io.github.dfauth.ta.Candle;
+import io.github.dfauth.ta.CandleSeries;
+import io.github.dfauth.ta.ExponentialMovingAverage;
+import io.github.dfauth.ta.RateOfChange;
+import io.github.dfauth.ta.RelativeStrengthIndex;
+import io.github.dfauth.ta.SimpleMovingAverage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batch indicators over 10^6 prices. The allocating forms, which return a
+ * fresh result array, are measured against the {@code out}-parameter
+ * kernels that write into a caller-owned array, and ATR over a
+ * {@code Candle[]} against the columnar {@link CandleSeries}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchIndicatorBenchmark {
+
+    private static final int PRICES = 1_000_000;
+    private static final int PERIOD = 14;
+
+    double[] prices;
+    Candle[] candles;
+    CandleSeries series;
+    double[] out;
+
+    @Setup
+    public void setUp() {
+        candles = BenchData.candles(PRICES);
+        series = BenchData.series(candles);
+        prices = series.closesCopy();
+        out = new double[PRICES];
+    }
+
+    @Benchmark
+    public double[] ema() {
+        return ExponentialMovingAverage.ema(prices, PERIOD);
+    }
+
+    @Benchmark
+    public int emaInto() {
+        return ExponentialMovingAverage.ema(2.0, prices, PERIOD, out);
+    }
+
+    @Benchmark
+    public double[] sma() {
+        return SimpleMovingAverage.sma(prices, PERIOD);
+    }
+
+    @Benchmark
+    public int smaInto() {
+        return SimpleMovingAverage.sma(prices, PERIOD, out);
+    }
+
+    @Benchmark
+    public double[] roc() {
+        return RateOfChange.roc(prices, PERIOD);
+    }
+
+    @Benchmark
+    public int rocInto() {
+        return RateOfChange.roc(prices, PERIOD, out);
+    }
+
+    @Benchmark
+    public double[] rsi() {
+        return RelativeStrengthIndex.rsi(prices, PERIOD);
+    }
+
+    @Benchmark
+    public double[] atrCandles() {
+        return AverageTrueRange.atr(candles, PERIOD);
+    }
+
+    @Benchmark
+    public double[] atrSeries() {
+        return AverageTrueRange.atr(series, PERIOD);
+    }
+
+    @Benchmark
+    public int atrSeriesInto() {
+        return AverageTrueRange.atr(series, PERIOD, out);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.dfauth.ta.bench;
+
+import io.github.dfauth.ta.Candle;
+import io.github.dfauth.ta.CandleSeries;
+
+import java.util.Random;
+
+/**
+ * Seeded random-walk inputs shared by the benchmarks, so every run and
+ * every benchmark sees the same data.
+ */
+final class BenchData {
+
+    private static final int EPOCH_DAY = 18_000;
+
+    private BenchData() {
+    }
+
+    static double[] prices(int n) {
+        Random random = new Random(42);
+        double[] prices = new double[n];
+        double price = 100.0;
+        for (int i = 0; i < n; i++) {
+            price = Math.max(1.0, price + random.nextGaussian());
+            prices[i] = price;
+        }
+        return prices;
+    }
+
+    static Candle[] candles(int n) {
+        Random random = new Random(43);
+        double[] closes = prices(n);
+        Candle[] candles = new Candle[n];
+        for (int i = 0; i < n; i++) {
+            double close = closes[i];
+            double open = i == 0 ? close : closes[i - 1];
+            candles[i] = Candle.candle(open, Math.max(open, close) + random.nextDouble(), Math.min(open, close) - random.nextDouble(), close);
+        }
+        return candles;
+    }
+
+    static CandleSeries series(Candle[] candles) {
+        CandleSeries series = new CandleSeries(candles.length);
+        for (int i = 0; i < candles.length; i++) {
+            Candle c = candles[i];
+            series.add(EPOCH_DAY + i, c.open(), c.high(), c.low(), c.close(), 0.0);
+        }
+        return series;
+    }
+}
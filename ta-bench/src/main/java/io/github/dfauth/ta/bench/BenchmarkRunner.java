@@ -0,0 +1,33 @@
+package io.github.dfauth.ta.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks matching the given regular expressions (all of them
+ * if none) with the GC profiler attached, so each result is reported with
+ * its allocation rate ({@code gc.alloc.rate.norm}, bytes per operation):
+ *
+ * <pre>
+ * java -cp ta-bench/target/benchmarks.jar io.github.dfauth.ta.bench.BenchmarkRunner StreamingIndicator
+ * </pre>
+ *
+ * The same is available from the JMH command line with {@code -prof gc}.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder builder = new OptionsBuilder();
+        if (args.length == 0) {
+            builder.include(BenchmarkRunner.class.getPackageName() + ".*");
+        }
+        for (String include : args) {
+            builder.include(include);
+        }
+        Options options = builder.addProfiler(GCProfiler.class).build();
+        new Runner(options).run();
+    }
+}
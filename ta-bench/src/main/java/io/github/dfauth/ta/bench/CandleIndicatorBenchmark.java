@@ -0,0 +1,75 @@
+package io.github.dfauth.ta.bench;
+
+import io.github.dfauth.ta.Candle;
+import io.github.dfauth.ta.CandleIndicator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static io.github.dfauth.ta.AverageTrueRange.atrIndicator;
+import static io.github.dfauth.ta.AverageTrueRange.atrStream;
+import static io.github.dfauth.ta.TrendVelocity.trendVelocity;
+import static io.github.dfauth.ta.TrendVelocity.trendVelocityIndicator;
+
+/**
+ * Per-tick cost of the candle-based streaming indicators, ATR and Trend
+ * Velocity, through the boxed {@code Function<Candle, Optional<Double>>}
+ * stream API and through the primitive {@link CandleIndicator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CandleIndicatorBenchmark {
+
+    private static final int CANDLES = 4096;
+    private static final int PERIOD = 14;
+
+    @Param({"atr", "tv"})
+    String indicator;
+
+    Candle[] candles;
+    int index;
+
+    Function<Candle, Optional<Double>> stream;
+    CandleIndicator primitive;
+
+    @Setup
+    public void setUp() {
+        candles = BenchData.candles(CANDLES);
+        switch (indicator) {
+            case "atr" -> {
+                stream = atrStream(PERIOD);
+                primitive = atrIndicator(PERIOD);
+            }
+            case "tv" -> {
+                stream = trendVelocity(PERIOD);
+                primitive = trendVelocityIndicator(PERIOD);
+            }
+            default -> throw new IllegalArgumentException("Unknown indicator " + indicator);
+        }
+        for (int i = 0; i <= 2 * PERIOD; i++) {
+            stream.apply(candles[i]);
+            primitive.next(candles[i]);
+        }
+    }
+
+    private Candle next() {
+        index = (index + 1) & (CANDLES - 1);
+        return candles[index];
+    }
+
+    @Benchmark
+    public Optional<Double> boxedStream() {
+        return stream.apply(next());
+    }
+
+    @Benchmark
+    public double primitive() {
+        return primitive.next(next());
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.dfauth.ta.bench;
+
+import io.github.dfauth.ta.MultiSeriesKernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Market-wide RSI and EMA over 2000 series of 250 days, scalar against the
+ * Vector API kernels. The fork adds the incubator module so
+ * {@link MultiSeriesKernels#get()} selects the vector implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class MultiSeriesKernelsBenchmark {
+
+    private static final int LANES = 2000;
+    private static final int TIMES = 250;
+    private static final int PERIOD = 14;
+
+    double[] close;
+    double[] out;
+    MultiSeriesKernels scalar;
+    MultiSeriesKernels vector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        close = new double[LANES * TIMES];
+        out = new double[close.length];
+        for (int s = 0; s < LANES; s++) {
+            double price = 50.0;
+            for (int t = 0; t < TIMES; t++) {
+                price = Math.max(1.0, price + random.nextGaussian());
+                close[t * LANES + s] = price;
+            }
+        }
+        scalar = MultiSeriesKernels.scalar();
+        vector = MultiSeriesKernels.get();
+    }
+
+    @Benchmark
+    public double[] rsiScalar() {
+        scalar.rsi(close, LANES, PERIOD, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] rsiVector() {
+        vector.rsi(close, LANES, PERIOD, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] emaScalar() {
+        scalar.ema(close, LANES, PERIOD, out);
+        return out;
+    }
+
+    @Benchmark
+    public double[] emaVector() {
+        vector.ema(close, LANES, PERIOD, out);
+        return out;
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.dfauth.ta.bench;
+
+import io.github.dfauth.ta.DoubleRingBuffer;
+import io.github.dfauth.ta.RingBuffer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write, read and whole-window aggregation on the boxed
+ * {@code RingBuffer<Double>} implementations against the unboxed
+ * {@link DoubleRingBuffer}. Run with {@code -prof gc} to see the boxing
+ * and stream allocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RingBufferBenchmark {
+
+    private static final int PRICES = 4096;
+
+    @Param({"20", "200"})
+    int capacity;
+
+    double[] prices;
+    int index;
+
+    RingBuffer<Double> boxed;
+    RingBuffer<Double> primitiveBacked;
+    DoubleRingBuffer primitive;
+
+    @Setup
+    public void setUp() {
+        prices = BenchData.prices(PRICES);
+        boxed = RingBuffer.create(new Double[capacity]);
+        primitiveBacked = RingBuffer.create(new double[capacity]);
+        primitive = new DoubleRingBuffer(capacity);
+        for (int i = 0; i < capacity; i++) {
+            boxed.write(prices[i]);
+            primitiveBacked.write(prices[i]);
+            primitive.write(prices[i]);
+        }
+    }
+
+    private double next() {
+        index = (index + 1) & (PRICES - 1);
+        return prices[index];
+    }
+
+    @Benchmark
+    public Double boxedWrite() {
+        return boxed.write(next());
+    }
+
+    @Benchmark
+    public Double primitiveBackedWrite() {
+        return primitiveBacked.write(next());
+    }
+
+    @Benchmark
+    public double primitiveWrite() {
+        return primitive.write(next());
+    }
+
+    @Benchmark
+    public double boxedRead() {
+        return boxed.read() + boxed.read(0);
+    }
+
+    @Benchmark
+    public double primitiveBackedRead() {
+        return primitiveBacked.read() + primitiveBacked.read(0);
+    }
+
+    @Benchmark
+    public double primitiveRead() {
+        return primitive.read() + primitive.read(0);
+    }
+
+    @Benchmark
+    public double boxedStreamSum() {
+        return boxed.stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    @Benchmark
+    public double primitiveBackedStreamSum() {
+        return primitiveBacked.stream().mapToDouble(Double::doubleValue).sum();
+    }
+
+    @Benchmark
+    public double primitiveSum() {
+        return primitive.sum();
+    }
+
+    @Benchmark
+    public double[] primitiveToArray() {
+        return primitive.toArray();
+    }
+}
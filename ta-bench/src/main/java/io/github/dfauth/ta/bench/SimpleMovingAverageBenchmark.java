@@ -0,0 +1,77 @@
+package io.github.dfauth.ta.bench;
+
+import io.github.dfauth.ta.DoubleRingBuffer;
+import io.github.dfauth.ta.RingBuffer;
+import io.github.dfauth.ta.RollingSum;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick cost of a streaming SMA update: the original boxed ring buffer
+ * re-summed through a stream, the primitive buffer re-summed in a loop, and
+ * the O(1) {@link RollingSum}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SimpleMovingAverageBenchmark {
+
+    private static final int PRICES = 4096;
+
+    @Param({"20", "200"})
+    int period;
+
+    double[] prices;
+    int index;
+
+    RingBuffer<Double> boxed;
+    DoubleRingBuffer primitive;
+    RollingSum rollingSum;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        prices = new double[PRICES];
+        double price = 100.0;
+        for (int i = 0; i < PRICES; i++) {
+            price += random.nextGaussian();
+            prices[i] = price;
+        }
+        boxed = RingBuffer.create(new double[period]);
+        primitive = new DoubleRingBuffer(period);
+        rollingSum = new RollingSum(period);
+        for (int i = 0; i < period; i++) {
+            boxed.write(prices[i]);
+            primitive.write(prices[i]);
+            rollingSum.add(prices[i]);
+        }
+    }
+
+    private double next() {
+        index = (index + 1) & (PRICES - 1);
+        return prices[index];
+    }
+
+    @Benchmark
+    public double boxedStreamSum() {
+        boxed.write(next());
+        return boxed.stream().mapToDouble(Double::doubleValue).sum() / period;
+    }
+
+    @Benchmark
+    public double primitiveLoopSum() {
+        primitive.write(next());
+        return primitive.sum() / period;
+    }
+
+    @Benchmark
+    public double rollingSum() {
+        rollingSum.add(next());
+        return rollingSum.mean();
+    }
+}
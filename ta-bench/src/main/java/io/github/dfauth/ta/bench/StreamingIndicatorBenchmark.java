@@ -0,0 +1,87 @@
+package io.github.dfauth.ta.bench;
+
+import io.github.dfauth.ta.DoubleUnaryIndicator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static io.github.dfauth.ta.ExponentialMovingAverage.emaIndicator;
+import static io.github.dfauth.ta.ExponentialMovingAverage.emaStream;
+import static io.github.dfauth.ta.RateOfChange.rocIndicator;
+import static io.github.dfauth.ta.RateOfChange.rocStream;
+import static io.github.dfauth.ta.RelativeStrengthIndex.rsiIndicator;
+import static io.github.dfauth.ta.RelativeStrengthIndex.rsiStream;
+import static io.github.dfauth.ta.SimpleMovingAverage.sma;
+import static io.github.dfauth.ta.SimpleMovingAverage.smaIndicator;
+
+/**
+ * Per-tick cost of each close-based streaming indicator, through the boxed
+ * {@code Function<Double, Optional<Double>>} stream API and through the
+ * primitive {@link DoubleUnaryIndicator}. Both are warmed past the
+ * indicator's warm-up, so every tick produces a value.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StreamingIndicatorBenchmark {
+
+    private static final int PRICES = 4096;
+    private static final int PERIOD = 14;
+
+    @Param({"ema", "sma", "rsi", "roc"})
+    String indicator;
+
+    double[] prices;
+    int index;
+
+    Function<Double, Optional<Double>> stream;
+    DoubleUnaryIndicator primitive;
+
+    @Setup
+    public void setUp() {
+        prices = BenchData.prices(PRICES);
+        switch (indicator) {
+            case "ema" -> {
+                stream = emaStream(PERIOD);
+                primitive = emaIndicator(PERIOD);
+            }
+            case "sma" -> {
+                stream = sma(PERIOD);
+                primitive = smaIndicator(PERIOD);
+            }
+            case "rsi" -> {
+                stream = rsiStream(PERIOD);
+                primitive = rsiIndicator(PERIOD);
+            }
+            case "roc" -> {
+                stream = rocStream(PERIOD);
+                primitive = rocIndicator(PERIOD);
+            }
+            default -> throw new IllegalArgumentException("Unknown indicator " + indicator);
+        }
+        for (int i = 0; i <= 2 * PERIOD; i++) {
+            stream.apply(prices[i]);
+            primitive.next(prices[i]);
+        }
+    }
+
+    private double next() {
+        index = (index + 1) & (PRICES - 1);
+        return prices[index];
+    }
+
+    @Benchmark
+    public Optional<Double> boxedStream() {
+        return stream.apply(next());
+    }
+
+    @Benchmark
+    public double primitive() {
+        return primitive.next(next());
+    }
+}
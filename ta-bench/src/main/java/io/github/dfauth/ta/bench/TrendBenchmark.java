@@ -0,0 +1,84 @@
+package io.github.dfauth.ta.bench;
+
+import io.github.dfauth.ta.Candle;
+import io.github.dfauth.ta.CandleSeries;
+import io.github.dfauth.ta.Trend;
+import io.github.dfauth.ta.TrendCalculator;
+import io.github.dfauth.ta.TrendEngine;
+import io.github.dfauth.ta.TrendVelocity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * {@link TrendCalculator#trend} and {@link TrendVelocity#trendVelocity}
+ * over a year of daily data, the shape of the per-code REST endpoints, plus
+ * the per-tick cost of the {@code Optional<Trend>} stream against a bare
+ * {@link TrendEngine}, which snapshots nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrendBenchmark {
+
+    private static final int DAYS = 256;
+    private static final int PERIOD = 14;
+
+    double[] prices;
+    Candle[] candles;
+    CandleSeries series;
+    int index;
+
+    Function<Double, Optional<Trend>> trendStream;
+    TrendEngine engine;
+
+    @Setup
+    public void setUp() {
+        candles = BenchData.candles(DAYS);
+        series = BenchData.series(candles);
+        prices = series.closesCopy();
+        trendStream = TrendCalculator.trendStream(8, 21, 200);
+        engine = new TrendEngine(8, 21, 200);
+        for (double price : prices) {
+            trendStream.apply(price);
+            engine.next(price);
+        }
+    }
+
+    private double next() {
+        index = (index + 1) & (DAYS - 1);
+        return prices[index];
+    }
+
+    @Benchmark
+    public Optional<Trend> trend() {
+        return TrendCalculator.trend(prices, 8, 21, 200);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Optional<Trend> trendStreamTick() {
+        return trendStream.apply(next());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean trendEngineTick() {
+        return engine.next(next());
+    }
+
+    @Benchmark
+    public double[] trendVelocityCandles() {
+        return TrendVelocity.trendVelocity(candles, PERIOD);
+    }
+
+    @Benchmark
+    public double[] trendVelocitySeries() {
+        return TrendVelocity.trendVelocity(series, PERIOD);
+    }
+}
@@ -3,9 +3,6 @@ package io.github.dfauth.ta;
 import java.util.Optional;
 import java.util.function.Function;
 
-import static java.util.Arrays.stream;
-import static java.util.Optional.empty;
-
 public class AverageTrueRange {
 
     static double trueRange(double high, double low, double prevClose) {
@@ -20,12 +17,51 @@ public class AverageTrueRange {
      * {@code ATR = (prevATR * (period - 1) + TR) / period}.
      */
     public static double[] atr(Candle[] candles, int period) {
-        Function<Candle, Optional<Double>> f = atrStream(period);
-        return stream(candles)
-                .map(f)
-                .flatMap(Optional::stream)
-                .mapToDouble(Double::doubleValue)
-                .toArray();
+        return atrIndicator(period).apply(candles, period);
+    }
+
+    /**
+     * Batch ATR over the columns of {@code series}, with the same output as
+     * {@link #atr(Candle[], int)}.
+     */
+    public static double[] atr(CandleSeries series, int period) {
+        double[] result = new double[Math.max(0, series.size() - period)];
+        atr(series, period, result);
+        return result;
+    }
+
+    /**
+     * Batch ATR kernel reading the high, low and close columns directly.
+     * Writes the {@code series.size() - period} ATR values into the start of
+     * {@code out}.
+     *
+     * @return the number of values written, 0 if there is insufficient data
+     */
+    public static int atr(CandleSeries series, int period, double[] out) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        int resultLength = series.size() - period;
+        if (resultLength < 1) {
+            return 0;
+        }
+        if (out.length < resultLength) {
+            throw new IllegalArgumentException("Output length " + out.length + " is less than " + resultLength);
+        }
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+        double sum = 0.0;
+        for (int i = 1; i <= period; i++) {
+            sum += trueRange(high[i], low[i], close[i - 1]);
+        }
+        double atr = sum / period;
+        out[0] = atr;
+        for (int i = period + 1; i < series.size(); i++) {
+            atr = (atr * (period - 1) + trueRange(high[i], low[i], close[i - 1])) / period;
+            out[i - period] = atr;
+        }
+        return resultLength;
     }
 
     /**
@@ -34,29 +70,74 @@ public class AverageTrueRange {
      * the first ATR (requires {@code period + 1} candles).
      */
     public static Function<Candle, Optional<Double>> atrStream(int period) {
+        return atrIndicator(period).asFunction();
+    }
+
+    /**
+     * Primitive streaming ATR. Returns {@code NaN} until {@code period + 1}
+     * candles have been seen. Only the previous close is retained.
+     */
+    public static CandleIndicator atrIndicator(int period) {
         if (period < 1) {
             throw new IllegalArgumentException("Period must be at least 1");
         }
-        RingBuffer<Double> trBuffer = RingBuffer.create(new double[period]);
-        final Candle[] previous = {null};
-        double[] prevAtr = {Double.NaN};
-
-        return candle -> {
-            if (previous[0] != null) {
-                double tr = candle.trueRange(previous[0]);
-                trBuffer.write(tr);
-                if (trBuffer.isFull()) {
-                    if (Double.isNaN(prevAtr[0])) {
-                        prevAtr[0] = trBuffer.stream().mapToDouble(Double::doubleValue).sum() / period;
-                    } else {
-                        prevAtr[0] = (prevAtr[0] * (period - 1) + tr) / period;
+        return new Indicator(period);
+    }
+
+    static final class Indicator implements CandleIndicator {
+
+        private final int period;
+        private double prevClose = Double.NaN;
+        // warm-up accumulator for the seed average
+        private double trSum;
+        private int count;
+        private double prevAtr = Double.NaN;
+
+        Indicator(int period) {
+            this.period = period;
+        }
+
+        @Override
+        public double next(Candle candle) {
+            return next(candle.high(), candle.low(), candle.close());
+        }
+
+        double next(double high, double low, double close) {
+            if (!Double.isNaN(prevClose)) {
+                double tr = trueRange(high, low, prevClose);
+                if (Double.isNaN(prevAtr)) {
+                    trSum += tr;
+                    if (++count == period) {
+                        prevAtr = trSum / period;
                     }
-                    previous[0] = candle;
-                    return Optional.of(prevAtr[0]);
+                } else {
+                    prevAtr = (prevAtr * (period - 1) + tr) / period;
                 }
             }
-            previous[0] = candle;
-            return empty();
-        };
+            prevClose = close;
+            return prevAtr;
+        }
+
+        @Override
+        public boolean isReady() {
+            return !Double.isNaN(prevAtr);
+        }
+
+        /**
+         * {@code values}: previous close, true range accumulator, previous ATR.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return new IndicatorState("atr", period, count, prevClose, trSum, prevAtr);
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            state.expect("atr", period);
+            count = state.getCount();
+            prevClose = state.value(0);
+            trSum = state.value(1);
+            prevAtr = state.value(2);
+        }
     }
 }
@@ -0,0 +1,119 @@
+package io.github.dfauth.ta;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bollinger Bands: the {@code period} SMA with bands {@code k} population
+ * standard deviations above and below, computed in one O(1) pass over a
+ * {@link RollingVariance}.
+ */
+public class BollingerBands {
+
+    public static final double DEFAULT_K = 2.0;
+
+    public record Bands(double upper, double middle, double lower, double bandwidth, double percentB) {}
+
+    /**
+     * Streaming Bollinger Bands. Returns {@code Optional.empty()} until
+     * {@code period} values have been seen.
+     */
+    public static Function<Double, Optional<Bands>> bollingerStream(int period, double k) {
+        Indicator bollinger = bollingerIndicator(period, k);
+        return d -> {
+            bollinger.next(d);
+            return bollinger.isReady()
+                    ? Optional.of(new Bands(bollinger.upper(), bollinger.middle(), bollinger.lower(), bollinger.bandwidth(), bollinger.percentB()))
+                    : Optional.empty();
+        };
+    }
+
+    public static Indicator bollingerIndicator(int period) {
+        return bollingerIndicator(period, DEFAULT_K);
+    }
+
+    /**
+     * Primitive streaming Bollinger Bands. {@link Indicator#next(double)}
+     * returns the middle band, {@code NaN} during warm-up; the other bands
+     * are read from the indicator.
+     */
+    public static Indicator bollingerIndicator(int period, double k) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        if (!(k > 0)) {
+            throw new IllegalArgumentException("k must be greater than 0");
+        }
+        return new Indicator(new RollingVariance(period), k);
+    }
+
+    public static final class Indicator implements DoubleUnaryIndicator {
+
+        private final RollingVariance variance;
+        private final double k;
+        private double last = Double.NaN;
+
+        Indicator(RollingVariance variance, double k) {
+            this.variance = variance;
+            this.k = k;
+        }
+
+        @Override
+        public double next(double value) {
+            last = value;
+            variance.add(value);
+            return variance.mean();
+        }
+
+        @Override
+        public boolean isReady() {
+            return variance.isFull();
+        }
+
+        public double middle() {
+            return variance.mean();
+        }
+
+        public double upper() {
+            return variance.mean() + k * variance.stddev();
+        }
+
+        public double lower() {
+            return variance.mean() - k * variance.stddev();
+        }
+
+        /**
+         * @return {@code (upper - lower) / middle}
+         */
+        public double bandwidth() {
+            return 2 * k * variance.stddev() / variance.mean();
+        }
+
+        /**
+         * @return where the latest value sits in the bands: {@code 0} at the
+         * lower band, {@code 1} at the upper, {@code 0.5} when the bands
+         * have collapsed
+         */
+        public double percentB() {
+            double width = 2 * k * variance.stddev();
+            return width == 0.0 ? 0.5 : (last - lower()) / width;
+        }
+
+        /**
+         * {@code values}: the latest value; {@code children}: the
+         * {@link RollingVariance} state.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return new IndicatorState("bollinger", variance.period(), 0, new double[]{last}, new double[0], List.of(variance.checkpoint()));
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            state.expect("bollinger", variance.period());
+            variance.restore(state.child(0));
+            last = state.value(0);
+        }
+    }
+}
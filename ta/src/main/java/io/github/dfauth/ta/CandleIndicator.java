@@ -0,0 +1,48 @@
+package io.github.dfauth.ta;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Optional.empty;
+
+/**
+ * Streaming indicator over {@link Candle}s with no per-tick allocation.
+ * {@link #next(Candle)} returns {@code NaN} until the indicator has warmed
+ * up, after which {@link #isReady()} is {@code true}. Implementations copy
+ * what they need from the candle rather than retaining it, so a reused
+ * (flyweight) candle may be passed. State can be
+ * {@link #checkpoint() checkpointed} and {@link #restore restored}.
+ */
+public interface CandleIndicator extends Checkpointable {
+
+    double next(Candle candle);
+
+    boolean isReady();
+
+    /**
+     * Adapts this indicator to the {@code Function<Candle, Optional<Double>>}
+     * form used by the stream API.
+     */
+    default Function<Candle, Optional<Double>> asFunction() {
+        return c -> {
+            double result = next(c);
+            return isReady() ? Optional.of(result) : empty();
+        };
+    }
+
+    /**
+     * Feeds every candle through this indicator, returning the outputs
+     * after warm-up.
+     */
+    default double[] apply(Candle[] candles, int warmUp) {
+        double[] result = new double[Math.max(0, candles.length - warmUp)];
+        int i = 0;
+        for (Candle candle : candles) {
+            double d = next(candle);
+            if (isReady()) {
+                result[i++] = d;
+            }
+        }
+        return result;
+    }
+}
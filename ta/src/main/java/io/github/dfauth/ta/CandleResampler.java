@@ -0,0 +1,178 @@
+package io.github.dfauth.ta;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Aggregates a stream of dated candles into coarser bars: calendar weeks
+ * (Monday to Sunday), calendar months, or every {@code n} candles. The bar
+ * in progress is held in primitive fields and exposed through this
+ * resampler's own {@link Candle} methods, so a higher-timeframe indicator
+ * can read the forming bar in the same pass as the base series. Completed
+ * bars are pushed to a {@link BarListener}, dated by their first candle;
+ * {@code series::add} is a ready-made listener.
+ * <p>
+ * Calendar bars complete when the first candle of the next period arrives
+ * (or on {@link #flush()}); {@code n}-candle bars complete on their
+ * {@code n}th candle. Nothing is allocated per candle.
+ */
+public class CandleResampler implements Candle {
+
+    @FunctionalInterface
+    public interface BarListener {
+        void onBar(int epochDay, double open, double high, double low, double close, double volume);
+    }
+
+    private enum Calendar {
+        NONE, WEEK, MONTH
+    }
+
+    private final Calendar calendar;
+    private final int size;
+    private final BarListener listener;
+
+    private int epochDay;
+    private int lastEpochDay = Integer.MIN_VALUE;
+    // exclusive end of the calendar period of the bar in progress
+    private int end;
+    private int count;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+
+    private CandleResampler(Calendar calendar, int size, BarListener listener) {
+        this.calendar = calendar;
+        this.size = size;
+        this.listener = listener;
+    }
+
+    /**
+     * Monday-to-Sunday weekly bars.
+     */
+    public static CandleResampler weekly(BarListener listener) {
+        return new CandleResampler(Calendar.WEEK, 0, listener);
+    }
+
+    /**
+     * Calendar monthly bars.
+     */
+    public static CandleResampler monthly(BarListener listener) {
+        return new CandleResampler(Calendar.MONTH, 0, listener);
+    }
+
+    /**
+     * Bars of {@code n} consecutive candles, regardless of dates.
+     */
+    public static CandleResampler nDay(int n, BarListener listener) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Bar size must be at least 1");
+        }
+        return new CandleResampler(Calendar.NONE, n, listener);
+    }
+
+    public boolean next(LocalDate date, Candle candle, double volume) {
+        return next(Math.toIntExact(date.toEpochDay()), candle.open(), candle.high(), candle.low(), candle.close(), volume);
+    }
+
+    /**
+     * Adds a candle, which must not be dated before the previous one.
+     *
+     * @return {@code true} if a bar was completed and emitted
+     */
+    public boolean next(int epochDay, double open, double high, double low, double close, double volume) {
+        if (epochDay < lastEpochDay) {
+            throw new IllegalArgumentException("Candles must be added in date order: " + LocalDate.ofEpochDay(epochDay) + " is before " + LocalDate.ofEpochDay(lastEpochDay));
+        }
+        lastEpochDay = epochDay;
+        boolean emitted = false;
+        if (count > 0 && calendar != Calendar.NONE && epochDay >= end) {
+            emitted = flush();
+        }
+        if (count == 0) {
+            this.epochDay = epochDay;
+            this.end = end(epochDay);
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.volume = volume;
+        } else {
+            this.high = Math.max(this.high, high);
+            this.low = Math.min(this.low, low);
+            this.volume += volume;
+        }
+        this.close = close;
+        count++;
+        if (count == size) {
+            emitted = flush();
+        }
+        return emitted;
+    }
+
+    private int end(int epochDay) {
+        return switch (calendar) {
+            // 1970-01-01 was a Thursday, so Monday-based weeks start at epochDay - floorMod(epochDay + 3, 7)
+            case WEEK -> epochDay - Math.floorMod(epochDay + 3, 7) + 7;
+            case MONTH -> Math.toIntExact(LocalDate.ofEpochDay(epochDay).with(TemporalAdjusters.firstDayOfNextMonth()).toEpochDay());
+            case NONE -> Integer.MAX_VALUE;
+        };
+    }
+
+    /**
+     * Emits the bar in progress, if any, e.g. at the end of the series.
+     *
+     * @return {@code true} if a bar was emitted
+     */
+    public boolean flush() {
+        if (count == 0) {
+            return false;
+        }
+        count = 0;
+        listener.onBar(epochDay, open, high, low, close, volume);
+        return true;
+    }
+
+    /**
+     * @return {@code true} if a bar is in progress, in which case the
+     * {@link Candle} methods describe it
+     */
+    public boolean isOpen() {
+        return count > 0;
+    }
+
+    /**
+     * @return the number of candles in the bar in progress
+     */
+    public int count() {
+        return count;
+    }
+
+    public int epochDay() {
+        return epochDay;
+    }
+
+    @Override
+    public double open() {
+        return open;
+    }
+
+    @Override
+    public double high() {
+        return high;
+    }
+
+    @Override
+    public double low() {
+        return low;
+    }
+
+    @Override
+    public double close() {
+        return close;
+    }
+
+    public double volume() {
+        return volume;
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.dfauth.ta;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Columnar OHLCV series: parallel {@code double[]} open, high, low, close and
+ * volume columns plus an {@code int[]} column of epoch days, in time order.
+ * <p>
+ * Values are converted to doubles once on {@link #add}, so indicators reading
+ * the columns (or a {@link #cursor()}) pay no per-access conversion cost.
+ * The series grows like an {@code ArrayList}; the column accessors return the
+ * backing arrays, which are valid up to {@link #size()}.
+ */
+public class CandleSeries {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] epochDay;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] volume;
+    private int size;
+
+    public CandleSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public CandleSeries(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        epochDay = new int[capacity];
+        open = new double[capacity];
+        high = new double[capacity];
+        low = new double[capacity];
+        close = new double[capacity];
+        volume = new double[capacity];
+    }
+
+    /**
+     * Copies {@code candles} into a new series, converting each value once.
+     */
+    public static <T extends Candle> CandleSeries of(List<T> candles, Function<T, LocalDate> date, ToDoubleFunction<T> volume) {
+        CandleSeries series = new CandleSeries(candles.size());
+        for (T candle : candles) {
+            series.add(date.apply(candle), candle.open(), candle.high(), candle.low(), candle.close(), volume.applyAsDouble(candle));
+        }
+        return series;
+    }
+
+    public CandleSeries add(LocalDate date, double open, double high, double low, double close, double volume) {
+        return add(Math.toIntExact(date.toEpochDay()), open, high, low, close, volume);
+    }
+
+    public CandleSeries add(int epochDay, double open, double high, double low, double close, double volume) {
+        if (size > 0 && epochDay < this.epochDay[size - 1]) {
+            throw new IllegalArgumentException("Candles must be added in date order: " + LocalDate.ofEpochDay(epochDay) + " is before " + date(size - 1));
+        }
+        if (size == this.close.length) {
+            grow();
+        }
+        this.epochDay[size] = epochDay;
+        this.open[size] = open;
+        this.high[size] = high;
+        this.low[size] = low;
+        this.close[size] = close;
+        this.volume[size] = volume;
+        size++;
+        return this;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, close.length + (close.length >> 1));
+        epochDay = Arrays.copyOf(epochDay, capacity);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int epochDay(int i) {
+        return epochDay[checkIndex(i)];
+    }
+
+    public LocalDate date(int i) {
+        return LocalDate.ofEpochDay(epochDay(i));
+    }
+
+    public double open(int i) {
+        return open[checkIndex(i)];
+    }
+
+    public double high(int i) {
+        return high[checkIndex(i)];
+    }
+
+    public double low(int i) {
+        return low[checkIndex(i)];
+    }
+
+    public double close(int i) {
+        return close[checkIndex(i)];
+    }
+
+    public double volume(int i) {
+        return volume[checkIndex(i)];
+    }
+
+    private int checkIndex(int i) {
+        return Objects.checkIndex(i, size);
+    }
+
+    // backing columns, valid up to size()
+
+    public int[] epochDays() {
+        return epochDay;
+    }
+
+    public double[] opens() {
+        return open;
+    }
+
+    public double[] highs() {
+        return high;
+    }
+
+    public double[] lows() {
+        return low;
+    }
+
+    public double[] closes() {
+        return close;
+    }
+
+    public double[] volumes() {
+        return volume;
+    }
+
+    /**
+     * @return the close column trimmed to {@link #size()}
+     */
+    public double[] closesCopy() {
+        return Arrays.copyOf(close, size);
+    }
+
+    /**
+     * @return a cursor positioned before the first candle
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Flyweight {@link Candle} over one row of the series. {@link #next()}
+     * moves it to the following row, so a single cursor serves a whole pass
+     * without allocating per candle. Callers must not retain it as a value.
+     */
+    public class Cursor implements Candle {
+
+        private int index = -1;
+
+        public boolean next() {
+            if (index + 1 < size) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        public Cursor moveTo(int i) {
+            index = checkIndex(i);
+            return this;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int epochDay() {
+            return epochDay[index];
+        }
+
+        public LocalDate date() {
+            return LocalDate.ofEpochDay(epochDay[index]);
+        }
+
+        @Override
+        public double open() {
+            return open[index];
+        }
+
+        @Override
+        public double high() {
+            return high[index];
+        }
+
+        @Override
+        public double low() {
+            return low[index];
+        }
+
+        @Override
+        public double close() {
+            return close[index];
+        }
+
+        public double volume() {
+            return volume[index];
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.dfauth.ta;
+
+/**
+ * An indicator whose state can be captured and later restored, so a
+ * stream can resume from a persisted {@link IndicatorState} (e.g. at end of
+ * day) and advance one value at a time rather than replaying its full
+ * history to warm up again.
+ */
+public interface Checkpointable {
+
+    /**
+     * @return a detached snapshot of the current state
+     */
+    IndicatorState checkpoint();
+
+    /**
+     * Replaces the current state with {@code state}, which must have been
+     * captured from an indicator of the same kind and parameters.
+     *
+     * @throws IllegalArgumentException if {@code state} does not match
+     */
+    void restore(IndicatorState state);
+}
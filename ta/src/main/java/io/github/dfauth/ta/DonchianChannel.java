@@ -0,0 +1,97 @@
+package io.github.dfauth.ta;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Donchian channel: the highest high and lowest low of the last
+ * {@code period} candles, with the midpoint between them. A close through
+ * the previous candle's upper (lower) band is the classic breakout
+ * (breakdown) signal.
+ */
+public class DonchianChannel {
+
+    public record Channel(double upper, double middle, double lower, int daysSinceHigh, int daysSinceLow) {}
+
+    /**
+     * Streaming Donchian channel. Returns {@code Optional.empty()} until
+     * {@code period} candles have been seen.
+     */
+    public static Function<Candle, Optional<Channel>> donchianStream(int period) {
+        Indicator donchian = donchianIndicator(period);
+        return candle -> {
+            donchian.next(candle);
+            return donchian.isReady()
+                    ? Optional.of(new Channel(donchian.upper(), donchian.middle(), donchian.lower(), donchian.daysSinceHigh(), donchian.daysSinceLow()))
+                    : Optional.empty();
+        };
+    }
+
+    /**
+     * Primitive streaming Donchian channel. {@link Indicator#next(Candle)}
+     * returns the middle band, {@code NaN} during warm-up; the other bands
+     * are read from the indicator.
+     */
+    public static Indicator donchianIndicator(int period) {
+        return new Indicator(period);
+    }
+
+    public static final class Indicator implements CandleIndicator {
+
+        private final RollingExtremum high;
+        private final RollingExtremum low;
+
+        Indicator(int period) {
+            this.high = RollingExtremum.max(period);
+            this.low = RollingExtremum.min(period);
+        }
+
+        @Override
+        public double next(Candle candle) {
+            high.add(candle.high());
+            low.add(candle.low());
+            return middle();
+        }
+
+        @Override
+        public boolean isReady() {
+            return high.isFull();
+        }
+
+        public double upper() {
+            return isReady() ? high.value() : Double.NaN;
+        }
+
+        public double lower() {
+            return isReady() ? low.value() : Double.NaN;
+        }
+
+        public double middle() {
+            return isReady() ? (high.value() + low.value()) / 2 : Double.NaN;
+        }
+
+        public int daysSinceHigh() {
+            return high.age();
+        }
+
+        public int daysSinceLow() {
+            return low.age();
+        }
+
+        /**
+         * {@code children}: the high and low extremum states.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return new IndicatorState("donchian", high.period(), 0, new double[0], new double[0], List.of(high.checkpoint(), low.checkpoint()));
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            state.expect("donchian", high.period());
+            high.restore(state.child(0));
+            low.restore(state.child(1));
+        }
+    }
+}
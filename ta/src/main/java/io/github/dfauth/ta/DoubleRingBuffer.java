@@ -0,0 +1,162 @@
+package io.github.dfauth.ta;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Unboxed ring buffer of doubles. Storage is rounded up to a power of two
+ * so slots are addressed with a mask rather than {@code %}, and positions
+ * are tracked with plain ints, so instances are not thread safe.
+ * <p>
+ * {@link #read(int)} follows {@link RingBuffer}: {@code read(-1)} is the
+ * latest value and {@code read(0)} the oldest; slots not yet written read
+ * as {@code NaN}. {@link #sum()}, {@link #min()}, {@link #max()} and
+ * {@link #copyTo(double[])} only consider values actually written.
+ */
+public class DoubleRingBuffer {
+
+    private final double[] storage;
+    private final int mask;
+    private final int capacity;
+    private int head;
+    private int size;
+    private final DoubleWindow view = new View();
+
+    public DoubleRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity cannot exceed " + (1 << 30));
+        }
+        this.capacity = capacity;
+        this.storage = new double[capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+        this.mask = storage.length - 1;
+        Arrays.fill(storage, Double.NaN);
+    }
+
+    /**
+     * Appends {@code d}, returning the value that dropped out of the window
+     * or {@code NaN} if the buffer was not yet full.
+     */
+    public double write(double d) {
+        double displaced = size == capacity ? storage[(head - capacity) & mask] : Double.NaN;
+        storage[head & mask] = d;
+        head++;
+        if (size < capacity) {
+            size++;
+        }
+        return displaced;
+    }
+
+    public void clear() {
+        Arrays.fill(storage, Double.NaN);
+        head = 0;
+        size = 0;
+    }
+
+    public double read() {
+        return read(-1);
+    }
+
+    public double read(int n) {
+        if (n >= 0 ? n < capacity - size || n >= capacity : -n > size) {
+            return Double.NaN;
+        }
+        return storage[(n >= 0 ? head - capacity + n : head + n) & mask];
+    }
+
+    public double sum() {
+        double sum = 0.0;
+        for (int i = head - size; i != head; i++) {
+            sum += storage[i & mask];
+        }
+        return sum;
+    }
+
+    public double min() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double min = storage[(head - size) & mask];
+        for (int i = head - size + 1; i != head; i++) {
+            min = Math.min(min, storage[i & mask]);
+        }
+        return min;
+    }
+
+    public double max() {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        double max = storage[(head - size) & mask];
+        for (int i = head - size + 1; i != head; i++) {
+            max = Math.max(max, storage[i & mask]);
+        }
+        return max;
+    }
+
+    /**
+     * Copies the written values, oldest first, into the start of
+     * {@code dest}, returning the number copied.
+     */
+    public int copyTo(double[] dest) {
+        if (dest.length < size) {
+            throw new IllegalArgumentException("Destination length " + dest.length + " is less than size " + size);
+        }
+        int start = (head - size) & mask;
+        int firstPart = Math.min(size, storage.length - start);
+        System.arraycopy(storage, start, dest, 0, firstPart);
+        System.arraycopy(storage, 0, dest, firstPart, size - firstPart);
+        return size;
+    }
+
+    public double[] toArray() {
+        double[] result = new double[size];
+        copyTo(result);
+        return result;
+    }
+
+    /**
+     * @return a live, read-only {@link DoubleWindow} over the written values,
+     * sharing this buffer's storage
+     */
+    public DoubleWindow view() {
+        return view;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    private final class View implements DoubleWindow {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public double get(int i) {
+            return storage[(head - size + Objects.checkIndex(i, size)) & mask];
+        }
+
+        @Override
+        public double last() {
+            return size == 0 ? Double.NaN : storage[(head - 1) & mask];
+        }
+
+        @Override
+        public int copyTo(double[] dest) {
+            return DoubleRingBuffer.this.copyTo(dest);
+        }
+    }
+}
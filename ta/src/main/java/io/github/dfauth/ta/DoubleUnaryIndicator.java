@@ -0,0 +1,46 @@
+package io.github.dfauth.ta;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Optional.empty;
+
+/**
+ * Streaming indicator over a series of doubles with no per-tick allocation.
+ * {@link #next(double)} returns {@code NaN} until the indicator has warmed
+ * up, after which {@link #isReady()} is {@code true}. State can be
+ * {@link #checkpoint() checkpointed} and {@link #restore restored}.
+ */
+public interface DoubleUnaryIndicator extends Checkpointable {
+
+    double next(double value);
+
+    boolean isReady();
+
+    /**
+     * Adapts this indicator to the {@code Function<Double, Optional<Double>>}
+     * form used by the stream API.
+     */
+    default Function<Double, Optional<Double>> asFunction() {
+        return d -> {
+            double result = next(d);
+            return isReady() ? Optional.of(result) : empty();
+        };
+    }
+
+    /**
+     * Feeds every value of {@code values} through this indicator, returning
+     * the outputs after warm-up.
+     */
+    default double[] apply(double[] values, int warmUp) {
+        double[] result = new double[Math.max(0, values.length - warmUp)];
+        int i = 0;
+        for (double value : values) {
+            double d = next(value);
+            if (isReady()) {
+                result[i++] = d;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package io.github.dfauth.ta;
+
+/**
+ * Read-only view over the most recent values of a series, oldest first.
+ * Views are live: they reflect later writes to whatever backs them, so
+ * callers wanting a value that outlives the next update should
+ * {@link #toArray()} it.
+ */
+public interface DoubleWindow {
+
+    int size();
+
+    /**
+     * @param i position in the window, {@code 0} being the oldest value
+     */
+    double get(int i);
+
+    /**
+     * @return the latest value, or {@code NaN} if the window is empty
+     */
+    default double last() {
+        return size() == 0 ? Double.NaN : get(size() - 1);
+    }
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Copies the window, oldest first, into the start of {@code dest},
+     * returning the number of values copied.
+     */
+    int copyTo(double[] dest);
+
+    default double[] toArray() {
+        double[] result = new double[size()];
+        copyTo(result);
+        return result;
+    }
+}
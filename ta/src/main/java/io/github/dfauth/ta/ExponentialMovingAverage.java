@@ -2,27 +2,27 @@ package io.github.dfauth.ta;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 
-import static io.github.dfauth.ta.SimpleMovingAverage.sma;
 import static java.util.Optional.empty;
 
 @RequiredArgsConstructor
 public class ExponentialMovingAverage implements Function<Double, Optional<Double>> {
 
-    private final RingBuffer<Double> ringBuffer;
+    private final DoubleRingBuffer ringBuffer;
     private final double multiplier;
 
     public static Function<Double, Optional<Double>> ema(double smoothingFactor, int period, int window) {
-        return new ExponentialMovingAverage(RingBuffer.create(new double[period]), smoothingFactor / (period + 1));
+        return new ExponentialMovingAverage(new DoubleRingBuffer(period), smoothingFactor / (period + 1));
     }
 
     public static BinaryOperator<Double> ema(double smoothingFactor, int period) {
-        return new ExponentialMovingAverage(RingBuffer.create(new double[period]), smoothingFactor / (period + 1))::calculate;
+        return new ExponentialMovingAverage(new DoubleRingBuffer(period), smoothingFactor / (period + 1))::calculate;
     }
 
     public static double ema(double[] prices) {
@@ -40,15 +40,42 @@ public class ExponentialMovingAverage implements Function<Double, Optional<Doubl
         if (prices.length < period) {
             return new double[0];
         }
+        double[] result = new double[prices.length - period + 1];
+        ema(smoothingFactor, prices, period, result);
+        return result;
+    }
+
+    /**
+     * Batch EMA kernel. Writes the {@code prices.length - period + 1} EMA
+     * values into the start of {@code out} in a single pass: the SMA of the
+     * first {@code period} prices, then the recurrence over the remainder.
+     * Allocates nothing, so {@code out} can be reused across securities.
+     *
+     * @return the number of values written, 0 if there is insufficient data
+     */
+    public static int ema(double smoothingFactor, double[] prices, int period, double[] out) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
         int resultLength = prices.length - period + 1;
-        double[] result = new double[resultLength];
-        result[0] = sma(prices, period)[0];
-        double prev = result[0];
+        if (resultLength < 1) {
+            return 0;
+        }
+        if (out.length < resultLength) {
+            throw new IllegalArgumentException("Output length " + out.length + " is less than " + resultLength);
+        }
+        double multiplier = smoothingFactor / (period + 1);
+        double sum = 0.0;
+        for (int i = 0; i < period; i++) {
+            sum += prices[i];
+        }
+        double prev = sum / period;
+        out[0] = prev;
         for (int i = 1; i < resultLength; i++) {
-            result[i] = ema(smoothingFactor, period).apply(prices[resultLength+i-1], prev);
-            prev = result[i];
+            prev = calculate(multiplier, prices[period + i - 1], prev);
+            out[i] = prev;
         }
-        return result;
+        return resultLength;
     }
 
     public static Function<Double, Optional<Double>> emaStream(int period) {
@@ -56,49 +83,95 @@ public class ExponentialMovingAverage implements Function<Double, Optional<Doubl
     }
 
     public static Function<Double, Optional<Double>> emaStream(double smoothingFactor, int period) {
-        double multiplier = smoothingFactor / (period + 1);
-        RingBuffer<Double> ringbuffer = RingBuffer.create(new double[period]);
-        double[] prev = {Double.NaN};
-        return d -> {
-            ringbuffer.write(d);
-            if (ringbuffer.isFull()) {
-                if (Double.isNaN(prev[0])) {
-                    prev[0] = ringbuffer.stream().mapToDouble(Double::doubleValue).sum() / period;
-                } else {
-                    prev[0] = (d - prev[0]) * multiplier + prev[0];
-                }
-                return Optional.of(prev[0]);
-            }
-            return empty();
-        };
+        return emaIndicator(smoothingFactor, period).asFunction();
+    }
+
+    public static DoubleUnaryIndicator emaIndicator(int period) {
+        return emaIndicator(2.0, period);
+    }
+
+    /**
+     * Primitive streaming EMA, seeded with the SMA of the first {@code period}
+     * values. Returns {@code NaN} until then.
+     */
+    public static DoubleUnaryIndicator emaIndicator(double smoothingFactor, int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        return new Indicator(smoothingFactor / (period + 1), period);
     }
 
     public static Function<Double, List<Double>> ema(int period, int window) {
         if (period > window) {
             throw new IllegalArgumentException("period cannot exceed window size");
         }
-        double multiplier = 2.0 / (period + 1);
-        RingBuffer<Double> ringbuffer = RingBuffer.create(new double[period]);
-        RingBuffer<Double> windowbuffer = RingBuffer.create(new double[window - period]);
-        double[] prev = {Double.NaN};
+        DoubleUnaryIndicator ema = emaIndicator(period);
+        DoubleRingBuffer windowbuffer = new DoubleRingBuffer(window - period);
         return d -> {
-            ringbuffer.write(d);
-            if (ringbuffer.isFull()) {
-                if (Double.isNaN(prev[0])) {
-                    prev[0] = ringbuffer.stream().mapToDouble(Double::doubleValue).sum() / period;
-                } else {
-                    prev[0] = (d - prev[0]) * multiplier + prev[0];
+            double next = ema.next(d);
+            if (ema.isReady()) {
+                windowbuffer.write(next);
+                return Arrays.stream(windowbuffer.toArray()).boxed().toList();
+            }
+            return Collections.emptyList();
+        };
+    }
+
+    static final class Indicator implements DoubleUnaryIndicator {
+
+        private final double multiplier;
+        private final int period;
+        // warm-up accumulator for the SMA seed; nothing is buffered once seeded
+        private double seed;
+        private int count;
+        private double prev = Double.NaN;
+
+        Indicator(double multiplier, int period) {
+            this.multiplier = multiplier;
+            this.period = period;
+        }
+
+        @Override
+        public double next(double d) {
+            if (Double.isNaN(prev)) {
+                seed += d;
+                if (++count < period) {
+                    return Double.NaN;
                 }
-                windowbuffer.write(prev[0]);
-                return windowbuffer.stream().toList();
+                prev = seed / period;
             } else {
-                return Collections.emptyList();
+                prev = (d - prev) * multiplier + prev;
             }
-        };
+            return prev;
+        }
+
+        @Override
+        public boolean isReady() {
+            return !Double.isNaN(prev);
+        }
+
+        /**
+         * {@code values}: multiplier, seed accumulator, previous EMA.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return new IndicatorState("ema", period, count, multiplier, seed, prev);
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            state.expect("ema", period);
+            if (state.value(0) != multiplier) {
+                throw new IllegalArgumentException("Cannot restore ema state with multiplier " + state.value(0) + " into " + multiplier);
+            }
+            count = state.getCount();
+            seed = state.value(1);
+            prev = state.value(2);
+        }
     }
 
     public Optional<Double> apply(Double current) {
-        Double prev = ringBuffer.read();
+        double prev = ringBuffer.read();
         double next = calculate(current, prev);
         ringBuffer.write(next);
         return ringBuffer.isFull() ? Optional.of(next) : empty();
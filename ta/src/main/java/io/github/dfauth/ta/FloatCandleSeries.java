@@ -0,0 +1,223 @@
+package io.github.dfauth.ta;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Single-precision counterpart of {@link CandleSeries} for holding very
+ * large universes in memory: {@code float[]} open, high, low, close and
+ * volume columns plus an {@code int[]} column of epoch days, 24 bytes per
+ * candle rather than 44. Values are rounded to the nearest float once on
+ * {@link #add}, a relative error of at most 2<sup>-24</sup>; the
+ * {@link FloatKernels} read the columns directly and accumulate in double.
+ * <p>
+ * As with {@link CandleSeries}, the series grows like an {@code ArrayList}
+ * and the column accessors return the backing arrays, which are valid up
+ * to {@link #size()}.
+ */
+public class FloatCandleSeries {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private int[] epochDay;
+    private float[] open;
+    private float[] high;
+    private float[] low;
+    private float[] close;
+    private float[] volume;
+    private int size;
+
+    public FloatCandleSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FloatCandleSeries(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        epochDay = new int[capacity];
+        open = new float[capacity];
+        high = new float[capacity];
+        low = new float[capacity];
+        close = new float[capacity];
+        volume = new float[capacity];
+    }
+
+    /**
+     * Copies {@code series} into a new single-precision series.
+     */
+    public static FloatCandleSeries of(CandleSeries series) {
+        FloatCandleSeries floats = new FloatCandleSeries(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            floats.add(series.epochDay(i), series.open(i), series.high(i), series.low(i), series.close(i), series.volume(i));
+        }
+        return floats;
+    }
+
+    public FloatCandleSeries add(LocalDate date, double open, double high, double low, double close, double volume) {
+        return add(Math.toIntExact(date.toEpochDay()), open, high, low, close, volume);
+    }
+
+    public FloatCandleSeries add(int epochDay, double open, double high, double low, double close, double volume) {
+        if (size > 0 && epochDay < this.epochDay[size - 1]) {
+            throw new IllegalArgumentException("Candles must be added in date order: " + LocalDate.ofEpochDay(epochDay) + " is before " + date(size - 1));
+        }
+        if (size == this.close.length) {
+            grow();
+        }
+        this.epochDay[size] = epochDay;
+        this.open[size] = (float) open;
+        this.high[size] = (float) high;
+        this.low[size] = (float) low;
+        this.close[size] = (float) close;
+        this.volume[size] = (float) volume;
+        size++;
+        return this;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, close.length + (close.length >> 1));
+        epochDay = Arrays.copyOf(epochDay, capacity);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        volume = Arrays.copyOf(volume, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int epochDay(int i) {
+        return epochDay[checkIndex(i)];
+    }
+
+    public LocalDate date(int i) {
+        return LocalDate.ofEpochDay(epochDay(i));
+    }
+
+    public float open(int i) {
+        return open[checkIndex(i)];
+    }
+
+    public float high(int i) {
+        return high[checkIndex(i)];
+    }
+
+    public float low(int i) {
+        return low[checkIndex(i)];
+    }
+
+    public float close(int i) {
+        return close[checkIndex(i)];
+    }
+
+    public float volume(int i) {
+        return volume[checkIndex(i)];
+    }
+
+    private int checkIndex(int i) {
+        return Objects.checkIndex(i, size);
+    }
+
+    // backing columns, valid up to size()
+
+    public int[] epochDays() {
+        return epochDay;
+    }
+
+    public float[] opens() {
+        return open;
+    }
+
+    public float[] highs() {
+        return high;
+    }
+
+    public float[] lows() {
+        return low;
+    }
+
+    public float[] closes() {
+        return close;
+    }
+
+    public float[] volumes() {
+        return volume;
+    }
+
+    /**
+     * @return the close column trimmed to {@link #size()}
+     */
+    public float[] closesCopy() {
+        return Arrays.copyOf(close, size);
+    }
+
+    /**
+     * @return a cursor positioned before the first candle
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Flyweight {@link Candle} over one row of the series, widening each
+     * value to double, so the streaming indicators can consume a float
+     * series directly. Callers must not retain it as a value.
+     */
+    public class Cursor implements Candle {
+
+        private int index = -1;
+
+        public boolean next() {
+            if (index + 1 < size) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        public Cursor moveTo(int i) {
+            index = checkIndex(i);
+            return this;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int epochDay() {
+            return epochDay[index];
+        }
+
+        public LocalDate date() {
+            return LocalDate.ofEpochDay(epochDay[index]);
+        }
+
+        @Override
+        public double open() {
+            return open[index];
+        }
+
+        @Override
+        public double high() {
+            return high[index];
+        }
+
+        @Override
+        public double low() {
+            return low[index];
+        }
+
+        @Override
+        public double close() {
+            return close[index];
+        }
+
+        public double volume() {
+            return volume[index];
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.dfauth.ta;
+
+/**
+ * Single-precision batch kernels over {@code float[]} columns, e.g. those of
+ * a {@link FloatCandleSeries}. Each mirrors the double kernel of the same
+ * name: it reads the first {@code length} inputs, so series columns can be
+ * passed without trimming, and writes the same number of values into the
+ * start of {@code out}. Inputs are widened and every sum, average and ratio
+ * is accumulated in double; only the stored inputs and the written outputs
+ * are single precision, which halves the memory and bandwidth of a scan.
+ * <p>
+ * Error bounds against the double kernels run on the unrounded inputs,
+ * with ε = 2<sup>-24</sup> (≈ 6·10<sup>-8</sup>), the relative rounding error
+ * of a float, and P the largest price feeding a value. The double
+ * arithmetic itself contributes a negligible ~10<sup>-16</sup>.
+ * <ul>
+ *     <li>{@link #sma SMA}, {@link #ema EMA}: averages of the inputs, so
+ *     |Δ| ≤ 2εP, about 10<sup>-7</sup> of the price level.</li>
+ *     <li>{@link #roc ROC}: a ratio of two prices, so
+ *     |Δ| ≤ 3ε(1 + |ROC|).</li>
+ *     <li>{@link #atr ATR}: true ranges are differences of prices, so the
+ *     bound is absolute rather than relative to the ATR:
+ *     |Δ| ≤ 2εP + ε·ATR.</li>
+ *     <li>{@link #rsi RSI}: price changes carry an absolute error of up to
+ *     2εP, so to first order |Δ| ≤ 200εP / (avgGain + avgLoss) + 100ε RSI
+ *     points. For a security moving about 1% a day that is around
+ *     10<sup>-3</sup> points; flat, high-priced series are the worst case.</li>
+ * </ul>
+ */
+public class FloatKernels {
+
+    /**
+     * SMA kernel, as {@link SimpleMovingAverage#sma(double[], int, double[])}.
+     *
+     * @return the number of values written, 0 if there is insufficient data
+     */
+    public static int sma(float[] prices, int length, int period, float[] out) {
+        int resultLength = checkShape(prices, length, period, length - period + 1, out);
+        if (resultLength < 1) {
+            return 0;
+        }
+        double sum = 0.0;
+        for (int i = 0; i < period; i++) {
+            sum += prices[i];
+        }
+        out[0] = (float) (sum / period);
+        for (int i = 1, sinceRecompute = 0; i < resultLength; i++) {
+            if (++sinceRecompute == period) {
+                sinceRecompute = 0;
+                sum = 0.0;
+                for (int j = i; j < i + period; j++) {
+                    sum += prices[j];
+                }
+            } else {
+                sum += (double) prices[i + period - 1] - prices[i - 1];
+            }
+            out[i] = (float) (sum / period);
+        }
+        return resultLength;
+    }
+
+    /**
+     * EMA kernel with the conventional smoothing factor of 2, as
+     * {@link ExponentialMovingAverage#ema(double, double[], int, double[])}.
+     *
+     * @return the number of values written, 0 if there is insufficient data
+     */
+    public static int ema(float[] prices, int length, int period, float[] out) {
+        int resultLength = checkShape(prices, length, period, length - period + 1, out);
+        if (resultLength < 1) {
+            return 0;
+        }
+        double multiplier = 2.0 / (period + 1);
+        double sum = 0.0;
+        for (int i = 0; i < period; i++) {
+            sum += prices[i];
+        }
+        double prev = sum / period;
+        out[0] = (float) prev;
+        for (int i = 1; i < resultLength; i++) {
+            prev = ExponentialMovingAverage.calculate(multiplier, prices[period + i - 1], prev);
+            out[i] = (float) prev;
+        }
+        return resultLength;
+    }
+
+    /**
+     * ROC kernel, as {@link RateOfChange#roc(double[], int, double[])}.
+     *
+     * @return the number of values written, 0 if there is insufficient data
+     */
+    public static int roc(float[] prices, int length, int period, float[] out) {
+        int resultLength = checkShape(prices, length, period, length - period, out);
+        if (resultLength < 1) {
+            return 0;
+        }
+        for (int i = 0; i < resultLength; i++) {
+            double oldest = prices[i];
+            out[i] = (float) ((prices[i + period] - oldest) / oldest);
+        }
+        return resultLength;
+    }
+
+    /**
+     * RSI kernel with Wilder's smoothing, as
+     * {@link RelativeStrengthIndex#rsi(double[], int)}: one value per price
+     * after the first {@code period + 1}.
+     *
+     * @return the number of values written, 0 if there is insufficient data
+     */
+    public static int rsi(float[] prices, int length, int period, float[] out) {
+        int resultLength = checkShape(prices, length, period, length - period, out);
+        if (resultLength < 1) {
+            return 0;
+        }
+        double avgGain = 0.0;
+        double avgLoss = 0.0;
+        for (int i = 1; i <= period; i++) {
+            double change = (double) prices[i] - prices[i - 1];
+            avgGain += change > 0 ? change : 0.0;
+            avgLoss += change < 0 ? -change : 0.0;
+        }
+        avgGain /= period;
+        avgLoss /= period;
+        out[0] = (float) RelativeStrengthIndex.toRsi(avgGain, avgLoss);
+        for (int i = period + 1; i < length; i++) {
+            double change = (double) prices[i] - prices[i - 1];
+            avgGain = (avgGain * (period - 1) + (change > 0 ? change : 0.0)) / period;
+            avgLoss = (avgLoss * (period - 1) + (change < 0 ? -change : 0.0)) / period;
+            out[i - period] = (float) RelativeStrengthIndex.toRsi(avgGain, avgLoss);
+        }
+        return resultLength;
+    }
+
+    /**
+     * ATR kernel with Wilder's smoothing over the high, low and close
+     * columns, as {@link AverageTrueRange#atr(CandleSeries, int, double[])}.
+     *
+     * @return the number of values written, 0 if there is insufficient data
+     */
+    public static int atr(FloatCandleSeries series, int period, float[] out) {
+        int size = series.size();
+        int resultLength = checkShape(series.closes(), size, period, size - period, out);
+        if (resultLength < 1) {
+            return 0;
+        }
+        float[] high = series.highs();
+        float[] low = series.lows();
+        float[] close = series.closes();
+        double sum = 0.0;
+        for (int i = 1; i <= period; i++) {
+            sum += AverageTrueRange.trueRange(high[i], low[i], close[i - 1]);
+        }
+        double atr = sum / period;
+        out[0] = (float) atr;
+        for (int i = period + 1; i < size; i++) {
+            atr = (atr * (period - 1) + AverageTrueRange.trueRange(high[i], low[i], close[i - 1])) / period;
+            out[i - period] = (float) atr;
+        }
+        return resultLength;
+    }
+
+    /**
+     * @return {@code resultLength}, after checking the arguments
+     */
+    private static int checkShape(float[] prices, int length, int period, int resultLength, float[] out) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        if (length < 0 || length > prices.length) {
+            throw new IllegalArgumentException("Length " + length + " is outside the input of length " + prices.length);
+        }
+        if (resultLength > 0 && out.length < resultLength) {
+            throw new IllegalArgumentException("Output length " + out.length + " is less than " + resultLength);
+        }
+        return resultLength;
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.dfauth.ta;
+
+/**
+ * N-period high/low and days-since-extreme indicators over a
+ * {@link RollingExtremum}, so each update is O(1) amortised rather than a
+ * scan of the window.
+ */
+public class HighLow {
+
+    /**
+     * Batch N-period high. Returns {@code prices.length - period + 1} values,
+     * or empty if there is insufficient data.
+     */
+    public static double[] high(double[] prices, int period) {
+        return highIndicator(period).apply(prices, period - 1);
+    }
+
+    /**
+     * Batch N-period low. Returns {@code prices.length - period + 1} values,
+     * or empty if there is insufficient data.
+     */
+    public static double[] low(double[] prices, int period) {
+        return lowIndicator(period).apply(prices, period - 1);
+    }
+
+    /**
+     * Streaming highest value of the last {@code period}. Returns {@code NaN}
+     * until {@code period} values have been seen.
+     */
+    public static DoubleUnaryIndicator highIndicator(int period) {
+        return new Indicator(RollingExtremum.max(period), false);
+    }
+
+    /**
+     * Streaming lowest value of the last {@code period}. Returns {@code NaN}
+     * until {@code period} values have been seen.
+     */
+    public static DoubleUnaryIndicator lowIndicator(int period) {
+        return new Indicator(RollingExtremum.min(period), false);
+    }
+
+    /**
+     * Streaming number of values since the {@code period} high, {@code 0}
+     * when the latest value is the high. Returns {@code NaN} until
+     * {@code period} values have been seen.
+     */
+    public static DoubleUnaryIndicator daysSinceHighIndicator(int period) {
+        return new Indicator(RollingExtremum.max(period), true);
+    }
+
+    /**
+     * Streaming number of values since the {@code period} low, {@code 0}
+     * when the latest value is the low. Returns {@code NaN} until
+     * {@code period} values have been seen.
+     */
+    public static DoubleUnaryIndicator daysSinceLowIndicator(int period) {
+        return new Indicator(RollingExtremum.min(period), true);
+    }
+
+    static final class Indicator implements DoubleUnaryIndicator {
+
+        private final RollingExtremum extremum;
+        private final boolean age;
+
+        Indicator(RollingExtremum extremum, boolean age) {
+            this.extremum = extremum;
+            this.age = age;
+        }
+
+        @Override
+        public double next(double value) {
+            double extreme = extremum.add(value);
+            if (!extremum.isFull()) {
+                return Double.NaN;
+            }
+            return age ? extremum.age() : extreme;
+        }
+
+        @Override
+        public boolean isReady() {
+            return extremum.isFull();
+        }
+
+        /**
+         * The state of the underlying {@link RollingExtremum}.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return extremum.checkpoint();
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            extremum.restore(state);
+        }
+    }
+}
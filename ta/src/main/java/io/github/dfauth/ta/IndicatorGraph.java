@@ -0,0 +1,256 @@
+package io.github.dfauth.ta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A set of indicators evaluated together, once per candle, with identical
+ * sub-computations shared. Nodes are declared through a {@link Builder};
+ * declaring the same indicator type with the same parameters over the same
+ * inputs twice returns the existing {@link Node}, so e.g. a screen asking for
+ * {@code EMA(21)}, {@code RoC(EMA(21))} and Trend Velocity computes the EMA
+ * once.
+ * <p>
+ * A node can only be declared after its inputs, so declaration order is a
+ * topological order and {@link #next(Candle)} simply evaluates the nodes in
+ * that order. As with the stream API, a derived node is only fed once its
+ * inputs are ready. Not thread safe.
+ *
+ * <pre>{@code
+ * IndicatorGraph.Builder b = IndicatorGraph.builder();
+ * Node ema = b.ema(b.close(), 21);
+ * Node tv = b.trendVelocity(21);          // reuses ema
+ * IndicatorGraph graph = b.build();
+ * for (Candle c : candles) {
+ *     graph.next(c);
+ * }
+ * double latest = graph.value(tv);
+ * }</pre>
+ */
+public class IndicatorGraph {
+
+    private final Builder owner;
+    private final Step[] steps;
+    private final double[] values;
+    private final boolean[] ready;
+
+    private IndicatorGraph(Builder owner) {
+        this.owner = owner;
+        this.steps = owner.specs.stream().map(Spec::create).toArray(Step[]::new);
+        this.values = new double[steps.length];
+        this.ready = new boolean[steps.length];
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Evaluates every node for {@code candle}, in declaration order.
+     */
+    public void next(Candle candle) {
+        for (int i = 0; i < steps.length; i++) {
+            steps[i].evaluate(candle, values, ready);
+        }
+    }
+
+    public double value(Node node) {
+        return values[check(node)];
+    }
+
+    public boolean isReady(Node node) {
+        return ready[check(node)];
+    }
+
+    /**
+     * @return the number of distinct nodes evaluated per candle
+     */
+    public int size() {
+        return steps.length;
+    }
+
+    private int check(Node node) {
+        if (node.owner != owner || node.index >= steps.length) {
+            throw new IllegalArgumentException("Node " + node + " is not part of this graph");
+        }
+        return node.index;
+    }
+
+    /**
+     * Handle on a declared node; only meaningful to graphs built by the
+     * builder that declared it.
+     */
+    public static final class Node {
+
+        private final Builder owner;
+        private final int index;
+        private final String description;
+
+        private Node(Builder owner, int index, String description) {
+            this.owner = owner;
+            this.index = index;
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    public static final class Builder {
+
+        private final List<Spec> specs = new ArrayList<>();
+        private final Map<Key, Node> nodes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Node open() {
+            return node(new Key("open", List.of(), List.of()), source(Candle::open));
+        }
+
+        public Node high() {
+            return node(new Key("high", List.of(), List.of()), source(Candle::high));
+        }
+
+        public Node low() {
+            return node(new Key("low", List.of(), List.of()), source(Candle::low));
+        }
+
+        public Node close() {
+            return node(new Key("close", List.of(), List.of()), source(Candle::close));
+        }
+
+        public Node ema(Node input, int period) {
+            return unary("ema", input, () -> ExponentialMovingAverage.emaIndicator(period), period);
+        }
+
+        public Node sma(Node input, int period) {
+            return unary("sma", input, () -> SimpleMovingAverage.smaIndicator(period), period);
+        }
+
+        public Node roc(Node input, int period) {
+            return unary("roc", input, () -> RateOfChange.rocIndicator(period), period);
+        }
+
+        public Node rsi(Node input, int period) {
+            return unary("rsi", input, () -> RelativeStrengthIndex.rsiIndicator(period), period);
+        }
+
+        public Node atr(int period) {
+            return candle("atr", () -> AverageTrueRange.atrIndicator(period), period);
+        }
+
+        /**
+         * {@code numerator / denominator}, ready when both inputs are.
+         */
+        public Node divide(Node numerator, Node denominator) {
+            int n = check(numerator);
+            int d = check(denominator);
+            return node(new Key("divide", List.of(), List.of(n, d)), i -> (candle, values, ready) -> {
+                ready[i] = ready[n] && ready[d];
+                values[i] = ready[i] ? values[n] / values[d] : Double.NaN;
+            });
+        }
+
+        /**
+         * {@code RoC(EMA(close, period), period) / ATR(period)}, as
+         * {@link TrendVelocity#trendVelocityIndicator(int)}.
+         */
+        public Node trendVelocity(int period) {
+            return divide(roc(ema(close(), period), period), atr(period));
+        }
+
+        /**
+         * Declares a {@link DoubleUnaryIndicator} over {@code input}. Nodes
+         * with the same {@code type}, {@code params} and input are shared, so
+         * {@code params} must capture everything {@code factory} depends on.
+         */
+        public Node unary(String type, Node input, Supplier<DoubleUnaryIndicator> factory, Object... params) {
+            int in = check(input);
+            return node(new Key(type, List.of(params), List.of(in)), i -> {
+                DoubleUnaryIndicator indicator = factory.get();
+                return (candle, values, ready) -> {
+                    if (ready[in]) {
+                        values[i] = indicator.next(values[in]);
+                        ready[i] = indicator.isReady();
+                    } else {
+                        values[i] = Double.NaN;
+                    }
+                };
+            });
+        }
+
+        /**
+         * Declares a {@link CandleIndicator} fed each candle directly. Nodes
+         * with the same {@code type} and {@code params} are shared.
+         */
+        public Node candle(String type, Supplier<CandleIndicator> factory, Object... params) {
+            return node(new Key(type, List.of(params), List.of()), i -> {
+                CandleIndicator indicator = factory.get();
+                return (candle, values, ready) -> {
+                    values[i] = indicator.next(candle);
+                    ready[i] = indicator.isReady();
+                };
+            });
+        }
+
+        /**
+         * Builds a graph with fresh indicator state. The builder may be
+         * reused, e.g. one graph per security.
+         */
+        public IndicatorGraph build() {
+            return new IndicatorGraph(this);
+        }
+
+        private Node node(Key key, IntFunction<Step> factory) {
+            return nodes.computeIfAbsent(key, k -> {
+                Node node = new Node(this, specs.size(), k.toString());
+                specs.add(new Spec(node.index, factory));
+                return node;
+            });
+        }
+
+        int check(Node node) {
+            if (node.owner != this) {
+                throw new IllegalArgumentException("Node " + node + " was not declared by this builder");
+            }
+            return node.index;
+        }
+    }
+
+    private record Key(String type, List<Object> params, List<Integer> inputs) {
+        @Override
+        public String toString() {
+            return type + params + inputs;
+        }
+    }
+
+    private record Spec(int index, IntFunction<Step> factory) {
+        Step create() {
+            return factory.apply(index);
+        }
+    }
+
+    /**
+     * Evaluates one node, reading its inputs from and writing its own slot
+     * of {@code values}/{@code ready}.
+     */
+    @FunctionalInterface
+    private interface Step {
+        void evaluate(Candle candle, double[] values, boolean[] ready);
+    }
+
+    private static IntFunction<Step> source(ToDoubleFunction<Candle> field) {
+        return i -> (candle, values, ready) -> {
+            values[i] = field.applyAsDouble(candle);
+            ready[i] = true;
+        };
+    }
+}
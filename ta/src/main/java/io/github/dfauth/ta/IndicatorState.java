@@ -0,0 +1,77 @@
+package io.github.dfauth.ta;
+
+import io.github.dfauth.dormant.Dormant;
+import io.github.dfauth.dormant.Serde;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Serializable snapshot of a {@link Checkpointable} indicator. The layout is
+ * generic so one type covers every indicator: a {@code type} tag and
+ * {@code period} identifying what was captured, a warm-up {@code count},
+ * indicator-specific scalar {@code values}, the contents of any
+ * {@code window} (oldest first) and the states of composed indicators as
+ * {@code children}. Each indicator documents its own use of the fields.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndicatorState implements Dormant {
+
+    private String type;
+    private int period;
+    private int count;
+    private double[] values;
+    private double[] window;
+    private List<IndicatorState> children;
+
+    public IndicatorState(String type, int period, int count, double... values) {
+        this(type, period, count, values, new double[0], List.of());
+    }
+
+    /**
+     * @throws IllegalArgumentException if this state was not captured from
+     * an indicator of {@code type} over {@code period}
+     */
+    IndicatorState expect(String type, int period) {
+        if (!type.equals(this.type) || period != this.period) {
+            throw new IllegalArgumentException("Cannot restore " + this.type + "(" + this.period + ") state into " + type + "(" + period + ")");
+        }
+        return this;
+    }
+
+    double value(int i) {
+        return values[i];
+    }
+
+    IndicatorState child(int i) {
+        return children.get(i);
+    }
+
+    @Override
+    public void write(Serde serde) {
+        serde.writeString(type)
+                .writeInt(period)
+                .writeInt(count)
+                .writeDoubleArray(values)
+                .writeDoubleArray(window)
+                .writeList(children, Serde::writeDormant);
+    }
+
+    @Override
+    public void read(Serde serde) {
+        serde.readString(v -> type = v)
+                .readInt(v -> period = v)
+                .readInt(v -> count = v)
+                .readDoubleArray(v -> values = v)
+                .readDoubleArray(v -> window = v)
+                .readList(s -> s.readDormant(IndicatorState::new), v -> children = v);
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.dfauth.ta;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Rolling least-squares trend line over the last {@code period} values,
+ * computed in O(1) per value by a {@link RollingRegression}. The slope
+ * measures the direction and speed of the trend; R² how cleanly the
+ * values follow it, a cheap trend-quality metric for scans.
+ */
+public class LinearRegression {
+
+    /**
+     * @param slope change in the fitted value per step
+     * @param intercept fitted value at the latest point
+     * @param rSquared coefficient of determination, {@code 0} to {@code 1}
+     */
+    public record Fit(double slope, double intercept, double rSquared) {}
+
+    /**
+     * Batch regression slope. Returns {@code values.length - period + 1}
+     * values, or empty if there is insufficient data.
+     */
+    public static double[] slope(double[] values, int period) {
+        return regressionIndicator(period).apply(values, period - 1);
+    }
+
+    /**
+     * Streaming regression. Returns {@code Optional.empty()} until
+     * {@code period} values have been seen.
+     */
+    public static Function<Double, Optional<Fit>> regressionStream(int period) {
+        Indicator regression = regressionIndicator(period);
+        return d -> {
+            regression.next(d);
+            return regression.isReady()
+                    ? Optional.of(new Fit(regression.slope(), regression.intercept(), regression.rSquared()))
+                    : Optional.empty();
+        };
+    }
+
+    /**
+     * Primitive streaming regression. {@link Indicator#next(double)} returns
+     * the slope, {@code NaN} during warm-up; the intercept and R² are read
+     * from the indicator.
+     */
+    public static Indicator regressionIndicator(int period) {
+        return new Indicator(new RollingRegression(period));
+    }
+
+    public static final class Indicator implements DoubleUnaryIndicator {
+
+        private final RollingRegression regression;
+
+        Indicator(RollingRegression regression) {
+            this.regression = regression;
+        }
+
+        @Override
+        public double next(double value) {
+            return regression.add(value);
+        }
+
+        @Override
+        public boolean isReady() {
+            return regression.isFull();
+        }
+
+        public double slope() {
+            return regression.slope();
+        }
+
+        public double intercept() {
+            return regression.intercept();
+        }
+
+        public double rSquared() {
+            return regression.rSquared();
+        }
+
+        /**
+         * The state of the underlying {@link RollingRegression}.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return regression.checkpoint();
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            regression.restore(state);
+        }
+    }
+}
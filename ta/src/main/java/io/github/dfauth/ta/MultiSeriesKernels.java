@@ -0,0 +1,60 @@
+package io.github.dfauth.ta;
+
+/**
+ * Batch indicator kernels over many independent series of equal length,
+ * computed in lock-step.
+ * <p>
+ * Inputs and outputs use a time-major struct-of-arrays layout: the value of
+ * series {@code s} at time {@code t} is at index {@code t * lanes + s}, so
+ * the values of all series at one time are contiguous and can be loaded into
+ * SIMD lanes together. Outputs have the same shape as the inputs and hold
+ * {@code NaN} during each indicator's warm-up.
+ * <p>
+ * {@link #get()} returns an implementation built on
+ * {@code jdk.incubator.vector} when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, and a scalar implementation
+ * otherwise. Both match the single-series indicators to within rounding, not
+ * bit for bit: the EMA, for instance, uses the batch recurrence of
+ * {@link ExponentialMovingAverage#calculate(double, double, double)},
+ * {@code x * m + prev * (1 - m)}, where the streaming indicator computes
+ * {@code (x - prev) * m + prev}.
+ */
+public interface MultiSeriesKernels {
+
+    /**
+     * EMA with a smoothing factor of 2, seeded with the SMA of the first
+     * {@code period} values; defined from {@code t = period - 1}.
+     */
+    void ema(double[] in, int lanes, int period, double[] out);
+
+    /**
+     * Simple moving average; defined from {@code t = period - 1}.
+     */
+    void sma(double[] in, int lanes, int period, double[] out);
+
+    /**
+     * Wilder's smoothing, {@code avg = (prevAvg * (period - 1) + x) / period},
+     * seeded with the SMA of the first {@code period} values; defined from
+     * {@code t = period - 1}.
+     */
+    void wilder(double[] in, int lanes, int period, double[] out);
+
+    /**
+     * RSI with Wilder's smoothing of gains and losses; defined from
+     * {@code t = period}.
+     */
+    void rsi(double[] in, int lanes, int period, double[] out);
+
+    /**
+     * ATR with Wilder's smoothing of true ranges; defined from {@code t = period}.
+     */
+    void atr(double[] high, double[] low, double[] close, int lanes, int period, double[] out);
+
+    static MultiSeriesKernels get() {
+        return MultiSeriesKernelsLoader.INSTANCE;
+    }
+
+    static MultiSeriesKernels scalar() {
+        return ScalarMultiSeriesKernels.INSTANCE;
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.dfauth.ta;
+
+final class MultiSeriesKernelsLoader {
+
+    static final MultiSeriesKernels INSTANCE = load();
+
+    private MultiSeriesKernelsLoader() {
+    }
+
+    private static MultiSeriesKernels load() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return ScalarMultiSeriesKernels.INSTANCE;
+        }
+        try {
+            // loaded reflectively so nothing links against the incubator module unless it is present
+            return (MultiSeriesKernels) Class.forName("io.github.dfauth.ta.VectorMultiSeriesKernels")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return ScalarMultiSeriesKernels.INSTANCE;
+        }
+    }
+}
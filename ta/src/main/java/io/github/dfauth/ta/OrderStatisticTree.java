@@ -0,0 +1,212 @@
+package io.github.dfauth.ta;
+
+import java.util.Arrays;
+
+/**
+ * Multiset of doubles supporting insert, remove, k-th smallest and rank in
+ * O(log n) expected time: a treap whose nodes live in parallel primitive
+ * arrays, so nothing is boxed or allocated after construction. Each node
+ * records its subtree size for the order-statistic queries. Node {@code 0}
+ * is the empty sentinel and released nodes are chained through
+ * {@code left} as a free list.
+ * <p>
+ * Keys are ordered by {@link Double#compare}, so {@code NaN} sorts above
+ * every other value and equals itself.
+ */
+public class OrderStatisticTree {
+
+    private final double[] key;
+    private final int[] priority;
+    private final int[] left;
+    private final int[] right;
+    private final int[] size;
+    private int root;
+    private int free;
+    private int seed = 0x2545F491;
+    // results of split(), which yields two roots
+    private int splitLeft;
+    private int splitRight;
+
+    public OrderStatisticTree(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        key = new double[capacity + 1];
+        priority = new int[capacity + 1];
+        left = new int[capacity + 1];
+        right = new int[capacity + 1];
+        size = new int[capacity + 1];
+        clear();
+    }
+
+    public void clear() {
+        Arrays.fill(right, 0);
+        Arrays.fill(size, 0);
+        for (int i = 1; i < left.length; i++) {
+            left[i] = i + 1 < left.length ? i + 1 : 0;
+        }
+        left[0] = 0;
+        free = 1;
+        root = 0;
+    }
+
+    public int size() {
+        return size[root];
+    }
+
+    public int capacity() {
+        return key.length - 1;
+    }
+
+    public void insert(double k) {
+        if (free == 0) {
+            throw new IllegalStateException("Tree is at capacity " + capacity());
+        }
+        int node = free;
+        free = left[node];
+        key[node] = k;
+        priority[node] = nextPriority();
+        left[node] = 0;
+        right[node] = 0;
+        size[node] = 1;
+        split(root, k);
+        root = merge(merge(splitLeft, node), splitRight);
+    }
+
+    /**
+     * Removes one occurrence of {@code k}.
+     *
+     * @throws IllegalArgumentException if {@code k} is not present
+     */
+    public void remove(double k) {
+        root = remove(root, k);
+    }
+
+    private int remove(int t, double k) {
+        if (t == 0) {
+            throw new IllegalArgumentException(k + " is not present");
+        }
+        int c = Double.compare(k, key[t]);
+        if (c == 0) {
+            int merged = merge(left[t], right[t]);
+            left[t] = free;
+            free = t;
+            return merged;
+        }
+        if (c < 0) {
+            left[t] = remove(left[t], k);
+        } else {
+            right[t] = remove(right[t], k);
+        }
+        size[t]--;
+        return t;
+    }
+
+    /**
+     * Splits {@code t} into keys below {@code k} ({@link #splitLeft}) and
+     * keys at or above it ({@link #splitRight}).
+     */
+    private void split(int t, double k) {
+        if (t == 0) {
+            splitLeft = 0;
+            splitRight = 0;
+        } else if (Double.compare(key[t], k) < 0) {
+            split(right[t], k);
+            right[t] = splitLeft;
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left[t], k);
+            left[t] = splitRight;
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    /**
+     * Joins {@code a} and {@code b}, where no key in {@code a} exceeds any in {@code b}.
+     */
+    private int merge(int a, int b) {
+        if (a == 0) {
+            return b;
+        }
+        if (b == 0) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+
+    private void update(int t) {
+        size[t] = size[left[t]] + size[right[t]] + 1;
+    }
+
+    private int nextPriority() {
+        // xorshift32
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    /**
+     * @return the {@code k}th smallest key, {@code 0} being the minimum
+     */
+    public double kth(int k) {
+        if (k < 0 || k >= size()) {
+            throw new IndexOutOfBoundsException("Index " + k + " out of bounds for size " + size());
+        }
+        int t = root;
+        while (true) {
+            int leftSize = size[left[t]];
+            if (k < leftSize) {
+                t = left[t];
+            } else if (k == leftSize) {
+                return key[t];
+            } else {
+                k -= leftSize + 1;
+                t = right[t];
+            }
+        }
+    }
+
+    /**
+     * @return the number of keys strictly below {@code k}
+     */
+    public int countBelow(double k) {
+        int count = 0;
+        int t = root;
+        while (t != 0) {
+            if (Double.compare(key[t], k) < 0) {
+                count += size[left[t]] + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of keys at or below {@code k}
+     */
+    public int countAtOrBelow(double k) {
+        int count = 0;
+        int t = root;
+        while (t != 0) {
+            if (Double.compare(key[t], k) <= 0) {
+                count += size[left[t]] + 1;
+                t = right[t];
+            } else {
+                t = left[t];
+            }
+        }
+        return count;
+    }
+}
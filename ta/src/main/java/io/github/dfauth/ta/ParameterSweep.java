@@ -0,0 +1,197 @@
+package io.github.dfauth.ta;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates one indicator for many periods in a single pass over the data,
+ * for tuning screens over a grid of periods. Per-period state is held in
+ * columns ({@code double[]} indexed by period), so each time step is one
+ * tight loop across the bank; inputs shared by every period, such as the
+ * price change for RSI or the true range for ATR, are computed once per
+ * step rather than once per period.
+ * <p>
+ * Results are a period × time matrix: {@code out[j][t]} is the value for
+ * {@code periods[j]} at time {@code t}, {@code NaN} during that period's
+ * warm-up. Values match the corresponding streaming indicators.
+ */
+public class ParameterSweep {
+
+    /**
+     * @return the periods {@code from} to {@code to} inclusive
+     */
+    public static int[] periods(int from, int to) {
+        if (from < 1 || to < from) {
+            throw new IllegalArgumentException("Invalid period range " + from + " to " + to);
+        }
+        int[] periods = new int[to - from + 1];
+        Arrays.setAll(periods, i -> from + i);
+        return periods;
+    }
+
+    /**
+     * EMA bank, matching {@link ExponentialMovingAverage#emaIndicator(int)}
+     * for each period.
+     */
+    public static double[][] ema(double[] prices, int[] periods) {
+        double[][] out = new double[periods.length][prices.length];
+        ema(prices, periods, out);
+        return out;
+    }
+
+    public static void ema(double[] prices, int[] periods, double[][] out) {
+        int maxPeriod = checkShape(prices.length, periods, out);
+        int bank = periods.length;
+        double[] multiplier = new double[bank];
+        double[] prev = new double[bank];
+        for (int j = 0; j < bank; j++) {
+            multiplier[j] = 2.0 / (periods[j] + 1);
+        }
+        int t = 0;
+        // warm-up: each period accumulates its SMA seed until seeded
+        for (; t < Math.min(maxPeriod, prices.length); t++) {
+            double x = prices[t];
+            for (int j = 0; j < bank; j++) {
+                int period = periods[j];
+                if (t < period) {
+                    prev[j] += x;
+                    if (t == period - 1) {
+                        prev[j] /= period;
+                    }
+                } else {
+                    prev[j] = (x - prev[j]) * multiplier[j] + prev[j];
+                }
+                out[j][t] = t < period - 1 ? Double.NaN : prev[j];
+            }
+        }
+        // every period seeded: branch-free across the bank
+        for (; t < prices.length; t++) {
+            double x = prices[t];
+            for (int j = 0; j < bank; j++) {
+                prev[j] = (x - prev[j]) * multiplier[j] + prev[j];
+                out[j][t] = prev[j];
+            }
+        }
+    }
+
+    /**
+     * RSI bank, matching {@link RelativeStrengthIndex#rsiIndicator(int)} for
+     * each period.
+     */
+    public static double[][] rsi(double[] prices, int[] periods) {
+        double[][] out = new double[periods.length][prices.length];
+        rsi(prices, periods, out);
+        return out;
+    }
+
+    public static void rsi(double[] prices, int[] periods, double[][] out) {
+        int maxPeriod = checkShape(prices.length, periods, out);
+        int bank = periods.length;
+        double[] avgGain = new double[bank];
+        double[] avgLoss = new double[bank];
+        for (int j = 0; j < bank; j++) {
+            Arrays.fill(out[j], 0, Math.min(periods[j], prices.length), Double.NaN);
+        }
+        int t = 1;
+        for (; t <= Math.min(maxPeriod, prices.length - 1); t++) {
+            double change = prices[t] - prices[t - 1];
+            double gain = change > 0 ? change : 0.0;
+            double loss = change < 0 ? -change : 0.0;
+            for (int j = 0; j < bank; j++) {
+                int period = periods[j];
+                if (t < period) {
+                    avgGain[j] += gain;
+                    avgLoss[j] += loss;
+                    continue;
+                }
+                if (t == period) {
+                    avgGain[j] = (avgGain[j] + gain) / period;
+                    avgLoss[j] = (avgLoss[j] + loss) / period;
+                } else {
+                    avgGain[j] = (avgGain[j] * (period - 1) + gain) / period;
+                    avgLoss[j] = (avgLoss[j] * (period - 1) + loss) / period;
+                }
+                out[j][t] = RelativeStrengthIndex.toRsi(avgGain[j], avgLoss[j]);
+            }
+        }
+        for (; t < prices.length; t++) {
+            double change = prices[t] - prices[t - 1];
+            double gain = change > 0 ? change : 0.0;
+            double loss = change < 0 ? -change : 0.0;
+            for (int j = 0; j < bank; j++) {
+                int period = periods[j];
+                avgGain[j] = (avgGain[j] * (period - 1) + gain) / period;
+                avgLoss[j] = (avgLoss[j] * (period - 1) + loss) / period;
+                out[j][t] = RelativeStrengthIndex.toRsi(avgGain[j], avgLoss[j]);
+            }
+        }
+    }
+
+    /**
+     * ATR bank over the columns of {@code series}, matching
+     * {@link AverageTrueRange#atrIndicator(int)} for each period.
+     */
+    public static double[][] atr(CandleSeries series, int[] periods) {
+        double[][] out = new double[periods.length][series.size()];
+        atr(series, periods, out);
+        return out;
+    }
+
+    public static void atr(CandleSeries series, int[] periods, double[][] out) {
+        int size = series.size();
+        int maxPeriod = checkShape(size, periods, out);
+        double[] high = series.highs();
+        double[] low = series.lows();
+        double[] close = series.closes();
+        int bank = periods.length;
+        double[] atr = new double[bank];
+        for (int j = 0; j < bank; j++) {
+            Arrays.fill(out[j], 0, Math.min(periods[j], size), Double.NaN);
+        }
+        int t = 1;
+        for (; t <= Math.min(maxPeriod, size - 1); t++) {
+            double tr = AverageTrueRange.trueRange(high[t], low[t], close[t - 1]);
+            for (int j = 0; j < bank; j++) {
+                int period = periods[j];
+                if (t < period) {
+                    atr[j] += tr;
+                    continue;
+                }
+                atr[j] = t == period
+                        ? (atr[j] + tr) / period
+                        : (atr[j] * (period - 1) + tr) / period;
+                out[j][t] = atr[j];
+            }
+        }
+        for (; t < size; t++) {
+            double tr = AverageTrueRange.trueRange(high[t], low[t], close[t - 1]);
+            for (int j = 0; j < bank; j++) {
+                int period = periods[j];
+                atr[j] = (atr[j] * (period - 1) + tr) / period;
+                out[j][t] = atr[j];
+            }
+        }
+    }
+
+    /**
+     * @return the largest period
+     */
+    private static int checkShape(int length, int[] periods, double[][] out) {
+        if (periods.length == 0) {
+            throw new IllegalArgumentException("At least one period is required");
+        }
+        if (out.length < periods.length) {
+            throw new IllegalArgumentException("Output has " + out.length + " rows for " + periods.length + " periods");
+        }
+        int maxPeriod = 0;
+        for (int j = 0; j < periods.length; j++) {
+            if (periods[j] < 1) {
+                throw new IllegalArgumentException("Period must be at least 1");
+            }
+            if (out[j].length < length) {
+                throw new IllegalArgumentException("Output row " + j + " length " + out[j].length + " is less than " + length);
+            }
+            maxPeriod = Math.max(maxPeriod, periods[j]);
+        }
+        return maxPeriod;
+    }
+}
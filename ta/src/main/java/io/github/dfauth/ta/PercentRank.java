@@ -0,0 +1,65 @@
+package io.github.dfauth.ta;
+
+/**
+ * Rolling percentile rank: where the latest value stands among the last
+ * {@code period} values, from {@code 0} when it is the lowest to
+ * {@code 100} when it is the highest, over a {@link RollingOrderStatistics}.
+ */
+public class PercentRank {
+
+    /**
+     * Batch percentile rank. Returns {@code values.length - period + 1}
+     * values, or empty if there is insufficient data.
+     */
+    public static double[] percentRank(double[] values, int period) {
+        return percentRankIndicator(period).apply(values, period - 1);
+    }
+
+    /**
+     * Primitive streaming percentile rank: the percentage of the other
+     * {@code period - 1} values in the window strictly below the latest.
+     * Returns {@code NaN} until {@code period} values have been seen.
+     */
+    public static DoubleUnaryIndicator percentRankIndicator(int period) {
+        if (period < 2) {
+            throw new IllegalArgumentException("Period must be at least 2");
+        }
+        return new Indicator(new RollingOrderStatistics(period));
+    }
+
+    static final class Indicator implements DoubleUnaryIndicator {
+
+        private final RollingOrderStatistics statistics;
+
+        Indicator(RollingOrderStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        public double next(double value) {
+            statistics.add(value);
+            if (!statistics.isFull()) {
+                return Double.NaN;
+            }
+            return 100.0 * statistics.countBelow(value) / (statistics.period() - 1);
+        }
+
+        @Override
+        public boolean isReady() {
+            return statistics.isFull();
+        }
+
+        /**
+         * The state of the underlying {@link RollingOrderStatistics}.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return statistics.checkpoint();
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            statistics.restore(state);
+        }
+    }
+}
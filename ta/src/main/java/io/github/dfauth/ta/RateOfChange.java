@@ -1,11 +1,9 @@
 package io.github.dfauth.ta;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
-import static java.util.Optional.empty;
-
 public class RateOfChange {
 
     /**
@@ -19,15 +17,36 @@ public class RateOfChange {
         if (prices.length <= period) {
             return new double[0];
         }
-        Function<Double, Optional<Double>> f = rocStream(period);
         double[] result = new double[prices.length - period];
-        AtomicInteger i = new AtomicInteger(0);
-        for (double price : prices) {
-            f.apply(price).ifPresent(v -> result[i.getAndIncrement()] = v);
-        }
+        roc(prices, period, result);
         return result;
     }
 
+    /**
+     * Batch ROC kernel. Writes the {@code prices.length - period} ROC values
+     * into the start of {@code out}, reading the look-back price directly
+     * from {@code prices}. Allocates nothing.
+     *
+     * @return the number of values written, 0 if there is insufficient data
+     */
+    public static int roc(double[] prices, int period, double[] out) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        int resultLength = prices.length - period;
+        if (resultLength < 1) {
+            return 0;
+        }
+        if (out.length < resultLength) {
+            throw new IllegalArgumentException("Output length " + out.length + " is less than " + resultLength);
+        }
+        for (int i = 0; i < resultLength; i++) {
+            double oldest = prices[i];
+            out[i] = (prices[i + period] - oldest) / oldest;
+        }
+        return resultLength;
+    }
+
     /**
      * Streaming ROC. Returns {@code Optional.empty()} until {@code period + 1}
      * prices have been seen, then emits:
@@ -38,16 +57,62 @@ public class RateOfChange {
      * giving the exact look-back price without a separate read call.
      */
     public static Function<Double, Optional<Double>> rocStream(int period) {
+        return rocIndicator(period).asFunction();
+    }
+
+    /**
+     * Primitive streaming ROC. Returns {@code NaN} until {@code period + 1}
+     * prices have been seen.
+     */
+    public static DoubleUnaryIndicator rocIndicator(int period) {
         if (period < 1) {
             throw new IllegalArgumentException("Period must be at least 1");
         }
-        RingBuffer<Double> ringBuffer = RingBuffer.create(new Double[period]);
-        return price -> {
-            Double oldest = ringBuffer.write(price);
-            if (!ringBuffer.isFull() || oldest == null) {
-                return empty();
+        return new Indicator(new DoubleRingBuffer(period));
+    }
+
+    static final class Indicator implements DoubleUnaryIndicator {
+
+        private final DoubleRingBuffer ringBuffer;
+        private boolean ready;
+
+        Indicator(DoubleRingBuffer ringBuffer) {
+            this.ringBuffer = ringBuffer;
+        }
+
+        @Override
+        public double next(double price) {
+            double oldest = ringBuffer.write(price);
+            // the displaced value is NaN until period + 1 prices have been written
+            ready = !Double.isNaN(oldest);
+            return ready ? (price - oldest) / oldest : Double.NaN;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        /**
+         * {@code window}: the last {@code period} prices; {@code count}: 1
+         * once ready.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return new IndicatorState("roc", ringBuffer.capacity(), ready ? 1 : 0, new double[0], ringBuffer.toArray(), List.of());
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            double[] window = state.expect("roc", ringBuffer.capacity()).getWindow();
+            if (window.length > ringBuffer.capacity()) {
+                throw new IllegalArgumentException(window.length + " values exceed period " + ringBuffer.capacity());
+            }
+            ringBuffer.clear();
+            for (double d : window) {
+                ringBuffer.write(d);
             }
-            return Optional.of((price - oldest) / oldest);
-        };
+            ready = state.getCount() == 1;
+        }
     }
 }
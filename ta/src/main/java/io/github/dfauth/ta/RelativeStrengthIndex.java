@@ -1,11 +1,8 @@
 package io.github.dfauth.ta;
 
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
-import static java.util.Optional.empty;
-
 public class RelativeStrengthIndex {
 
     /**
@@ -19,18 +16,22 @@ public class RelativeStrengthIndex {
         if (prices.length < period + 1) {
             return new double[0];
         }
-        Function<Double, Optional<Double>> f = rsiStream(period);
-        double[] result = new double[prices.length - period];
-        AtomicInteger i = new AtomicInteger(0);
-        for (double price : prices) {
-            f.apply(price).ifPresent(v -> result[i.getAndIncrement()] = v);
-        }
-        return result;
+        return rsiIndicator(period).apply(prices, period);
     }
 
     /**
      * Streaming RSI. Returns Optional.empty() until enough prices have been
      * seen to produce the first value (period + 1 prices).
+     *
+     * @see #rsiIndicator(int)
+     */
+    public static Function<Double, Optional<Double>> rsiStream(int period) {
+        return rsiIndicator(period).asFunction();
+    }
+
+    /**
+     * Primitive streaming RSI. Returns {@code NaN} until enough prices have
+     * been seen to produce the first value (period + 1 prices).
      * <p>
      * Algorithm:
      * <ol>
@@ -41,46 +42,83 @@ public class RelativeStrengthIndex {
      * </ol>
      * Special cases: avgLoss == 0 → RSI = 100; avgGain == 0 → RSI = 0.
      */
-    public static Function<Double, Optional<Double>> rsiStream(int period) {
+    public static DoubleUnaryIndicator rsiIndicator(int period) {
         if (period < 1) {
             throw new IllegalArgumentException("Period must be at least 1");
         }
-        RingBuffer<Double> gainBuffer = RingBuffer.create(new double[period]);
-        RingBuffer<Double> lossBuffer = RingBuffer.create(new double[period]);
-        double[] prev = {Double.NaN};
-        double[] avgGain = {Double.NaN};
-        double[] avgLoss = {Double.NaN};
+        return new Indicator(period);
+    }
+
+    static final class Indicator implements DoubleUnaryIndicator {
 
-        return price -> {
-            if (Double.isNaN(prev[0])) {
-                prev[0] = price;
-                return empty();
+        private final int period;
+        private double prev = Double.NaN;
+        // warm-up accumulators for the seed averages
+        private double gainSum;
+        private double lossSum;
+        private int count;
+        private double avgGain = Double.NaN;
+        private double avgLoss = Double.NaN;
+
+        Indicator(int period) {
+            this.period = period;
+        }
+
+        @Override
+        public double next(double price) {
+            if (Double.isNaN(prev)) {
+                prev = price;
+                return Double.NaN;
             }
-            double change = price - prev[0];
+            double change = price - prev;
             double gain = change > 0 ? change : 0.0;
             double loss = change < 0 ? -change : 0.0;
-            prev[0] = price;
+            prev = price;
 
-            if (Double.isNaN(avgGain[0])) {
-                // Accumulate until the seed buffers are full
-                gainBuffer.write(gain);
-                lossBuffer.write(loss);
-                if (gainBuffer.isFull()) {
-                    avgGain[0] = gainBuffer.stream().mapToDouble(Double::doubleValue).sum() / period;
-                    avgLoss[0] = lossBuffer.stream().mapToDouble(Double::doubleValue).sum() / period;
-                    return Optional.of(toRsi(avgGain[0], avgLoss[0]));
+            if (Double.isNaN(avgGain)) {
+                // Accumulate until period changes have been seen
+                gainSum += gain;
+                lossSum += loss;
+                if (++count < period) {
+                    return Double.NaN;
                 }
-                return empty();
+                avgGain = gainSum / period;
+                avgLoss = lossSum / period;
+            } else {
+                // Wilder's smoothing
+                avgGain = (avgGain * (period - 1) + gain) / period;
+                avgLoss = (avgLoss * (period - 1) + loss) / period;
             }
+            return toRsi(avgGain, avgLoss);
+        }
 
-            // Wilder's smoothing
-            avgGain[0] = (avgGain[0] * (period - 1) + gain) / period;
-            avgLoss[0] = (avgLoss[0] * (period - 1) + loss) / period;
-            return Optional.of(toRsi(avgGain[0], avgLoss[0]));
-        };
+        @Override
+        public boolean isReady() {
+            return !Double.isNaN(avgGain);
+        }
+
+        /**
+         * {@code values}: previous price, gain and loss accumulators,
+         * average gain, average loss.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return new IndicatorState("rsi", period, count, prev, gainSum, lossSum, avgGain, avgLoss);
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            state.expect("rsi", period);
+            count = state.getCount();
+            prev = state.value(0);
+            gainSum = state.value(1);
+            lossSum = state.value(2);
+            avgGain = state.value(3);
+            avgLoss = state.value(4);
+        }
     }
 
-    private static double toRsi(double avgGain, double avgLoss) {
+    static double toRsi(double avgGain, double avgLoss) {
         if (avgLoss == 0.0) return 100.0;
         if (avgGain == 0.0) return 0.0;
         double rs = avgGain / avgLoss;
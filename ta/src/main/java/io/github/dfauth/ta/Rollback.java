@@ -0,0 +1,133 @@
+package io.github.dfauth.ta;
+
+/**
+ * Bounded journal behind {@link RollbackIndicator} and
+ * {@link RollbackCandleIndicator}. Rather than checkpointing on every
+ * input, which costs a copy of any window per tick, it keeps the inputs
+ * since a base {@link IndicatorState} plus a second checkpoint {@code depth}
+ * inputs later. When {@code 2 * depth} inputs have accumulated the second
+ * checkpoint becomes the base and the older half of the journal is
+ * dropped, so between {@code depth} and {@code 2 * depth} recent inputs can
+ * always be corrected, for an amortised cost of one checkpoint per
+ * {@code depth} inputs. A correction restores the base and replays the
+ * journal, O({@code depth}).
+ * <p>
+ * Subclasses store the inputs in primitive columns.
+ */
+abstract class Rollback {
+
+    private final Checkpointable indicator;
+    private final int depth;
+    private IndicatorState base;
+    // checkpoint after the first depth inputs of the journal, null if invalidated
+    private IndicatorState mid;
+    protected int size;
+
+    Rollback(Checkpointable indicator, int depth) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("Depth must be at least 1");
+        }
+        this.indicator = indicator;
+        this.depth = depth;
+        this.base = indicator.checkpoint();
+    }
+
+    /**
+     * Feeds the input in slot {@code i} to the indicator.
+     */
+    abstract double apply(int i);
+
+    /**
+     * Moves {@code length} inputs from slot {@code from} to slot {@code to}.
+     */
+    abstract void move(int from, int to, int length);
+
+    /**
+     * Ensures the columns can hold {@code capacity} inputs.
+     */
+    abstract void ensureCapacity(int capacity);
+
+    /**
+     * @return the slot for a new latest input, after rolling the journal
+     * forward if it is full
+     */
+    int append() {
+        if (size >= 2 * depth) {
+            if (mid == null) {
+                replay();
+            }
+            base = mid;
+            move(depth, 0, size - depth);
+            size -= depth;
+            mid = null;
+        }
+        if (size == depth && mid == null) {
+            mid = indicator.checkpoint();
+        }
+        ensureCapacity(size + 1);
+        return size++;
+    }
+
+    /**
+     * @return the slot holding the input {@code ago} inputs before the latest
+     */
+    int slot(int ago) {
+        if (ago < 0 || ago >= size) {
+            throw new IllegalArgumentException("Cannot revise " + ago + " inputs ago, journal holds " + size);
+        }
+        return size - 1 - ago;
+    }
+
+    /**
+     * Opens a slot so that {@code ago} journalled inputs follow it.
+     */
+    int open(int ago) {
+        if (ago < 0 || ago > size) {
+            throw new IllegalArgumentException("Cannot insert " + ago + " inputs ago, journal holds " + size);
+        }
+        int i = size - ago;
+        ensureCapacity(size + 1);
+        move(i, i + 1, ago);
+        size++;
+        return i;
+    }
+
+    /**
+     * Restores the base checkpoint and replays the journal.
+     *
+     * @return the indicator's output for the latest input, {@code NaN} if
+     * the journal is empty
+     */
+    double replay() {
+        indicator.restore(base);
+        mid = null;
+        double last = Double.NaN;
+        for (int i = 0; i < size; i++) {
+            if (i == depth) {
+                mid = indicator.checkpoint();
+            }
+            last = apply(i);
+        }
+        return last;
+    }
+
+    /**
+     * Drops the journal and takes the indicator's current state as the base.
+     */
+    void reset() {
+        base = indicator.checkpoint();
+        mid = null;
+        size = 0;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the number of recent inputs that can currently be revised
+     */
+    public int journalled() {
+        return size;
+    }
+}
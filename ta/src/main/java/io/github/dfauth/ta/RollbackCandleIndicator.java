@@ -0,0 +1,137 @@
+package io.github.dfauth.ta;
+
+import java.util.Arrays;
+
+/**
+ * {@link CandleIndicator} counterpart of {@link RollbackIndicator}. Candles
+ * are journalled as primitive open/high/low/close columns and replayed
+ * through a flyweight, so the caller's candles are not retained.
+ */
+public class RollbackCandleIndicator extends Rollback implements CandleIndicator {
+
+    private final CandleIndicator indicator;
+    private final Replayed replayed = new Replayed();
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+
+    public RollbackCandleIndicator(CandleIndicator indicator, int depth) {
+        super(indicator, depth);
+        this.indicator = indicator;
+        this.open = new double[2 * depth];
+        this.high = new double[2 * depth];
+        this.low = new double[2 * depth];
+        this.close = new double[2 * depth];
+    }
+
+    @Override
+    public double next(Candle candle) {
+        store(append(), candle);
+        return indicator.next(candle);
+    }
+
+    /**
+     * Replaces the candle {@code ago} candles before the latest ({@code 0}
+     * being the latest) and replays from there.
+     *
+     * @return the revised output for the latest candle
+     * @throws IllegalArgumentException if the candle is no longer journalled
+     */
+    public double correct(int ago, Candle candle) {
+        store(slot(ago), candle);
+        return replay();
+    }
+
+    /**
+     * Inserts a missed candle so that {@code ago} journalled candles follow
+     * it ({@code 0} appends) and replays from there.
+     *
+     * @return the revised output for the latest candle
+     * @throws IllegalArgumentException if the position is no longer journalled
+     */
+    public double insert(int ago, Candle candle) {
+        store(open(ago), candle);
+        return replay();
+    }
+
+    private void store(int i, Candle candle) {
+        open[i] = candle.open();
+        high[i] = candle.high();
+        low[i] = candle.low();
+        close[i] = candle.close();
+    }
+
+    @Override
+    public boolean isReady() {
+        return indicator.isReady();
+    }
+
+    /**
+     * The state of the wrapped indicator; the journal is not captured.
+     */
+    @Override
+    public IndicatorState checkpoint() {
+        return indicator.checkpoint();
+    }
+
+    /**
+     * Restores the wrapped indicator and clears the journal, so only inputs
+     * after the restored state can be revised.
+     */
+    @Override
+    public void restore(IndicatorState state) {
+        indicator.restore(state);
+        reset();
+    }
+
+    @Override
+    double apply(int i) {
+        replayed.index = i;
+        return indicator.next(replayed);
+    }
+
+    @Override
+    void move(int from, int to, int length) {
+        System.arraycopy(open, from, open, to, length);
+        System.arraycopy(high, from, high, to, length);
+        System.arraycopy(low, from, low, to, length);
+        System.arraycopy(close, from, close, to, length);
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (capacity > close.length) {
+            int grown = Math.max(capacity, close.length + (close.length >> 1));
+            open = Arrays.copyOf(open, grown);
+            high = Arrays.copyOf(high, grown);
+            low = Arrays.copyOf(low, grown);
+            close = Arrays.copyOf(close, grown);
+        }
+    }
+
+    private final class Replayed implements Candle {
+
+        private int index;
+
+        @Override
+        public double open() {
+            return open[index];
+        }
+
+        @Override
+        public double high() {
+            return high[index];
+        }
+
+        @Override
+        public double low() {
+            return low[index];
+        }
+
+        @Override
+        public double close() {
+            return close[index];
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.dfauth.ta;
+
+import java.util.Arrays;
+
+/**
+ * {@link DoubleUnaryIndicator} wrapper that can revise recent inputs, e.g.
+ * a corrected close or a missed day inserted late, by rewinding to a
+ * journalled checkpoint and replaying only the tail rather than the full
+ * history. Between {@code depth} and {@code 2 * depth} of the most recent
+ * inputs can be revised; see {@link Rollback}.
+ */
+public class RollbackIndicator extends Rollback implements DoubleUnaryIndicator {
+
+    private final DoubleUnaryIndicator indicator;
+    private double[] inputs;
+
+    public RollbackIndicator(DoubleUnaryIndicator indicator, int depth) {
+        super(indicator, depth);
+        this.indicator = indicator;
+        this.inputs = new double[2 * depth];
+    }
+
+    @Override
+    public double next(double value) {
+        // append() may grow the column, so resolve the slot first
+        int i = append();
+        inputs[i] = value;
+        return indicator.next(value);
+    }
+
+    /**
+     * Replaces the input {@code ago} inputs before the latest ({@code 0}
+     * being the latest) and replays from there.
+     *
+     * @return the revised output for the latest input
+     * @throws IllegalArgumentException if the input is no longer journalled
+     */
+    public double correct(int ago, double value) {
+        inputs[slot(ago)] = value;
+        return replay();
+    }
+
+    /**
+     * Inserts a missed input so that {@code ago} journalled inputs follow
+     * it ({@code 0} appends) and replays from there.
+     *
+     * @return the revised output for the latest input
+     * @throws IllegalArgumentException if the position is no longer journalled
+     */
+    public double insert(int ago, double value) {
+        int i = open(ago);
+        inputs[i] = value;
+        return replay();
+    }
+
+    @Override
+    public boolean isReady() {
+        return indicator.isReady();
+    }
+
+    /**
+     * The state of the wrapped indicator; the journal is not captured.
+     */
+    @Override
+    public IndicatorState checkpoint() {
+        return indicator.checkpoint();
+    }
+
+    /**
+     * Restores the wrapped indicator and clears the journal, so only inputs
+     * after the restored state can be revised.
+     */
+    @Override
+    public void restore(IndicatorState state) {
+        indicator.restore(state);
+        reset();
+    }
+
+    @Override
+    double apply(int i) {
+        return indicator.next(inputs[i]);
+    }
+
+    @Override
+    void move(int from, int to, int length) {
+        System.arraycopy(inputs, from, inputs, to, length);
+    }
+
+    @Override
+    void ensureCapacity(int capacity) {
+        if (capacity > inputs.length) {
+            inputs = Arrays.copyOf(inputs, Math.max(capacity, inputs.length + (inputs.length >> 1)));
+        }
+    }
+}
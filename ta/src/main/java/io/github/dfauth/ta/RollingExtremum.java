@@ -0,0 +1,133 @@
+package io.github.dfauth.ta;
+
+import java.util.List;
+
+/**
+ * Maximum (or minimum) of the last {@code period} values in O(1) amortised
+ * per update, using a monotonic deque: candidates are kept in arrival order
+ * with values strictly decreasing (for a max), so the front is always the
+ * extreme. A new value evicts every candidate it dominates from the back,
+ * and the front is dropped once it falls out of the window.
+ * <p>
+ * The deque lives in primitive arrays sized to a power of two and addressed
+ * with a mask, as in {@link DoubleRingBuffer}. On ties the latest value is
+ * kept, so {@link #age()} counts from the most recent occurrence. Not thread
+ * safe.
+ */
+public class RollingExtremum implements Checkpointable {
+
+    private final int period;
+    private final boolean max;
+    private final double[] values;
+    private final int[] indices;
+    private final int mask;
+    private int head;
+    private int tail;
+    private int count;
+
+    private RollingExtremum(int period, boolean max) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        if (period > 1 << 30) {
+            throw new IllegalArgumentException("Period cannot exceed " + (1 << 30));
+        }
+        this.period = period;
+        this.max = max;
+        int capacity = period == 1 ? 1 : Integer.highestOneBit(period - 1) << 1;
+        this.values = new double[capacity];
+        this.indices = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public static RollingExtremum max(int period) {
+        return new RollingExtremum(period, true);
+    }
+
+    public static RollingExtremum min(int period) {
+        return new RollingExtremum(period, false);
+    }
+
+    /**
+     * Adds {@code d} to the window and returns the updated extreme.
+     */
+    public double add(double d) {
+        if (head != tail && indices[head & mask] <= count - period) {
+            head++;
+        }
+        while (head != tail && dominated(values[(tail - 1) & mask], d)) {
+            tail--;
+        }
+        values[tail & mask] = d;
+        indices[tail & mask] = count;
+        tail++;
+        count++;
+        return values[head & mask];
+    }
+
+    private boolean dominated(double candidate, double d) {
+        return max ? candidate <= d : candidate >= d;
+    }
+
+    /**
+     * @return the extreme of the values seen so far within the window, or
+     * {@code NaN} if nothing has been added
+     */
+    public double value() {
+        return head == tail ? Double.NaN : values[head & mask];
+    }
+
+    /**
+     * @return the number of updates since the extreme was added, {@code 0}
+     * if it is the latest value, or {@code -1} if nothing has been added
+     */
+    public int age() {
+        return head == tail ? -1 : count - 1 - indices[head & mask];
+    }
+
+    public int period() {
+        return period;
+    }
+
+    /**
+     * @return {@code true} once {@code period} values have been added
+     */
+    public boolean isFull() {
+        return count >= period;
+    }
+
+    /**
+     * {@code count}: values added; {@code values}: the deque's positions;
+     * {@code window}: the deque's values, front first.
+     */
+    @Override
+    public IndicatorState checkpoint() {
+        int size = tail - head;
+        double[] positions = new double[size];
+        double[] candidates = new double[size];
+        for (int i = 0; i < size; i++) {
+            positions[i] = indices[(head + i) & mask];
+            candidates[i] = values[(head + i) & mask];
+        }
+        return new IndicatorState(type(), period, count, positions, candidates, List.of());
+    }
+
+    @Override
+    public void restore(IndicatorState state) {
+        double[] candidates = state.expect(type(), period).getWindow();
+        if (candidates.length > period) {
+            throw new IllegalArgumentException(candidates.length + " candidates exceed period " + period);
+        }
+        head = 0;
+        tail = candidates.length;
+        for (int i = 0; i < candidates.length; i++) {
+            values[i] = candidates[i];
+            indices[i] = (int) state.value(i);
+        }
+        count = state.getCount();
+    }
+
+    private String type() {
+        return max ? "max" : "min";
+    }
+}
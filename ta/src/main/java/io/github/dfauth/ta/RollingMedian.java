@@ -0,0 +1,115 @@
+package io.github.dfauth.ta;
+
+import java.util.List;
+
+/**
+ * Robust rolling averages over a {@link RollingOrderStatistics}: the median
+ * of the last {@code period} values, and the median true range, a
+ * counterpart to {@link AverageTrueRange} that a single gap does not skew.
+ */
+public class RollingMedian {
+
+    /**
+     * Batch rolling median. Returns {@code values.length - period + 1}
+     * values, or empty if there is insufficient data.
+     */
+    public static double[] median(double[] values, int period) {
+        return medianIndicator(period).apply(values, period - 1);
+    }
+
+    /**
+     * Primitive streaming median. Returns {@code NaN} until {@code period}
+     * values have been seen.
+     */
+    public static DoubleUnaryIndicator medianIndicator(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        return new Indicator(new RollingOrderStatistics(period));
+    }
+
+    /**
+     * Primitive streaming median true range. As with ATR the first candle
+     * only supplies a previous close, so returns {@code NaN} until
+     * {@code period + 1} candles have been seen.
+     */
+    public static CandleIndicator medianTrueRangeIndicator(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        return new TrueRangeIndicator(new RollingOrderStatistics(period));
+    }
+
+    static final class Indicator implements DoubleUnaryIndicator {
+
+        private final RollingOrderStatistics statistics;
+
+        Indicator(RollingOrderStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        public double next(double value) {
+            statistics.add(value);
+            return statistics.median();
+        }
+
+        @Override
+        public boolean isReady() {
+            return statistics.isFull();
+        }
+
+        /**
+         * The state of the underlying {@link RollingOrderStatistics}.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return statistics.checkpoint();
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            statistics.restore(state);
+        }
+    }
+
+    static final class TrueRangeIndicator implements CandleIndicator {
+
+        private final RollingOrderStatistics statistics;
+        private double prevClose = Double.NaN;
+
+        TrueRangeIndicator(RollingOrderStatistics statistics) {
+            this.statistics = statistics;
+        }
+
+        @Override
+        public double next(Candle candle) {
+            if (!Double.isNaN(prevClose)) {
+                statistics.add(AverageTrueRange.trueRange(candle.high(), candle.low(), prevClose));
+            }
+            prevClose = candle.close();
+            return statistics.median();
+        }
+
+        @Override
+        public boolean isReady() {
+            return statistics.isFull();
+        }
+
+        /**
+         * {@code values}: previous close; {@code children}: the
+         * {@link RollingOrderStatistics} state of the true ranges.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return new IndicatorState("mtr", statistics.period(), 0, new double[]{prevClose}, new double[0], List.of(statistics.checkpoint()));
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            state.expect("mtr", statistics.period());
+            statistics.restore(state.child(0));
+            prevClose = state.value(0);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.dfauth.ta;
+
+import java.util.List;
+
+/**
+ * Order statistics of the last {@code period} values: median, quantiles and
+ * ranks in O(log period) per update, by mirroring the window into an
+ * {@link OrderStatisticTree}. The displaced value is removed and the new
+ * one inserted on each update, so no sort is ever needed.
+ */
+public class RollingOrderStatistics implements Checkpointable {
+
+    private final DoubleRingBuffer window;
+    private final OrderStatisticTree tree;
+
+    public RollingOrderStatistics(int period) {
+        this.window = new DoubleRingBuffer(period);
+        this.tree = new OrderStatisticTree(period);
+    }
+
+    public void add(double d) {
+        boolean full = window.isFull();
+        double displaced = window.write(d);
+        if (full) {
+            tree.remove(displaced);
+        }
+        tree.insert(d);
+    }
+
+    /**
+     * @return the median of the full window, or {@code NaN} until the window is full
+     */
+    public double median() {
+        return quantile(0.5);
+    }
+
+    /**
+     * Quantile {@code q} of the full window, interpolating linearly between
+     * adjacent order statistics.
+     *
+     * @return the quantile, or {@code NaN} until the window is full
+     */
+    public double quantile(double q) {
+        if (!(q >= 0.0 && q <= 1.0)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1, got " + q);
+        }
+        if (!window.isFull()) {
+            return Double.NaN;
+        }
+        double h = (window.capacity() - 1) * q;
+        int lo = (int) h;
+        double lower = tree.kth(lo);
+        return h == lo ? lower : lower + (h - lo) * (tree.kth(lo + 1) - lower);
+    }
+
+    /**
+     * @return the {@code k}th smallest value in the window, {@code 0} being the minimum
+     */
+    public double kth(int k) {
+        return tree.kth(k);
+    }
+
+    /**
+     * @return the number of values in the window strictly below {@code d}
+     */
+    public int countBelow(double d) {
+        return tree.countBelow(d);
+    }
+
+    /**
+     * @return the number of values in the window at or below {@code d}
+     */
+    public int countAtOrBelow(double d) {
+        return tree.countAtOrBelow(d);
+    }
+
+    public int period() {
+        return window.capacity();
+    }
+
+    public int size() {
+        return window.size();
+    }
+
+    public boolean isFull() {
+        return window.isFull();
+    }
+
+    /**
+     * {@code window}: the values, from which the tree is rebuilt on restore.
+     */
+    @Override
+    public IndicatorState checkpoint() {
+        return new IndicatorState("order", window.capacity(), 0, new double[0], window.toArray(), List.of());
+    }
+
+    @Override
+    public void restore(IndicatorState state) {
+        double[] values = state.expect("order", window.capacity()).getWindow();
+        window.clear();
+        tree.clear();
+        for (double value : values) {
+            add(value);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.dfauth.ta;
+
+import java.util.List;
+
+/**
+ * Ordinary least-squares line through the last {@code period} values in
+ * O(1) per update. Values are placed at x = {@code -(period - 1) .. 0}, the
+ * latest at {@code 0}, so the intercept is the fitted value at the latest
+ * point. With x fixed by position, the sums of x and x² depend only on the
+ * window size; only the sums of y, xy and y² are maintained. Shifting every
+ * x down by one as a value arrives turns {@code Σxy} into
+ * {@code Σxy - Σy}, plus {@code n} times the displaced value once full.
+ * <p>
+ * As with {@link RollingVariance}, rounding error from the running sums is
+ * bounded by recomputing them exactly from the window once every
+ * {@code period} updates. Each recompute also re-centres y on the window
+ * mean, which leaves the slope and R² unchanged but keeps {@code Σy²} from
+ * swamping the dispersion at large price levels.
+ */
+public class RollingRegression implements Checkpointable {
+
+    private final DoubleRingBuffer window;
+    // y is accumulated relative to this, the window mean at the last recompute
+    private double offset;
+    private double sy;
+    private double sxy;
+    private double syy;
+    private int sinceRecompute;
+
+    public RollingRegression(int period) {
+        if (period < 2) {
+            throw new IllegalArgumentException("Period must be at least 2");
+        }
+        this.window = new DoubleRingBuffer(period);
+    }
+
+    /**
+     * Adds {@code d} to the window and returns the updated slope, {@code NaN}
+     * until the window is full.
+     */
+    public double add(double d) {
+        double displaced = window.write(d);
+        if (++sinceRecompute >= window.capacity()) {
+            sinceRecompute = 0;
+            recompute();
+        } else if (Double.isNaN(displaced)) {
+            double y = d - offset;
+            sxy -= sy;
+            sy += y;
+            syy += y * y;
+        } else {
+            double y = d - offset;
+            double out = displaced - offset;
+            sxy += window.capacity() * out - sy;
+            sy += y - out;
+            syy += y * y - out * out;
+        }
+        return slope();
+    }
+
+    private void recompute() {
+        int size = window.size();
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            sum += window.read(i - size);
+        }
+        offset = sum / size;
+        sy = 0.0;
+        sxy = 0.0;
+        syy = 0.0;
+        for (int i = 0; i < size; i++) {
+            double y = window.read(i - size) - offset;
+            sy += y;
+            sxy += (i - size + 1) * y;
+            syy += y * y;
+        }
+    }
+
+    private static double sx(int n) {
+        return -0.5 * n * (n - 1);
+    }
+
+    private static double sxx(int n) {
+        return (n - 1) * n * (2.0 * n - 1) / 6.0;
+    }
+
+    /**
+     * {@code n·Σxx - (Σx)²}, which reduces to {@code n²(n² - 1) / 12}.
+     */
+    private static double xDispersion(int n) {
+        return (double) n * n * ((double) n * n - 1) / 12.0;
+    }
+
+    private double covariance(int n) {
+        return n * sxy - sx(n) * sy;
+    }
+
+    /**
+     * @return the change in the fitted value per step, or {@code NaN} until
+     * the window is full
+     */
+    public double slope() {
+        if (!window.isFull()) {
+            return Double.NaN;
+        }
+        int n = window.capacity();
+        return covariance(n) / xDispersion(n);
+    }
+
+    /**
+     * @return the fitted value at the latest point, or {@code NaN} until the
+     * window is full
+     */
+    public double intercept() {
+        if (!window.isFull()) {
+            return Double.NaN;
+        }
+        int n = window.capacity();
+        return offset + (sy - slope() * sx(n)) / n;
+    }
+
+    /**
+     * @return the coefficient of determination in {@code [0, 1]}, {@code 0}
+     * when the window has no dispersion, or {@code NaN} until the window is
+     * full
+     */
+    public double rSquared() {
+        if (!window.isFull()) {
+            return Double.NaN;
+        }
+        int n = window.capacity();
+        double yDispersion = n * syy - sy * sy;
+        if (yDispersion <= 0.0) {
+            return 0.0;
+        }
+        double covariance = covariance(n);
+        return Math.min(1.0, covariance * covariance / (xDispersion(n) * yDispersion));
+    }
+
+    public int period() {
+        return window.capacity();
+    }
+
+    public boolean isFull() {
+        return window.isFull();
+    }
+
+    /**
+     * {@code count}: updates since the last exact recompute; {@code values}:
+     * the offset and the running sums of y, xy and y²; {@code window}: the
+     * values.
+     */
+    @Override
+    public IndicatorState checkpoint() {
+        return new IndicatorState("regression", window.capacity(), sinceRecompute, new double[]{offset, sy, sxy, syy}, window.toArray(), List.of());
+    }
+
+    @Override
+    public void restore(IndicatorState state) {
+        double[] values = state.expect("regression", window.capacity()).getWindow();
+        window.clear();
+        for (double value : values) {
+            window.write(value);
+        }
+        offset = state.value(0);
+        sy = state.value(1);
+        sxy = state.value(2);
+        syy = state.value(3);
+        sinceRecompute = state.getCount();
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.dfauth.ta;
+
+import java.util.List;
+
+/**
+ * Sum of the last {@code period} values in O(1) per update: the value
+ * displaced from the window is subtracted and the new value added.
+ * <p>
+ * Rounding error from the repeated add/subtract accumulates, so the sum is
+ * recomputed exactly from the window once every {@code period} updates,
+ * which keeps the amortised cost O(1) while bounding drift to what one
+ * window's worth of updates can introduce.
+ */
+public class RollingSum implements Checkpointable {
+
+    private final DoubleRingBuffer window;
+    private double sum;
+    private int sinceRecompute;
+
+    public RollingSum(int period) {
+        this.window = new DoubleRingBuffer(period);
+    }
+
+    /**
+     * Adds {@code d} to the window and returns the updated sum.
+     */
+    public double add(double d) {
+        double displaced = window.write(d);
+        if (++sinceRecompute >= window.capacity()) {
+            sinceRecompute = 0;
+            sum = window.sum();
+        } else {
+            sum += Double.isNaN(displaced) ? d : d - displaced;
+        }
+        return sum;
+    }
+
+    public double sum() {
+        return sum;
+    }
+
+    /**
+     * @return the mean of the full window, or {@code NaN} until the window is full
+     */
+    public double mean() {
+        return window.isFull() ? sum / window.capacity() : Double.NaN;
+    }
+
+    /**
+     * {@code count}: updates since the last exact recompute; {@code values}:
+     * the running sum; {@code window}: the summed values. Both are captured
+     * so a restored sum drifts exactly as the original would have.
+     */
+    @Override
+    public IndicatorState checkpoint() {
+        return new IndicatorState("sum", window.capacity(), sinceRecompute, new double[]{sum}, window.toArray(), List.of());
+    }
+
+    @Override
+    public void restore(IndicatorState state) {
+        double[] values = state.expect("sum", window.capacity()).getWindow();
+        window.clear();
+        for (double value : values) {
+            window.write(value);
+        }
+        sum = state.value(0);
+        sinceRecompute = state.getCount();
+    }
+
+    public int period() {
+        return window.capacity();
+    }
+
+    public boolean isFull() {
+        return window.isFull();
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.dfauth.ta;
+
+import java.util.List;
+
+/**
+ * Mean, variance and standard deviation of the last {@code period} values
+ * in O(1) per update, using Welford's algorithm. While the window fills,
+ * each value is added with the usual Welford step; once full, the
+ * displaced value is removed and the new one added in a single combined
+ * update of the mean and the sum of squared deviations, {@code m2}.
+ * <p>
+ * As with {@link RollingSum}, rounding error from the add/remove updates is
+ * bounded by recomputing mean and {@code m2} exactly from the window once
+ * every {@code period} updates.
+ */
+public class RollingVariance implements Checkpointable {
+
+    private final DoubleRingBuffer window;
+    private double mean;
+    private double m2;
+    private int sinceRecompute;
+
+    public RollingVariance(int period) {
+        this.window = new DoubleRingBuffer(period);
+    }
+
+    /**
+     * Adds {@code d} to the window and returns the updated mean.
+     */
+    public double add(double d) {
+        double displaced = window.write(d);
+        if (++sinceRecompute >= window.capacity()) {
+            sinceRecompute = 0;
+            recompute();
+        } else if (Double.isNaN(displaced)) {
+            double delta = d - mean;
+            mean += delta / window.size();
+            m2 += delta * (d - mean);
+        } else {
+            double prevMean = mean;
+            mean += (d - displaced) / window.capacity();
+            m2 += (d - displaced) * (d - mean + displaced - prevMean);
+            if (m2 < 0.0) {
+                m2 = 0.0;
+            }
+        }
+        return mean;
+    }
+
+    private void recompute() {
+        int size = window.size();
+        double sum = 0.0;
+        for (int i = 0; i < size; i++) {
+            sum += window.read(i - size);
+        }
+        mean = sum / size;
+        m2 = 0.0;
+        for (int i = 0; i < size; i++) {
+            double deviation = window.read(i - size) - mean;
+            m2 += deviation * deviation;
+        }
+    }
+
+    /**
+     * @return the mean of the full window, or {@code NaN} until the window is full
+     */
+    public double mean() {
+        return window.isFull() ? mean : Double.NaN;
+    }
+
+    /**
+     * @return the population variance of the full window, or {@code NaN}
+     * until the window is full
+     */
+    public double variance() {
+        return window.isFull() ? m2 / window.capacity() : Double.NaN;
+    }
+
+    /**
+     * @return the sample (Bessel-corrected) variance of the full window, or
+     * {@code NaN} until the window is full or if the period is 1
+     */
+    public double sampleVariance() {
+        return window.isFull() && window.capacity() > 1 ? m2 / (window.capacity() - 1) : Double.NaN;
+    }
+
+    /**
+     * @return the population standard deviation of the full window, or
+     * {@code NaN} until the window is full
+     */
+    public double stddev() {
+        return Math.sqrt(variance());
+    }
+
+    public int period() {
+        return window.capacity();
+    }
+
+    public boolean isFull() {
+        return window.isFull();
+    }
+
+    /**
+     * {@code count}: updates since the last exact recompute; {@code values}:
+     * the running mean and {@code m2}; {@code window}: the values.
+     */
+    @Override
+    public IndicatorState checkpoint() {
+        return new IndicatorState("variance", window.capacity(), sinceRecompute, new double[]{mean, m2}, window.toArray(), List.of());
+    }
+
+    @Override
+    public void restore(IndicatorState state) {
+        double[] values = state.expect("variance", window.capacity()).getWindow();
+        window.clear();
+        for (double value : values) {
+            window.write(value);
+        }
+        mean = state.value(0);
+        m2 = state.value(1);
+        sinceRecompute = state.getCount();
+    }
+}
@@ -0,0 +1,226 @@
+package io.github.dfauth.ta;
+
+import java.util.Arrays;
+
+/**
+ * Scalar {@link MultiSeriesKernels}, also used by
+ * {@link VectorMultiSeriesKernels} for the lanes left over after the last
+ * full vector. Each kernel walks the time-major arrays in memory order, time
+ * outer and series inner over the lane range {@code [from, to)}, holding each
+ * series' running state in a column indexed by lane, as
+ * {@link ParameterSweep} does across periods.
+ */
+class ScalarMultiSeriesKernels implements MultiSeriesKernels {
+
+    static final ScalarMultiSeriesKernels INSTANCE = new ScalarMultiSeriesKernels();
+
+    @Override
+    public void ema(double[] in, int lanes, int period, double[] out) {
+        checkShape(in, lanes, period, out);
+        Arrays.fill(out, 0, in.length, Double.NaN);
+        ema(in, lanes, 0, lanes, period, out);
+    }
+
+    @Override
+    public void sma(double[] in, int lanes, int period, double[] out) {
+        checkShape(in, lanes, period, out);
+        Arrays.fill(out, 0, in.length, Double.NaN);
+        sma(in, lanes, 0, lanes, period, out);
+    }
+
+    @Override
+    public void wilder(double[] in, int lanes, int period, double[] out) {
+        checkShape(in, lanes, period, out);
+        Arrays.fill(out, 0, in.length, Double.NaN);
+        wilder(in, lanes, 0, lanes, period, out);
+    }
+
+    @Override
+    public void rsi(double[] in, int lanes, int period, double[] out) {
+        checkShape(in, lanes, period, out);
+        Arrays.fill(out, 0, in.length, Double.NaN);
+        rsi(in, lanes, 0, lanes, period, out);
+    }
+
+    @Override
+    public void atr(double[] high, double[] low, double[] close, int lanes, int period, double[] out) {
+        checkShape(close, lanes, period, out);
+        if (high.length != close.length || low.length != close.length) {
+            throw new IllegalArgumentException("high, low and close must be the same length");
+        }
+        Arrays.fill(out, 0, close.length, Double.NaN);
+        atr(high, low, close, lanes, 0, lanes, period, out);
+    }
+
+    void ema(double[] in, int lanes, int from, int to, int period, double[] out) {
+        int times = in.length / lanes;
+        if (times < period) {
+            return;
+        }
+        int width = to - from;
+        double multiplier = 2.0 / (period + 1);
+        double[] prev = new double[width];
+        for (int t = 0; t < period; t++) {
+            int base = t * lanes + from;
+            for (int j = 0; j < width; j++) {
+                prev[j] += in[base + j];
+            }
+        }
+        int seeded = (period - 1) * lanes + from;
+        for (int j = 0; j < width; j++) {
+            prev[j] /= period;
+            out[seeded + j] = prev[j];
+        }
+        for (int t = period; t < times; t++) {
+            int base = t * lanes + from;
+            for (int j = 0; j < width; j++) {
+                prev[j] = ExponentialMovingAverage.calculate(multiplier, in[base + j], prev[j]);
+                out[base + j] = prev[j];
+            }
+        }
+    }
+
+    void sma(double[] in, int lanes, int from, int to, int period, double[] out) {
+        int times = in.length / lanes;
+        if (times < period) {
+            return;
+        }
+        int width = to - from;
+        double[] sum = new double[width];
+        for (int t = 0; t < period; t++) {
+            int base = t * lanes + from;
+            for (int j = 0; j < width; j++) {
+                sum[j] += in[base + j];
+            }
+        }
+        int seeded = (period - 1) * lanes + from;
+        for (int j = 0; j < width; j++) {
+            out[seeded + j] = sum[j] / period;
+        }
+        for (int t = period; t < times; t++) {
+            int base = t * lanes + from;
+            if ((t - period + 1) % period == 0) {
+                // exact recompute once per period to bound drift
+                Arrays.fill(sum, 0.0);
+                for (int k = t - period + 1; k <= t; k++) {
+                    int row = k * lanes + from;
+                    for (int j = 0; j < width; j++) {
+                        sum[j] += in[row + j];
+                    }
+                }
+            } else {
+                int dropped = (t - period) * lanes + from;
+                for (int j = 0; j < width; j++) {
+                    sum[j] += in[base + j] - in[dropped + j];
+                }
+            }
+            for (int j = 0; j < width; j++) {
+                out[base + j] = sum[j] / period;
+            }
+        }
+    }
+
+    void wilder(double[] in, int lanes, int from, int to, int period, double[] out) {
+        int times = in.length / lanes;
+        if (times < period) {
+            return;
+        }
+        int width = to - from;
+        double[] avg = new double[width];
+        for (int t = 0; t < period; t++) {
+            int base = t * lanes + from;
+            for (int j = 0; j < width; j++) {
+                avg[j] += in[base + j];
+            }
+        }
+        int seeded = (period - 1) * lanes + from;
+        for (int j = 0; j < width; j++) {
+            avg[j] /= period;
+            out[seeded + j] = avg[j];
+        }
+        for (int t = period; t < times; t++) {
+            int base = t * lanes + from;
+            for (int j = 0; j < width; j++) {
+                avg[j] = (avg[j] * (period - 1) + in[base + j]) / period;
+                out[base + j] = avg[j];
+            }
+        }
+    }
+
+    void rsi(double[] in, int lanes, int from, int to, int period, double[] out) {
+        int times = in.length / lanes;
+        if (times <= period) {
+            return;
+        }
+        int width = to - from;
+        double[] avgGain = new double[width];
+        double[] avgLoss = new double[width];
+        for (int t = 1; t <= period; t++) {
+            int base = t * lanes + from;
+            for (int j = 0; j < width; j++) {
+                double change = in[base + j] - in[base - lanes + j];
+                avgGain[j] += change > 0 ? change : 0.0;
+                avgLoss[j] += change < 0 ? -change : 0.0;
+            }
+        }
+        int seeded = period * lanes + from;
+        for (int j = 0; j < width; j++) {
+            avgGain[j] /= period;
+            avgLoss[j] /= period;
+            out[seeded + j] = RelativeStrengthIndex.toRsi(avgGain[j], avgLoss[j]);
+        }
+        for (int t = period + 1; t < times; t++) {
+            int base = t * lanes + from;
+            for (int j = 0; j < width; j++) {
+                double change = in[base + j] - in[base - lanes + j];
+                avgGain[j] = (avgGain[j] * (period - 1) + (change > 0 ? change : 0.0)) / period;
+                avgLoss[j] = (avgLoss[j] * (period - 1) + (change < 0 ? -change : 0.0)) / period;
+                out[base + j] = RelativeStrengthIndex.toRsi(avgGain[j], avgLoss[j]);
+            }
+        }
+    }
+
+    void atr(double[] high, double[] low, double[] close, int lanes, int from, int to, int period, double[] out) {
+        int times = close.length / lanes;
+        if (times <= period) {
+            return;
+        }
+        int width = to - from;
+        double[] atr = new double[width];
+        for (int t = 1; t <= period; t++) {
+            int base = t * lanes + from;
+            for (int j = 0; j < width; j++) {
+                int i = base + j;
+                atr[j] += AverageTrueRange.trueRange(high[i], low[i], close[i - lanes]);
+            }
+        }
+        int seeded = period * lanes + from;
+        for (int j = 0; j < width; j++) {
+            atr[j] /= period;
+            out[seeded + j] = atr[j];
+        }
+        for (int t = period + 1; t < times; t++) {
+            int base = t * lanes + from;
+            for (int j = 0; j < width; j++) {
+                int i = base + j;
+                atr[j] = (atr[j] * (period - 1) + AverageTrueRange.trueRange(high[i], low[i], close[i - lanes])) / period;
+                out[i] = atr[j];
+            }
+        }
+    }
+
+    static void checkShape(double[] in, int lanes, int period, double[] out) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        if (lanes < 1) {
+            throw new IllegalArgumentException("Lanes must be at least 1");
+        }
+        if (in.length % lanes != 0) {
+            throw new IllegalArgumentException("Input length " + in.length + " is not a multiple of " + lanes + " lanes");
+        }
+        if (out.length < in.length) {
+            throw new IllegalArgumentException("Output length " + out.length + " is less than input length " + in.length);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.dfauth.ta;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Runs a per-series computation across many series (e.g. every code in a
+ * market) on a {@link ForkJoinPool}. The series are split recursively into
+ * ranges so idle workers steal from busy ones, and each result is written
+ * to its own slot of a preallocated {@code double[]}, so workers share
+ * nothing but the output array.
+ * <p>
+ * The spec must be safe to call concurrently; the usual form,
+ * {@link #last(Supplier)}, creates a fresh indicator per series.
+ */
+public class ScanEngine {
+
+    private static final ScanEngine COMMON = new ScanEngine(ForkJoinPool.commonPool());
+
+    private final ForkJoinPool pool;
+
+    public ScanEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return an engine on the common pool
+     */
+    public static ScanEngine common() {
+        return COMMON;
+    }
+
+    /**
+     * Spec feeding every value of a series through a fresh indicator and
+     * returning the last output, {@code NaN} if it never warmed up.
+     */
+    public static ToDoubleFunction<double[]> last(Supplier<DoubleUnaryIndicator> factory) {
+        return values -> {
+            DoubleUnaryIndicator indicator = factory.get();
+            double last = Double.NaN;
+            for (double value : values) {
+                last = indicator.next(value);
+            }
+            return last;
+        };
+    }
+
+    /**
+     * Spec feeding every candle of a series through a fresh indicator, via a
+     * single cursor, and returning the last output, {@code NaN} if it never
+     * warmed up.
+     */
+    public static ToDoubleFunction<CandleSeries> lastCandle(Supplier<CandleIndicator> factory) {
+        return series -> {
+            CandleIndicator indicator = factory.get();
+            double last = Double.NaN;
+            CandleSeries.Cursor cursor = series.cursor();
+            while (cursor.next()) {
+                last = indicator.next(cursor);
+            }
+            return last;
+        };
+    }
+
+    /**
+     * Applies {@code spec} to every series, keeping the map's iteration order.
+     */
+    public <K, T> ScanResult<K> scan(Map<K, T> series, ToDoubleFunction<? super T> spec) {
+        List<K> keys = new ArrayList<>(series.keySet());
+        List<T> inputs = new ArrayList<>(series.values());
+        return new ScanResult<>(keys, scan(inputs, spec, new double[inputs.size()]));
+    }
+
+    /**
+     * Applies {@code spec} to every input, writing the result for
+     * {@code inputs.get(i)} to {@code out[i]}.
+     *
+     * @return {@code out}
+     */
+    public <T> double[] scan(List<T> inputs, ToDoubleFunction<? super T> spec, double[] out) {
+        if (out.length < inputs.size()) {
+            throw new IllegalArgumentException("Output length " + out.length + " is less than " + inputs.size() + " inputs");
+        }
+        if (inputs.isEmpty()) {
+            return out;
+        }
+        // a few ranges per worker leaves room to steal from a slow one
+        int grain = Math.max(1, inputs.size() / (pool.getParallelism() * 4));
+        pool.invoke(new ScanTask<>(inputs, spec, out, 0, inputs.size(), grain));
+        return out;
+    }
+
+    private static final class ScanTask<T> extends RecursiveAction {
+
+        private final List<T> inputs;
+        private final ToDoubleFunction<? super T> spec;
+        private final double[] out;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        ScanTask(List<T> inputs, ToDoubleFunction<? super T> spec, double[] out, int from, int to, int grain) {
+            this.inputs = inputs;
+            this.spec = spec;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    out[i] = spec.applyAsDouble(inputs.get(i));
+                }
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ScanTask<>(inputs, spec, out, from, mid, grain),
+                        new ScanTask<>(inputs, spec, out, mid, to, grain));
+            }
+        }
+    }
+
+    /**
+     * Per-key results of a scan, in the order the keys were supplied.
+     */
+    public static final class ScanResult<K> {
+
+        private final List<K> keys;
+        private final double[] values;
+
+        ScanResult(List<K> keys, double[] values) {
+            this.keys = keys;
+            this.values = values;
+        }
+
+        public int size() {
+            return keys.size();
+        }
+
+        public K key(int i) {
+            return keys.get(i);
+        }
+
+        public double value(int i) {
+            return values[i];
+        }
+
+        public List<K> keys() {
+            return keys;
+        }
+
+        public double[] values() {
+            return values;
+        }
+
+        public void forEach(ObjDoubleConsumer<K> consumer) {
+            for (int i = 0; i < keys.size(); i++) {
+                consumer.accept(keys.get(i), values[i]);
+            }
+        }
+
+        public Map<K, Double> toMap() {
+            Map<K, Double> map = new LinkedHashMap<>();
+            forEach(map::put);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package io.github.dfauth.ta;
+
+import io.github.dfauth.ta.IndicatorGraph.Node;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates declarative conditions over {@link IndicatorGraph} outputs (and
+ * optionally {@link TrendState} transitions) one candle at a time, firing a
+ * {@link SignalListener} only on the candle where a condition flips.
+ * <p>
+ * Each comparison keeps a single tri-state per condition: which side of its
+ * reference the value was last strictly on, or unknown before its inputs
+ * are ready. A tick where the two are equal leaves the side unchanged, so
+ * touching a level and backing off is not a cross, and nothing fires on the
+ * first tick a condition becomes known. Evaluation is O(1) per condition
+ * per candle.
+ *
+ * <pre>{@code
+ * SignalEngine.Builder b = SignalEngine.builder();
+ * IndicatorGraph.Builder g = b.graph();
+ * b.crossAbove("ema8>ema21", g.ema(g.close(), 8), g.ema(g.close(), 21));
+ * b.below("rsi<30", g.rsi(g.close(), 14), 30.0);
+ * b.trendTransition("bull", TrendState.EARLY_BULL, TrendState.BULL);
+ * SignalEngine engine = b.build((name, tick) -> alert(code, name));
+ * }</pre>
+ */
+public class SignalEngine {
+
+    @FunctionalInterface
+    public interface SignalListener {
+        /**
+         * @param tick zero-based index of the candle on which {@code name} fired
+         */
+        void onSignal(String name, int tick);
+    }
+
+    private static final byte UNKNOWN = 0;
+    private static final byte ABOVE = 1;
+    private static final byte BELOW = -1;
+
+    private final IndicatorGraph graph;
+    private final TrendEngine trend;
+    private final Comparison[] comparisons;
+    private final Transition[] transitions;
+    private final byte[] sides;
+    private final SignalListener listener;
+    private TrendState trendState;
+    private int tick = -1;
+
+    private SignalEngine(Builder builder, SignalListener listener) {
+        this.graph = builder.graph.build();
+        this.comparisons = builder.comparisons.toArray(Comparison[]::new);
+        this.transitions = builder.transitions.toArray(Transition[]::new);
+        this.trend = transitions.length == 0 ? null : new TrendEngine(builder.fastPeriod, builder.slowPeriod, builder.longPeriod);
+        this.sides = new byte[comparisons.length];
+        this.listener = listener;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Advances every indicator and condition by one candle.
+     *
+     * @return the number of signals fired on this candle
+     */
+    public int next(Candle candle) {
+        tick++;
+        graph.next(candle);
+        int fired = 0;
+        for (int i = 0; i < comparisons.length; i++) {
+            Comparison c = comparisons[i];
+            byte side = c.side(graph);
+            if (side == UNKNOWN) {
+                continue;
+            }
+            byte prev = sides[i];
+            sides[i] = side;
+            if (prev != UNKNOWN && prev != side && side == c.target) {
+                listener.onSignal(c.name, tick);
+                fired++;
+            }
+        }
+        if (trend != null && trend.next(candle.close())) {
+            TrendState prev = trendState;
+            trendState = trend.trendState();
+            if (prev != null && prev != trendState) {
+                for (Transition t : transitions) {
+                    if ((t.from == null || t.from == prev) && (t.to == null || t.to == trendState)) {
+                        listener.onSignal(t.name, tick);
+                        fired++;
+                    }
+                }
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * @return the indicator values behind the conditions
+     */
+    public IndicatorGraph graph() {
+        return graph;
+    }
+
+    private record Comparison(String name, Node value, Node reference, double threshold, byte target) {
+        byte side(IndicatorGraph graph) {
+            if (!graph.isReady(value) || (reference != null && !graph.isReady(reference))) {
+                return UNKNOWN;
+            }
+            double v = graph.value(value);
+            double r = reference == null ? threshold : graph.value(reference);
+            return v > r ? ABOVE : v < r ? BELOW : UNKNOWN;
+        }
+    }
+
+    private record Transition(String name, TrendState from, TrendState to) {}
+
+    public static final class Builder {
+
+        private final IndicatorGraph.Builder graph = IndicatorGraph.builder();
+        private final List<Comparison> comparisons = new ArrayList<>();
+        private final List<Transition> transitions = new ArrayList<>();
+        private int fastPeriod = 8;
+        private int slowPeriod = 21;
+        private int longPeriod = 200;
+
+        private Builder() {
+        }
+
+        /**
+         * @return the graph on which to declare the nodes conditions refer to
+         */
+        public IndicatorGraph.Builder graph() {
+            return graph;
+        }
+
+        /**
+         * Fires when {@code fast} moves from below {@code slow} to above it.
+         */
+        public Builder crossAbove(String name, Node fast, Node slow) {
+            graph.check(fast);
+            graph.check(slow);
+            comparisons.add(new Comparison(name, fast, slow, Double.NaN, ABOVE));
+            return this;
+        }
+
+        /**
+         * Fires when {@code fast} moves from above {@code slow} to below it.
+         */
+        public Builder crossBelow(String name, Node fast, Node slow) {
+            graph.check(fast);
+            graph.check(slow);
+            comparisons.add(new Comparison(name, fast, slow, Double.NaN, BELOW));
+            return this;
+        }
+
+        /**
+         * Fires when {@code value} rises from below {@code threshold} to above it.
+         */
+        public Builder above(String name, Node value, double threshold) {
+            graph.check(value);
+            comparisons.add(new Comparison(name, value, null, threshold, ABOVE));
+            return this;
+        }
+
+        /**
+         * Fires when {@code value} drops from above {@code threshold} to below it.
+         */
+        public Builder below(String name, Node value, double threshold) {
+            graph.check(value);
+            comparisons.add(new Comparison(name, value, null, threshold, BELOW));
+            return this;
+        }
+
+        /**
+         * Periods of the {@link TrendEngine} behind
+         * {@link #trendTransition}; 8, 21 and 200 unless set.
+         */
+        public Builder trendPeriods(int fastPeriod, int slowPeriod, int longPeriod) {
+            TrendEngine.validatePeriods(fastPeriod, slowPeriod, longPeriod);
+            this.fastPeriod = fastPeriod;
+            this.slowPeriod = slowPeriod;
+            this.longPeriod = longPeriod;
+            return this;
+        }
+
+        /**
+         * Fires when the trend state changes from {@code from} to {@code to};
+         * {@code null} matches any state.
+         */
+        public Builder trendTransition(String name, TrendState from, TrendState to) {
+            transitions.add(new Transition(name, from, to));
+            return this;
+        }
+
+        /**
+         * Builds an engine with fresh state; the builder may be reused, e.g.
+         * one engine per security.
+         */
+        public SignalEngine build(SignalListener listener) {
+            return new SignalEngine(this, listener);
+        }
+    }
+}
@@ -2,10 +2,10 @@ package io.github.dfauth.ta;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static java.util.Optional.empty;
@@ -13,7 +13,7 @@ import static java.util.Optional.empty;
 @RequiredArgsConstructor
 public class SimpleMovingAverage implements Function<Double, Optional<Double>> {
 
-    private final RingBuffer<Double> ringBuffer;
+    private final RollingSum rollingSum;
 
     public static double[] sma(double[] prices, int period) {
         if (period < 1) {
@@ -22,46 +22,121 @@ public class SimpleMovingAverage implements Function<Double, Optional<Double>> {
         if (prices.length < period) {
             return new double[0];
         }
-        SimpleMovingAverage sma = new SimpleMovingAverage(RingBuffer.create(new double[period]));
         double[] result = new double[prices.length - period + 1];
-        AtomicInteger i = new AtomicInteger(0);
-        for(double price : prices) {
-            sma.apply(price).ifPresent(d -> result[i.getAndIncrement()] = d);
-        }
+        sma(prices, period, result);
         return result;
     }
 
+    /**
+     * Batch SMA kernel. Writes the {@code prices.length - period + 1} SMA
+     * values into the start of {@code out} using a running sum, recomputed
+     * exactly once per {@code period} values to bound rounding drift.
+     * Allocates nothing, so {@code out} can be reused across securities.
+     *
+     * @return the number of values written, 0 if there is insufficient data
+     */
+    public static int sma(double[] prices, int period, double[] out) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        int resultLength = prices.length - period + 1;
+        if (resultLength < 1) {
+            return 0;
+        }
+        if (out.length < resultLength) {
+            throw new IllegalArgumentException("Output length " + out.length + " is less than " + resultLength);
+        }
+        double sum = 0.0;
+        for (int i = 0; i < period; i++) {
+            sum += prices[i];
+        }
+        out[0] = sum / period;
+        for (int i = 1, sinceRecompute = 0; i < resultLength; i++) {
+            if (++sinceRecompute == period) {
+                sinceRecompute = 0;
+                sum = 0.0;
+                for (int j = i; j < i + period; j++) {
+                    sum += prices[j];
+                }
+            } else {
+                sum += prices[i + period - 1] - prices[i - 1];
+            }
+            out[i] = sum / period;
+        }
+        return resultLength;
+    }
+
     public static double sma(double[] prices) {
         return sma(prices, prices.length)[0];
     }
 
     public static Function<Double, Optional<Double>> sma(int period) {
-        RingBuffer<Double> ringbuffer = RingBuffer.create(new double[period]);
-        return d -> {
-            ringbuffer.write(d);
-            return ringbuffer.isFull() ? Optional.ofNullable(ringbuffer.stream().mapToDouble(Double::doubleValue).sum() / period) : empty();
-        };
+        return smaIndicator(period).asFunction();
+    }
+
+    /**
+     * Primitive streaming SMA over a {@link RollingSum}. Returns {@code NaN}
+     * until {@code period} values have been seen.
+     */
+    public static DoubleUnaryIndicator smaIndicator(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        return new Indicator(new RollingSum(period));
     }
 
     public static Function<Double, List<Double>> sma(int period, int window) {
         if(period > window) {
             throw new IllegalArgumentException("period cannot exceed window size");
         }
-        RingBuffer<Double> ringbuffer = RingBuffer.create(new double[period]);
-        RingBuffer<Double> windowbuffer = RingBuffer.create(new double[window-period]);
+        RollingSum rollingSum = new RollingSum(period);
+        DoubleRingBuffer windowbuffer = new DoubleRingBuffer(window-period);
         return d -> {
-            ringbuffer.write(d);
-            if(ringbuffer.isFull()) {
-                windowbuffer.write(ringbuffer.stream().mapToDouble(Double::doubleValue).sum() / period);
-                return windowbuffer.stream().toList();
+            rollingSum.add(d);
+            if(rollingSum.isFull()) {
+                windowbuffer.write(rollingSum.mean());
+                return Arrays.stream(windowbuffer.toArray()).boxed().toList();
             } else {
                 return Collections.emptyList();
             }
         };
     }
 
+    static final class Indicator implements DoubleUnaryIndicator {
+
+        private final RollingSum rollingSum;
+
+        Indicator(RollingSum rollingSum) {
+            this.rollingSum = rollingSum;
+        }
+
+        @Override
+        public double next(double d) {
+            rollingSum.add(d);
+            return rollingSum.mean();
+        }
+
+        @Override
+        public boolean isReady() {
+            return rollingSum.isFull();
+        }
+
+        /**
+         * The state of the underlying {@link RollingSum}.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return rollingSum.checkpoint();
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            rollingSum.restore(state);
+        }
+    }
+
     public Optional<Double> apply(Double d) {
-        ringBuffer.write(d);
-        return ringBuffer.stream().filter(d1 -> ringBuffer.isFull()).reduce(Double::sum).map(d2 -> d2 / ringBuffer.capacity());
+        rollingSum.add(d);
+        return rollingSum.isFull() ? Optional.of(rollingSum.mean()) : empty();
     }
 }
@@ -0,0 +1,135 @@
+package io.github.dfauth.ta;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Builds time bars from raw trades (price, size, timestamp) for intraday
+ * data. Bars are aligned to multiples of the interval since the epoch, so
+ * 5-minute bars start on :00, :05, ... UTC. Intervals with no trades
+ * produce no bar. As with {@link CandleResampler}, the bar in progress is
+ * exposed through this resampler's {@link Candle} methods and completed
+ * bars are pushed to a {@link BarListener}; nothing is allocated per tick.
+ */
+public class TickResampler implements Candle {
+
+    @FunctionalInterface
+    public interface BarListener {
+        /**
+         * @param startMillis start of the bar's interval, in epoch millis
+         */
+        void onBar(long startMillis, double open, double high, double low, double close, double volume, int ticks);
+    }
+
+    private final long intervalMillis;
+    private final BarListener listener;
+
+    private long start;
+    private long lastMillis = Long.MIN_VALUE;
+    private int ticks;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private double volume;
+
+    public TickResampler(Duration interval, BarListener listener) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive, got " + interval);
+        }
+        this.intervalMillis = interval.toMillis();
+        if (intervalMillis == 0) {
+            throw new IllegalArgumentException("Interval must be at least 1ms, got " + interval);
+        }
+        this.listener = listener;
+    }
+
+    public boolean next(Instant timestamp, double price, double size) {
+        return next(timestamp.toEpochMilli(), price, size);
+    }
+
+    /**
+     * Adds a trade, which must not be timestamped before the previous one.
+     *
+     * @return {@code true} if a bar was completed and emitted
+     */
+    public boolean next(long epochMillis, double price, double size) {
+        if (epochMillis < lastMillis) {
+            throw new IllegalArgumentException("Ticks must be added in time order: " + epochMillis + " is before " + lastMillis);
+        }
+        lastMillis = epochMillis;
+        boolean emitted = false;
+        if (ticks > 0 && epochMillis >= start + intervalMillis) {
+            emitted = flush();
+        }
+        if (ticks == 0) {
+            start = epochMillis - Math.floorMod(epochMillis, intervalMillis);
+            open = price;
+            high = price;
+            low = price;
+            volume = size;
+        } else {
+            high = Math.max(high, price);
+            low = Math.min(low, price);
+            volume += size;
+        }
+        close = price;
+        ticks++;
+        return emitted;
+    }
+
+    /**
+     * Emits the bar in progress, if any, e.g. at the close of the session.
+     *
+     * @return {@code true} if a bar was emitted
+     */
+    public boolean flush() {
+        if (ticks == 0) {
+            return false;
+        }
+        int n = ticks;
+        ticks = 0;
+        listener.onBar(start, open, high, low, close, volume, n);
+        return true;
+    }
+
+    /**
+     * @return {@code true} if a bar is in progress, in which case the
+     * {@link Candle} methods describe it
+     */
+    public boolean isOpen() {
+        return ticks > 0;
+    }
+
+    public int ticks() {
+        return ticks;
+    }
+
+    public long startMillis() {
+        return start;
+    }
+
+    @Override
+    public double open() {
+        return open;
+    }
+
+    @Override
+    public double high() {
+        return high;
+    }
+
+    @Override
+    public double low() {
+        return low;
+    }
+
+    @Override
+    public double close() {
+        return close;
+    }
+
+    public double volume() {
+        return volume;
+    }
+}
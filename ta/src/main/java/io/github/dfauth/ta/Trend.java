@@ -3,15 +3,17 @@ package io.github.dfauth.ta;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
-import java.util.List;
-
+/**
+ * Snapshot of a {@link TrendEngine}: the price and the recent fast, slow and
+ * long EMA values, oldest first, with their classification.
+ */
 @Getter
 @RequiredArgsConstructor
 public class Trend {
-    private final Double price;
-    private final List<Double> fast;
-    private final List<Double> slow;
-    private final List<Double> lng;
+    private final double price;
+    private final double[] fast;
+    private final double[] slow;
+    private final double[] lng;
     private final TrendState trendState;
 
     public boolean isDiverging() {
@@ -19,6 +21,6 @@ public class Trend {
     }
 
     public double distanceFromEma() {
-        return (price - fast.getLast()) / price;
+        return (price - fast[fast.length - 1]) / price;
     }
 }
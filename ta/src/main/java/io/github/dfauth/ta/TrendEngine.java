@@ -0,0 +1,206 @@
+package io.github.dfauth.ta;
+
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Optional.empty;
+
+/**
+ * Fused fast/slow/long EMA trend classifier. All three EMAs are updated in
+ * one pass over primitive state on every price, the most recent values of
+ * each are kept in small {@link DoubleRingBuffer}s exposed as zero-copy
+ * {@link DoubleWindow}s, and the {@link TrendState} is classified with
+ * direct comparisons once the long EMA has seeded. A price on which two
+ * EMAs are exactly equal (a flat series, say) keeps the previous state, as
+ * no ordering holds.
+ * <p>
+ * Nothing is allocated per price; {@link #trend()} copies the windows into
+ * a {@link Trend} only when a snapshot is wanted. Not thread safe.
+ */
+public class TrendEngine implements Checkpointable {
+
+    public static final int DEFAULT_WINDOW = 3;
+
+    private final int fastPeriod;
+    private final int slowPeriod;
+    private final int longPeriod;
+    private final double fastMultiplier;
+    private final double slowMultiplier;
+    private final double longMultiplier;
+    private final DoubleRingBuffer fastWindow;
+    private final DoubleRingBuffer slowWindow;
+    private final DoubleRingBuffer longWindow;
+
+    // warm-up accumulators for the SMA seeds, shared as every EMA sees every price
+    private double fastSeed;
+    private double slowSeed;
+    private double longSeed;
+    private int count;
+
+    private double fast = Double.NaN;
+    private double slow = Double.NaN;
+    private double lng = Double.NaN;
+    private double price = Double.NaN;
+    private TrendState trendState;
+
+    public TrendEngine(int fastPeriod, int slowPeriod, int longPeriod) {
+        this(fastPeriod, slowPeriod, longPeriod, DEFAULT_WINDOW);
+    }
+
+    public TrendEngine(int fastPeriod, int slowPeriod, int longPeriod, int window) {
+        validatePeriods(fastPeriod, slowPeriod, longPeriod);
+        this.fastPeriod = fastPeriod;
+        this.slowPeriod = slowPeriod;
+        this.longPeriod = longPeriod;
+        this.fastMultiplier = 2.0 / (fastPeriod + 1);
+        this.slowMultiplier = 2.0 / (slowPeriod + 1);
+        this.longMultiplier = 2.0 / (longPeriod + 1);
+        this.fastWindow = new DoubleRingBuffer(window);
+        this.slowWindow = new DoubleRingBuffer(window);
+        this.longWindow = new DoubleRingBuffer(window);
+    }
+
+    /**
+     * Updates all three EMAs with {@code price}.
+     *
+     * @return {@code true} once a price after the long EMA has seeded has
+     * left the three EMAs distinct, so {@link #trendState()} is available;
+     * later ties keep the previous state and this stays {@code true}
+     */
+    public boolean next(double price) {
+        this.price = price;
+        if (count < longPeriod) {
+            count++;
+            fast = warmUp(fastSeed += price, fastPeriod, fast, fastMultiplier, price);
+            slow = warmUp(slowSeed += price, slowPeriod, slow, slowMultiplier, price);
+            lng = warmUp(longSeed += price, longPeriod, lng, longMultiplier, price);
+        } else {
+            fast = (price - fast) * fastMultiplier + fast;
+            slow = (price - slow) * slowMultiplier + slow;
+            lng = (price - lng) * longMultiplier + lng;
+        }
+        if (!Double.isNaN(fast)) {
+            fastWindow.write(fast);
+        }
+        if (!Double.isNaN(slow)) {
+            slowWindow.write(slow);
+        }
+        if (Double.isNaN(lng)) {
+            return false;
+        }
+        longWindow.write(lng);
+        if (fast != slow && slow != lng && fast != lng) {
+            trendState = TrendState.classify(fast, slow, lng);
+        }
+        return trendState != null;
+    }
+
+    /**
+     * One warm-up step for an EMA: {@code NaN} until {@code period} prices
+     * have been seen, then the SMA seed, then the usual recurrence.
+     */
+    private double warmUp(double seed, int period, double prev, double multiplier, double price) {
+        if (count < period) {
+            return Double.NaN;
+        }
+        if (count == period) {
+            return seed / period;
+        }
+        return (price - prev) * multiplier + prev;
+    }
+
+    public boolean isReady() {
+        return trendState != null;
+    }
+
+    public double price() {
+        return price;
+    }
+
+    public DoubleWindow fast() {
+        return fastWindow.view();
+    }
+
+    public DoubleWindow slow() {
+        return slowWindow.view();
+    }
+
+    public DoubleWindow lng() {
+        return longWindow.view();
+    }
+
+    /**
+     * @return the latest classification, or {@code null} until ready
+     */
+    public TrendState trendState() {
+        return trendState;
+    }
+
+    /**
+     * @return a snapshot of the current state, empty until ready
+     */
+    public Optional<Trend> trend() {
+        return isReady()
+                ? Optional.of(new Trend(price, fastWindow.toArray(), slowWindow.toArray(), longWindow.toArray(), trendState))
+                : empty();
+    }
+
+    /**
+     * {@code period}: the long period; {@code values}: fast and slow
+     * periods, the three seed accumulators, the three EMAs, the latest price
+     * and the ordinal of the trend state ({@code -1} if none); {@code children}: the fast, slow and long windows.
+     */
+    @Override
+    public IndicatorState checkpoint() {
+        return new IndicatorState("trend", longPeriod, count,
+                new double[]{fastPeriod, slowPeriod, fastSeed, slowSeed, longSeed, fast, slow, lng, price,
+                        trendState == null ? -1 : trendState.ordinal()},
+                new double[0],
+                List.of(window(fastWindow), window(slowWindow), window(longWindow)));
+    }
+
+    @Override
+    public void restore(IndicatorState state) {
+        state.expect("trend", longPeriod);
+        if (state.value(0) != fastPeriod || state.value(1) != slowPeriod) {
+            throw new IllegalArgumentException("Cannot restore trend state over " + (int) state.value(0) + ", " + (int) state.value(1) + ", " + longPeriod
+                    + " into " + fastPeriod + ", " + slowPeriod + ", " + longPeriod);
+        }
+        count = state.getCount();
+        fastSeed = state.value(2);
+        slowSeed = state.value(3);
+        longSeed = state.value(4);
+        fast = state.value(5);
+        slow = state.value(6);
+        lng = state.value(7);
+        price = state.value(8);
+        restore(fastWindow, state.child(0));
+        restore(slowWindow, state.child(1));
+        restore(longWindow, state.child(2));
+        int ordinal = (int) state.value(9);
+        trendState = ordinal < 0 ? null : TrendState.values()[ordinal];
+    }
+
+    private static IndicatorState window(DoubleRingBuffer buffer) {
+        return new IndicatorState("window", buffer.capacity(), 0, new double[0], buffer.toArray(), List.of());
+    }
+
+    private static void restore(DoubleRingBuffer buffer, IndicatorState state) {
+        double[] values = state.expect("window", buffer.capacity()).getWindow();
+        buffer.clear();
+        for (double value : values) {
+            buffer.write(value);
+        }
+    }
+
+    static void validatePeriods(int fastPeriod, int slowPeriod, int longPeriod) {
+        if (fastPeriod <= 0 || slowPeriod <= 0 || longPeriod <= 0) {
+            throw new IllegalArgumentException("All periods must be greater than 0");
+        }
+        if (fastPeriod >= slowPeriod || slowPeriod >= longPeriod) {
+            throw new IllegalArgumentException(
+                    "Periods must satisfy fastPeriod < slowPeriod < longPeriod, got: " +
+                    fastPeriod + ", " + slowPeriod + ", " + longPeriod);
+        }
+    }
+}
@@ -5,8 +5,6 @@ import io.github.dfauth.trycatch.TriPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
-import static java.util.Arrays.stream;
-
 public enum TrendState implements TriPredicate<Double, Double, Double> {
 
     BULL(f -> s -> l ->
@@ -33,8 +31,30 @@ public enum TrendState implements TriPredicate<Double, Double, Double> {
         return p3.apply(f).apply(s).test(l);
     }
 
+    /**
+     * Orders the three EMAs with direct comparisons; equivalent to finding
+     * the constant whose predicate holds. Ties (and {@code NaN}) match none.
+     */
     public static TrendState classify(double f, double s, double l) {
-        return stream(values()).filter(t -> t.test(f, s, l)).findFirst().orElseThrow(() -> new IllegalStateException("Oops. shouldn't happen"));
+        if (l < s && s < f) {
+            return BULL;
+        }
+        if (l < f && f < s) {
+            return LATE_BULL;
+        }
+        if (f < l && l < s) {
+            return EARLY_BEAR;
+        }
+        if (f < s && s < l) {
+            return BEAR;
+        }
+        if (s < f && f < l) {
+            return LATE_BEAR;
+        }
+        if (s < l && l < f) {
+            return EARLY_BULL;
+        }
+        throw new IllegalStateException("Oops. shouldn't happen");
     }
 }
 
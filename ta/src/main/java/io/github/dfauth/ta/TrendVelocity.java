@@ -1,7 +1,7 @@
 package io.github.dfauth.ta;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 /**
@@ -39,11 +39,29 @@ public interface TrendVelocity {
         if (candles.length < 2 * period) {
             return new double[0];
         }
-        Function<Candle, Optional<Double>> f = trendVelocity(period);
-        double[] result = new double[candles.length - (2 * period - 1)];
-        AtomicInteger i = new AtomicInteger(0);
-        for (Candle candle : candles) {
-            f.apply(candle).ifPresent(v -> result[i.getAndIncrement()] = v);
+        return trendVelocityIndicator(period).apply(candles, 2 * period - 1);
+    }
+
+    /**
+     * Batch Trend Velocity over a {@link CandleSeries}, fed through a single
+     * flyweight cursor. Same output as {@link #trendVelocity(Candle[], int)}.
+     */
+    public static double[] trendVelocity(CandleSeries series, int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        if (series.size() < 2 * period) {
+            return new double[0];
+        }
+        CandleIndicator tv = trendVelocityIndicator(period);
+        double[] result = new double[series.size() - (2 * period - 1)];
+        int i = 0;
+        CandleSeries.Cursor cursor = series.cursor();
+        while (cursor.next()) {
+            double d = tv.next(cursor);
+            if (tv.isReady()) {
+                result[i++] = d;
+            }
         }
         return result;
     }
@@ -64,14 +82,76 @@ public interface TrendVelocity {
         if (period < 1) {
             throw new IllegalArgumentException("Period must be at least 1");
         }
-        Function<Double, Optional<Double>> ema = ExponentialMovingAverage.emaStream(period);
-        Function<Double, Optional<Double>> roc = RateOfChange.rocStream(period);
-        Function<Candle, Optional<Double>> atr = AverageTrueRange.atrStream(period);
-
+        Indicator tv = new Indicator(period);
         return candle -> {
-            Optional<Double> emaVal = ema.apply(candle.close());
-            Optional<Double> atrVal = atr.apply(candle);
-            return emaVal.flatMap(e -> roc.apply(e).flatMap(r -> atrVal.map(a -> new TrendVelocityRecord(period, e, r, a, r / a))));
+            double result = tv.next(candle);
+            return tv.isReady() ? Optional.of(new TrendVelocityRecord(period, tv.ema, tv.roc, tv.atr, result)) : Optional.empty();
         };
     }
+
+    /**
+     * Primitive streaming Trend Velocity. Returns {@code NaN} during warm-up.
+     */
+    public static CandleIndicator trendVelocityIndicator(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        return new Indicator(period);
+    }
+
+    final class Indicator implements CandleIndicator {
+
+        private final DoubleUnaryIndicator emaIndicator;
+        private final DoubleUnaryIndicator rocIndicator;
+        private final CandleIndicator atrIndicator;
+        private final int period;
+        private double ema = Double.NaN;
+        private double roc = Double.NaN;
+        private double atr = Double.NaN;
+        private boolean ready;
+
+        Indicator(int period) {
+            this.period = period;
+            this.emaIndicator = ExponentialMovingAverage.emaIndicator(period);
+            this.rocIndicator = RateOfChange.rocIndicator(period);
+            this.atrIndicator = AverageTrueRange.atrIndicator(period);
+        }
+
+        @Override
+        public double next(Candle candle) {
+            ema = emaIndicator.next(candle.close());
+            atr = atrIndicator.next(candle);
+            // RoC only sees EMA values once the EMA is seeded
+            roc = emaIndicator.isReady() ? rocIndicator.next(ema) : Double.NaN;
+            ready = rocIndicator.isReady() && atrIndicator.isReady();
+            return ready ? roc / atr : Double.NaN;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        /**
+         * {@code values}: latest EMA, RoC and ATR; {@code children}: the EMA,
+         * RoC and ATR states.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return new IndicatorState("tv", period, ready ? 1 : 0, new double[]{ema, roc, atr}, new double[0],
+                    List.of(emaIndicator.checkpoint(), rocIndicator.checkpoint(), atrIndicator.checkpoint()));
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            state.expect("tv", period);
+            emaIndicator.restore(state.child(0));
+            rocIndicator.restore(state.child(1));
+            atrIndicator.restore(state.child(2));
+            ema = state.value(0);
+            roc = state.value(1);
+            atr = state.value(2);
+            ready = state.getCount() == 1;
+        }
+    }
 }
@@ -0,0 +1,190 @@
+package io.github.dfauth.ta;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+import static io.github.dfauth.ta.ScalarMultiSeriesKernels.checkShape;
+
+/**
+ * {@link MultiSeriesKernels} on {@code jdk.incubator.vector}. Each kernel
+ * walks a block of {@link #SPECIES} series through time with the indicator
+ * state held in vectors; the lanes left over after the last full block are
+ * handed to {@link ScalarMultiSeriesKernels}. Arithmetic is performed in the
+ * same order as the scalar kernels, so results are identical.
+ * <p>
+ * Only loaded by {@link MultiSeriesKernelsLoader} when the incubator module
+ * is present.
+ */
+class VectorMultiSeriesKernels implements MultiSeriesKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarMultiSeriesKernels scalar = ScalarMultiSeriesKernels.INSTANCE;
+
+    @Override
+    public void ema(double[] in, int lanes, int period, double[] out) {
+        checkShape(in, lanes, period, out);
+        Arrays.fill(out, 0, in.length, Double.NaN);
+        int times = in.length / lanes;
+        int bound = SPECIES.loopBound(lanes);
+        if (times >= period) {
+            double multiplier = 2.0 / (period + 1);
+            DoubleVector m = DoubleVector.broadcast(SPECIES, multiplier);
+            DoubleVector oneMinusM = DoubleVector.broadcast(SPECIES, 1 - multiplier);
+            for (int s = 0; s < bound; s += SPECIES.length()) {
+                DoubleVector prev = seed(in, lanes, s, 0, period);
+                prev.intoArray(out, (period - 1) * lanes + s);
+                for (int t = period; t < times; t++) {
+                    DoubleVector x = DoubleVector.fromArray(SPECIES, in, t * lanes + s);
+                    prev = x.mul(m).add(prev.mul(oneMinusM));
+                    prev.intoArray(out, t * lanes + s);
+                }
+            }
+        }
+        scalar.ema(in, lanes, bound, lanes, period, out);
+    }
+
+    @Override
+    public void sma(double[] in, int lanes, int period, double[] out) {
+        checkShape(in, lanes, period, out);
+        Arrays.fill(out, 0, in.length, Double.NaN);
+        int times = in.length / lanes;
+        int bound = SPECIES.loopBound(lanes);
+        if (times >= period) {
+            for (int s = 0; s < bound; s += SPECIES.length()) {
+                DoubleVector sum = sum(in, lanes, s, 0, period);
+                sum.div(period).intoArray(out, (period - 1) * lanes + s);
+                for (int t = period; t < times; t++) {
+                    if ((t - period + 1) % period == 0) {
+                        // exact recompute once per period to bound drift
+                        sum = sum(in, lanes, s, t - period + 1, t + 1);
+                    } else {
+                        DoubleVector x = DoubleVector.fromArray(SPECIES, in, t * lanes + s);
+                        DoubleVector displaced = DoubleVector.fromArray(SPECIES, in, (t - period) * lanes + s);
+                        sum = sum.add(x.sub(displaced));
+                    }
+                    sum.div(period).intoArray(out, t * lanes + s);
+                }
+            }
+        }
+        scalar.sma(in, lanes, bound, lanes, period, out);
+    }
+
+    @Override
+    public void wilder(double[] in, int lanes, int period, double[] out) {
+        checkShape(in, lanes, period, out);
+        Arrays.fill(out, 0, in.length, Double.NaN);
+        int times = in.length / lanes;
+        int bound = SPECIES.loopBound(lanes);
+        if (times >= period) {
+            for (int s = 0; s < bound; s += SPECIES.length()) {
+                DoubleVector avg = seed(in, lanes, s, 0, period);
+                avg.intoArray(out, (period - 1) * lanes + s);
+                for (int t = period; t < times; t++) {
+                    avg = wilder(avg, DoubleVector.fromArray(SPECIES, in, t * lanes + s), period);
+                    avg.intoArray(out, t * lanes + s);
+                }
+            }
+        }
+        scalar.wilder(in, lanes, bound, lanes, period, out);
+    }
+
+    @Override
+    public void rsi(double[] in, int lanes, int period, double[] out) {
+        checkShape(in, lanes, period, out);
+        Arrays.fill(out, 0, in.length, Double.NaN);
+        int times = in.length / lanes;
+        int bound = SPECIES.loopBound(lanes);
+        if (times > period) {
+            DoubleVector zero = DoubleVector.zero(SPECIES);
+            for (int s = 0; s < bound; s += SPECIES.length()) {
+                DoubleVector gainSum = zero;
+                DoubleVector lossSum = zero;
+                DoubleVector prev = DoubleVector.fromArray(SPECIES, in, s);
+                for (int t = 1; t <= period; t++) {
+                    DoubleVector x = DoubleVector.fromArray(SPECIES, in, t * lanes + s);
+                    DoubleVector change = x.sub(prev);
+                    gainSum = gainSum.add(change.max(zero));
+                    lossSum = lossSum.add(change.neg().max(zero));
+                    prev = x;
+                }
+                DoubleVector avgGain = gainSum.div(period);
+                DoubleVector avgLoss = lossSum.div(period);
+                toRsi(avgGain, avgLoss).intoArray(out, period * lanes + s);
+                for (int t = period + 1; t < times; t++) {
+                    DoubleVector x = DoubleVector.fromArray(SPECIES, in, t * lanes + s);
+                    DoubleVector change = x.sub(prev);
+                    avgGain = wilder(avgGain, change.max(zero), period);
+                    avgLoss = wilder(avgLoss, change.neg().max(zero), period);
+                    toRsi(avgGain, avgLoss).intoArray(out, t * lanes + s);
+                    prev = x;
+                }
+            }
+        }
+        scalar.rsi(in, lanes, bound, lanes, period, out);
+    }
+
+    @Override
+    public void atr(double[] high, double[] low, double[] close, int lanes, int period, double[] out) {
+        checkShape(close, lanes, period, out);
+        if (high.length != close.length || low.length != close.length) {
+            throw new IllegalArgumentException("high, low and close must be the same length");
+        }
+        Arrays.fill(out, 0, close.length, Double.NaN);
+        int times = close.length / lanes;
+        int bound = SPECIES.loopBound(lanes);
+        if (times > period) {
+            for (int s = 0; s < bound; s += SPECIES.length()) {
+                DoubleVector sum = DoubleVector.zero(SPECIES);
+                for (int t = 1; t <= period; t++) {
+                    sum = sum.add(trueRange(high, low, close, t * lanes + s, lanes));
+                }
+                DoubleVector atr = sum.div(period);
+                atr.intoArray(out, period * lanes + s);
+                for (int t = period + 1; t < times; t++) {
+                    atr = wilder(atr, trueRange(high, low, close, t * lanes + s, lanes), period);
+                    atr.intoArray(out, t * lanes + s);
+                }
+            }
+        }
+        scalar.atr(high, low, close, lanes, bound, lanes, period, out);
+    }
+
+    private static DoubleVector sum(double[] in, int lanes, int s, int fromTime, int toTime) {
+        DoubleVector sum = DoubleVector.zero(SPECIES);
+        for (int t = fromTime; t < toTime; t++) {
+            sum = sum.add(DoubleVector.fromArray(SPECIES, in, t * lanes + s));
+        }
+        return sum;
+    }
+
+    private static DoubleVector seed(double[] in, int lanes, int s, int fromTime, int period) {
+        return sum(in, lanes, s, fromTime, fromTime + period).div(period);
+    }
+
+    private static DoubleVector wilder(DoubleVector avg, DoubleVector x, int period) {
+        return avg.mul(period - 1).add(x).div(period);
+    }
+
+    private static DoubleVector trueRange(double[] high, double[] low, double[] close, int i, int lanes) {
+        DoubleVector h = DoubleVector.fromArray(SPECIES, high, i);
+        DoubleVector l = DoubleVector.fromArray(SPECIES, low, i);
+        DoubleVector prevClose = DoubleVector.fromArray(SPECIES, close, i - lanes);
+        DoubleVector gap = h.sub(prevClose).lanewise(VectorOperators.ABS)
+                .max(l.sub(prevClose).lanewise(VectorOperators.ABS));
+        return h.sub(l).max(gap);
+    }
+
+    private static DoubleVector toRsi(DoubleVector avgGain, DoubleVector avgLoss) {
+        DoubleVector rsi = DoubleVector.broadcast(SPECIES, 100.0)
+                .sub(DoubleVector.broadcast(SPECIES, 100.0).div(avgGain.div(avgLoss).add(1.0)));
+        VectorMask<Double> noGain = avgGain.compare(VectorOperators.EQ, 0.0);
+        VectorMask<Double> noLoss = avgLoss.compare(VectorOperators.EQ, 0.0);
+        // same precedence as RelativeStrengthIndex.toRsi: no loss wins
+        return rsi.blend(0.0, noGain).blend(100.0, noLoss);
+    }
+}
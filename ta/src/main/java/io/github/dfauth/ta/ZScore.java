@@ -0,0 +1,65 @@
+package io.github.dfauth.ta;
+
+/**
+ * Rolling z-score: how many population standard deviations the latest value
+ * is from the mean of the last {@code period} values, over a
+ * {@link RollingVariance}.
+ */
+public class ZScore {
+
+    /**
+     * Batch z-score. Returns {@code values.length - period + 1} values, or
+     * empty if there is insufficient data.
+     */
+    public static double[] zScore(double[] values, int period) {
+        return zScoreIndicator(period).apply(values, period - 1);
+    }
+
+    /**
+     * Primitive streaming z-score. Returns {@code NaN} until {@code period}
+     * values have been seen, and {@code 0} when the window has no dispersion.
+     */
+    public static DoubleUnaryIndicator zScoreIndicator(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException("Period must be at least 1");
+        }
+        return new Indicator(new RollingVariance(period));
+    }
+
+    static final class Indicator implements DoubleUnaryIndicator {
+
+        private final RollingVariance variance;
+
+        Indicator(RollingVariance variance) {
+            this.variance = variance;
+        }
+
+        @Override
+        public double next(double value) {
+            double mean = variance.add(value);
+            if (!variance.isFull()) {
+                return Double.NaN;
+            }
+            double stddev = variance.stddev();
+            return stddev == 0.0 ? 0.0 : (value - mean) / stddev;
+        }
+
+        @Override
+        public boolean isReady() {
+            return variance.isFull();
+        }
+
+        /**
+         * The state of the underlying {@link RollingVariance}.
+         */
+        @Override
+        public IndicatorState checkpoint() {
+            return variance.checkpoint();
+        }
+
+        @Override
+        public void restore(IndicatorState state) {
+            variance.restore(state);
+        }
+    }
+}
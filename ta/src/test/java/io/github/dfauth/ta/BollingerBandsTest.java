@@ -0,0 +1,56 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BollingerBandsTest {
+
+    @Test
+    void testBands() {
+        BollingerBands.Indicator bollinger = BollingerBands.bollingerIndicator(4);
+        double middle = Double.NaN;
+        for (double d : new double[]{2, 4, 4, 4}) {
+            middle = bollinger.next(d);
+        }
+        double stddev = Math.sqrt(0.75);
+
+        assertTrue(bollinger.isReady());
+        assertEquals(3.5, middle, 1e-12);
+        assertEquals(3.5 + 2 * stddev, bollinger.upper(), 1e-12);
+        assertEquals(3.5 - 2 * stddev, bollinger.lower(), 1e-12);
+        assertEquals(4 * stddev / 3.5, bollinger.bandwidth(), 1e-12);
+        assertEquals((4 - bollinger.lower()) / (4 * stddev), bollinger.percentB(), 1e-12);
+    }
+
+    @Test
+    void testMiddleMatchesSma() {
+        double[] prices = new double[60];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 50 + 10 * Math.sin(i / 5.0);
+        }
+        double[] sma = SimpleMovingAverage.sma(prices, 20);
+        double[] middle = BollingerBands.bollingerIndicator(20).apply(prices, 19);
+
+        assertArrayEquals(sma, middle, 1e-9);
+    }
+
+    @Test
+    void testCollapsedBands() {
+        Function<Double, Optional<BollingerBands.Bands>> stream = BollingerBands.bollingerStream(3, 2.0);
+        stream.apply(5.0);
+        assertTrue(stream.apply(5.0).isEmpty());
+        BollingerBands.Bands bands = stream.apply(5.0).orElseThrow();
+
+        assertEquals(new BollingerBands.Bands(5.0, 5.0, 5.0, 0.0, 0.5), bands);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BollingerBands.bollingerIndicator(0));
+        assertThrows(IllegalArgumentException.class, () -> BollingerBands.bollingerIndicator(20, 0.0));
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandleResamplerTest {
+
+    // Mon 2024-01-01 .. Fri 2024-01-12, weekdays only
+    private static CandleSeries daily() {
+        CandleSeries series = new CandleSeries();
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        double close = 10.0;
+        for (int i = 0; i < 14; i++, date = date.plusDays(1)) {
+            if (date.getDayOfWeek().getValue() > 5) {
+                continue;
+            }
+            double open = close;
+            close = open + (i % 3 == 0 ? -1.0 : 1.5);
+            series.add(date, open, Math.max(open, close) + 0.25, Math.min(open, close) - 0.25, close, 100 + i);
+        }
+        return series;
+    }
+
+    private static void feed(CandleResampler resampler, CandleSeries series) {
+        CandleSeries.Cursor cursor = series.cursor();
+        while (cursor.next()) {
+            resampler.next(cursor.epochDay(), cursor.open(), cursor.high(), cursor.low(), cursor.close(), cursor.volume());
+        }
+        resampler.flush();
+    }
+
+    private static void assertBar(CandleSeries daily, int from, int to, CandleSeries bars, int bar) {
+        double high = Double.NEGATIVE_INFINITY;
+        double low = Double.POSITIVE_INFINITY;
+        double volume = 0;
+        for (int i = from; i < to; i++) {
+            high = Math.max(high, daily.high(i));
+            low = Math.min(low, daily.low(i));
+            volume += daily.volume(i);
+        }
+        assertEquals(daily.epochDay(from), bars.epochDay(bar));
+        assertEquals(daily.open(from), bars.open(bar));
+        assertEquals(high, bars.high(bar));
+        assertEquals(low, bars.low(bar));
+        assertEquals(daily.close(to - 1), bars.close(bar));
+        assertEquals(volume, bars.volume(bar));
+    }
+
+    @Test
+    void testWeekly() {
+        CandleSeries daily = daily();
+        CandleSeries weekly = new CandleSeries();
+        feed(CandleResampler.weekly(weekly::add), daily);
+
+        assertEquals(2, weekly.size());
+        assertBar(daily, 0, 5, weekly, 0);
+        assertBar(daily, 5, 10, weekly, 1);
+        assertEquals(LocalDate.of(2024, 1, 8), weekly.date(1));
+    }
+
+    @Test
+    void testWeekEndingMidweek() {
+        // Wednesday then the following Monday: distinct weeks despite fewer than 7 days apart
+        CandleSeries weekly = new CandleSeries();
+        CandleResampler resampler = CandleResampler.weekly(weekly::add);
+
+        assertFalse(resampler.next(LocalDate.of(2024, 1, 3), Candle.candle(1, 2, 1, 2), 1));
+        assertTrue(resampler.next(LocalDate.of(2024, 1, 8), Candle.candle(2, 3, 2, 3), 1));
+        assertEquals(1, weekly.size());
+    }
+
+    @Test
+    void testMonthly() {
+        CandleSeries monthly = new CandleSeries();
+        CandleResampler resampler = CandleResampler.monthly(monthly::add);
+        resampler.next(LocalDate.of(2024, 1, 30), Candle.candle(1, 4, 1, 3), 10);
+        resampler.next(LocalDate.of(2024, 1, 31), Candle.candle(3, 5, 2, 4), 10);
+        assertTrue(resampler.next(LocalDate.of(2024, 2, 1), Candle.candle(4, 4, 0.5, 1), 10));
+        resampler.flush();
+
+        assertEquals(2, monthly.size());
+        assertEquals(LocalDate.of(2024, 1, 30), monthly.date(0));
+        assertEquals(1.0, monthly.open(0));
+        assertEquals(5.0, monthly.high(0));
+        assertEquals(1.0, monthly.low(0));
+        assertEquals(4.0, monthly.close(0));
+        assertEquals(20.0, monthly.volume(0));
+        assertEquals(0.5, monthly.low(1));
+    }
+
+    @Test
+    void testNDay() {
+        CandleSeries daily = daily();
+        CandleSeries bars = new CandleSeries();
+        feed(CandleResampler.nDay(3, bars::add), daily);
+
+        assertEquals(4, bars.size());
+        assertBar(daily, 0, 3, bars, 0);
+        assertBar(daily, 3, 6, bars, 1);
+        assertBar(daily, 9, 10, bars, 3);
+    }
+
+    @Test
+    void testFormingBarIsReadable() {
+        CandleResampler resampler = CandleResampler.weekly((d, o, h, l, c, v) -> {});
+        assertFalse(resampler.isOpen());
+        resampler.next(LocalDate.of(2024, 1, 1), Candle.candle(10, 11, 9, 10.5), 5);
+        resampler.next(LocalDate.of(2024, 1, 2), Candle.candle(10.5, 12, 10, 11), 5);
+
+        assertTrue(resampler.isOpen());
+        assertEquals(2, resampler.count());
+        assertEquals(10.0, resampler.open());
+        assertEquals(12.0, resampler.high());
+        assertEquals(9.0, resampler.low());
+        assertEquals(11.0, resampler.close());
+        assertEquals(10.0, resampler.volume());
+    }
+
+    @Test
+    void testOutOfOrderRejected() {
+        CandleResampler resampler = CandleResampler.monthly((d, o, h, l, c, v) -> {});
+        resampler.next(LocalDate.of(2024, 1, 2), Candle.candle(1, 1, 1, 1), 1);
+
+        assertThrows(IllegalArgumentException.class, () -> resampler.next(LocalDate.of(2024, 1, 1), Candle.candle(1, 1, 1, 1), 1));
+        assertThrows(IllegalArgumentException.class, () -> CandleResampler.nDay(0, (d, o, h, l, c, v) -> {}));
+    }
+}
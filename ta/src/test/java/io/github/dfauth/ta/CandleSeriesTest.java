@@ -0,0 +1,81 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static io.github.dfauth.ta.TestData.candles;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandleSeriesTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private static CandleSeries series(List<Candle> candles) {
+        int[] day = {0};
+        return CandleSeries.of(candles, c -> START.plusDays(day[0]++), c -> 1000.0);
+    }
+
+    @Test
+    void testColumnsAndGrowth() {
+        CandleSeries series = new CandleSeries(1);
+        series.add(START, 1, 3, 0.5, 2, 100)
+                .add(START.plusDays(1), 2, 4, 1.5, 3, 200)
+                .add(START.plusDays(2), 3, 5, 2.5, 4, 300);
+
+        assertEquals(3, series.size());
+        assertEquals(START.plusDays(1), series.date(1));
+        assertEquals(4.0, series.high(1), 1e-9);
+        assertEquals(300.0, series.volume(2), 1e-9);
+        assertArrayEquals(new double[]{2, 3, 4}, series.closesCopy(), 1e-9);
+        assertThrows(IndexOutOfBoundsException.class, () -> series.close(3));
+    }
+
+    @Test
+    void testRejectsOutOfOrderDates() {
+        CandleSeries series = new CandleSeries().add(START, 1, 1, 1, 1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> series.add(START.minusDays(1), 1, 1, 1, 1, 1));
+    }
+
+    @Test
+    void testCursorIteratesAllRowsWithOneInstance() {
+        CandleSeries series = series(List.of(candles(3, 5)));
+        CandleSeries.Cursor cursor = series.cursor();
+        int n = 0;
+        while (cursor.next()) {
+            assertEquals(n, cursor.index());
+            assertEquals(START.plusDays(n), cursor.date());
+            assertEquals(series.close(n), cursor.close(), 1e-9);
+            n++;
+        }
+        assertEquals(5, n);
+        assertFalse(cursor.next());
+        assertEquals(2, cursor.moveTo(2).index());
+    }
+
+    @Test
+    void testBatchAtrMatchesCandleArray() {
+        List<Candle> candles = List.of(candles(3, 80));
+        double[] expected = AverageTrueRange.atr(candles.toArray(Candle[]::new), 14);
+
+        assertArrayEquals(expected, AverageTrueRange.atr(series(candles), 14), 1e-12);
+    }
+
+    @Test
+    void testBatchTrendVelocityMatchesCandleArray() {
+        List<Candle> candles = List.of(candles(3, 80));
+        double[] expected = TrendVelocity.trendVelocity(candles.toArray(Candle[]::new), 8);
+
+        assertArrayEquals(expected, TrendVelocity.trendVelocity(series(candles), 8), 1e-12);
+    }
+
+    @Test
+    void testBatchInsufficientData() {
+        CandleSeries series = series(List.of(candles(3, 5)));
+
+        assertEquals(0, AverageTrueRange.atr(series, 5).length);
+        assertEquals(0, TrendVelocity.trendVelocity(series, 3).length);
+    }
+}
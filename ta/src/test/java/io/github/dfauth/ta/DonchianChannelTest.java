@@ -0,0 +1,53 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DonchianChannelTest {
+
+    @Test
+    void testBandsTrackHighsAndLows() {
+        DonchianChannel.Indicator donchian = DonchianChannel.donchianIndicator(3);
+
+        assertTrue(Double.isNaN(donchian.next(Candle.candle(10, 12, 9, 11))));
+        assertTrue(Double.isNaN(donchian.next(Candle.candle(11, 14, 10, 13))));
+        assertFalse(donchian.isReady());
+        assertEquals(11.5, donchian.next(Candle.candle(13, 13, 11, 12)));
+        assertEquals(14.0, donchian.upper());
+        assertEquals(9.0, donchian.lower());
+        assertEquals(1, donchian.daysSinceHigh());
+        assertEquals(2, donchian.daysSinceLow());
+
+        // the first candle's low of 9 leaves the window
+        donchian.next(Candle.candle(12, 12.5, 11.5, 12));
+        assertEquals(14.0, donchian.upper());
+        assertEquals(10.0, donchian.lower());
+    }
+
+    @Test
+    void testStream() {
+        Function<Candle, Optional<DonchianChannel.Channel>> stream = DonchianChannel.donchianStream(2);
+
+        assertTrue(stream.apply(Candle.candle(1, 2, 0.5, 1.5)).isEmpty());
+        DonchianChannel.Channel channel = stream.apply(Candle.candle(1.5, 3, 1, 2.5)).orElseThrow();
+        assertEquals(new DonchianChannel.Channel(3.0, 1.75, 0.5, 0, 1), channel);
+    }
+
+    @Test
+    void testCheckpointResumes() {
+        DonchianChannel.Indicator original = DonchianChannel.donchianIndicator(3);
+        original.next(Candle.candle(10, 12, 9, 11));
+        original.next(Candle.candle(11, 14, 10, 13));
+        DonchianChannel.Indicator resumed = DonchianChannel.donchianIndicator(3);
+        resumed.restore(original.checkpoint());
+
+        Candle candle = Candle.candle(13, 13, 11, 12);
+        assertEquals(original.next(candle), resumed.next(candle));
+        assertEquals(original.upper(), resumed.upper());
+        assertEquals(original.lower(), resumed.lower());
+    }
+}
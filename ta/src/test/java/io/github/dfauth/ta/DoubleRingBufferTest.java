@@ -0,0 +1,132 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleRingBufferTest {
+
+    @Test
+    void testWriteReturnsDisplacedValue() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+
+        assertTrue(Double.isNaN(buffer.write(1.0)));
+        assertTrue(Double.isNaN(buffer.write(2.0)));
+        assertTrue(Double.isNaN(buffer.write(3.0)));
+        assertEquals(1.0, buffer.write(4.0), 1e-9);
+        assertEquals(2.0, buffer.write(5.0), 1e-9);
+    }
+
+    @Test
+    void testReadMatchesRingBuffer() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+        RingBuffer<Double> reference = RingBuffer.create(new double[3]);
+
+        for (int i = 1; i <= 7; i++) {
+            buffer.write(i);
+            reference.write((double) i);
+            for (int n = -3; n < 3; n++) {
+                assertEquals(reference.read(n), buffer.read(n), 1e-9, "write " + i + " read " + n);
+            }
+            assertEquals(reference.read(), buffer.read(), 1e-9);
+            assertEquals(reference.isFull(), buffer.isFull());
+        }
+    }
+
+    @Test
+    void testAggregatesIgnoreUnwrittenSlots() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(5);
+
+        assertEquals(0.0, buffer.sum(), 1e-9);
+        assertTrue(Double.isNaN(buffer.min()));
+        assertTrue(Double.isNaN(buffer.max()));
+
+        buffer.write(2.0);
+        buffer.write(-1.0);
+
+        assertEquals(1.0, buffer.sum(), 1e-9);
+        assertEquals(-1.0, buffer.min(), 1e-9);
+        assertEquals(2.0, buffer.max(), 1e-9);
+        assertEquals(2, buffer.size());
+    }
+
+    @Test
+    void testAggregatesAfterWrap() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+        for (double d : new double[]{9.0, 1.0, 5.0, 3.0, 4.0}) {
+            buffer.write(d);
+        }
+
+        assertEquals(12.0, buffer.sum(), 1e-9);
+        assertEquals(3.0, buffer.min(), 1e-9);
+        assertEquals(5.0, buffer.max(), 1e-9);
+    }
+
+    @Test
+    void testCopyToIsOldestFirst() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.write(i);
+        }
+
+        double[] dest = new double[4];
+        assertEquals(3, buffer.copyTo(dest));
+        assertArrayEquals(new double[]{3.0, 4.0, 5.0, 0.0}, dest, 1e-9);
+        assertArrayEquals(new double[]{3.0, 4.0, 5.0}, buffer.toArray(), 1e-9);
+    }
+
+    @Test
+    void testCopyToRejectsShortDestination() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+        buffer.write(1.0);
+        buffer.write(2.0);
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.copyTo(new double[1]));
+    }
+
+    @Test
+    void testCapacityIsNotRoundedUp() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(5);
+        for (int i = 1; i <= 6; i++) {
+            buffer.write(i);
+        }
+
+        assertEquals(5, buffer.capacity());
+        assertEquals(5, buffer.size());
+        assertEquals(20.0, buffer.sum(), 1e-9);
+        assertEquals(2.0, buffer.read(0), 1e-9);
+    }
+
+    @Test
+    void testCapacityOne() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(1);
+
+        assertTrue(Double.isNaN(buffer.write(1.0)));
+        assertEquals(1.0, buffer.write(2.0), 1e-9);
+        assertEquals(2.0, buffer.read(), 1e-9);
+        assertEquals(2.0, buffer.read(0), 1e-9);
+    }
+
+    @Test
+    void testViewTracksWrites() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+        DoubleWindow view = buffer.view();
+        assertTrue(view.isEmpty());
+        assertTrue(Double.isNaN(view.last()));
+
+        for (int i = 1; i <= 5; i++) {
+            buffer.write(i);
+        }
+
+        assertEquals(3, view.size());
+        assertEquals(3.0, view.get(0), 1e-9);
+        assertEquals(5.0, view.last(), 1e-9);
+        assertArrayEquals(buffer.toArray(), view.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(3));
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new DoubleRingBuffer(0));
+    }
+}
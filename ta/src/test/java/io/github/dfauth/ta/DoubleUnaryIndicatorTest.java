@@ -0,0 +1,85 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import static io.github.dfauth.ta.TestData.candles;
+import static io.github.dfauth.ta.TestData.randomWalk;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DoubleUnaryIndicatorTest {
+
+    private static void assertWarmUp(DoubleUnaryIndicator indicator, double[] prices, int warmUp) {
+        for (int i = 0; i < prices.length; i++) {
+            double d = indicator.next(prices[i]);
+            assertEquals(i >= warmUp, indicator.isReady(), "tick " + i);
+            assertEquals(i >= warmUp, !Double.isNaN(d), "tick " + i);
+        }
+    }
+
+    @Test
+    void testWarmUpPeriods() {
+        double[] prices = randomWalk(7, 40);
+        assertWarmUp(SimpleMovingAverage.smaIndicator(10), prices, 9);
+        assertWarmUp(ExponentialMovingAverage.emaIndicator(10), prices, 9);
+        assertWarmUp(RelativeStrengthIndex.rsiIndicator(10), prices, 10);
+        assertWarmUp(RateOfChange.rocIndicator(10), prices, 10);
+    }
+
+    @Test
+    void testCandleIndicatorWarmUp() {
+        Candle[] candles = candles(7, randomWalk(7, 40));
+        CandleIndicator atr = AverageTrueRange.atrIndicator(5);
+        CandleIndicator tv = TrendVelocity.trendVelocityIndicator(5);
+        for (int i = 0; i < candles.length; i++) {
+            atr.next(candles[i]);
+            tv.next(candles[i]);
+            assertEquals(i >= 5, atr.isReady(), "tick " + i);
+            assertEquals(i >= 9, tv.isReady(), "tick " + i);
+        }
+    }
+
+    @Test
+    void testAdapterMatchesIndicator() {
+        double[] prices = randomWalk(7, 60);
+        DoubleUnaryIndicator indicator = RelativeStrengthIndex.rsiIndicator(14);
+        Function<Double, Optional<Double>> f = RelativeStrengthIndex.rsiIndicator(14).asFunction();
+        for (double price : prices) {
+            double d = indicator.next(price);
+            Optional<Double> o = f.apply(price);
+            assertEquals(indicator.isReady(), o.isPresent());
+            o.ifPresent(v -> assertEquals(d, v, 1e-12));
+        }
+    }
+
+    @Test
+    void testTrendVelocityMatchesComponents() {
+        Candle[] candles = candles(7, randomWalk(7, 60));
+        int period = 5;
+        double[] closes = new double[candles.length];
+        for (int i = 0; i < candles.length; i++) {
+            closes[i] = candles[i].close();
+        }
+        double[] ema = ExponentialMovingAverage.emaIndicator(period).apply(closes, period - 1);
+        double[] roc = RateOfChange.roc(ema, period);
+        double[] atr = AverageTrueRange.atr(candles, period);
+        double[] tv = TrendVelocity.trendVelocity(candles, period);
+
+        assertEquals(roc.length, tv.length);
+        for (int i = 0; i < tv.length; i++) {
+            assertEquals(roc[i] / atr[atr.length - tv.length + i], tv[i], 1e-12);
+        }
+    }
+
+    @Test
+    void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> SimpleMovingAverage.smaIndicator(0));
+        assertThrows(IllegalArgumentException.class, () -> ExponentialMovingAverage.emaIndicator(0));
+        assertThrows(IllegalArgumentException.class, () -> RelativeStrengthIndex.rsiIndicator(0));
+        assertThrows(IllegalArgumentException.class, () -> RateOfChange.rocIndicator(0));
+        assertThrows(IllegalArgumentException.class, () -> AverageTrueRange.atrIndicator(0));
+        assertThrows(IllegalArgumentException.class, () -> TrendVelocity.trendVelocityIndicator(0));
+    }
+}
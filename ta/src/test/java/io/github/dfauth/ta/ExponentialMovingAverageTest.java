@@ -2,6 +2,8 @@ package io.github.dfauth.ta;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
@@ -101,4 +103,43 @@ class ExponentialMovingAverageTest {
     void testWindowedEmaPeriodExceedsWindow() {
         assertThrows(IllegalArgumentException.class, () -> ExponentialMovingAverage.ema(5, 3));
     }
+
+    @Test
+    void testBatchMatchesStreamingBeyondFirstWindow() {
+        double[] prices = new double[50];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 100 + Math.sin(i / 3.0) * 10 + i * 0.2;
+        }
+        Function<Double, Optional<Double>> stream = ExponentialMovingAverage.emaStream(10);
+        List<Double> expected = new ArrayList<>();
+        for (double price : prices) {
+            stream.apply(price).ifPresent(expected::add);
+        }
+
+        double[] result = ExponentialMovingAverage.ema(prices, 10);
+
+        assertEquals(expected.size(), result.length);
+        for (int i = 0; i < result.length; i++) {
+            assertEquals(expected.get(i), result[i], 1e-9, "index " + i);
+        }
+    }
+
+    @Test
+    void testKernelWritesIntoReusedOutput() {
+        double[] out = new double[8];
+        Arrays.fill(out, -1.0);
+
+        int n = ExponentialMovingAverage.ema(2.0, new double[]{10, 20, 30, 50, 70}, 3, out);
+
+        assertEquals(3, n);
+        assertArrayEquals(new double[]{20.0, 35.0, 52.5}, Arrays.copyOf(out, n), 1e-9);
+        assertEquals(-1.0, out[3], 1e-9);
+        assertEquals(0, ExponentialMovingAverage.ema(2.0, new double[]{10, 20}, 3, out));
+    }
+
+    @Test
+    void testKernelRejectsShortOutput() {
+        assertThrows(IllegalArgumentException.class,
+                () -> ExponentialMovingAverage.ema(2.0, new double[]{10, 20, 30, 50, 70}, 3, new double[2]));
+    }
 }
@@ -0,0 +1,65 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static io.github.dfauth.ta.AverageTrueRange.atrIndicator;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloatCandleSeriesTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void testColumnsAndGrowth() {
+        FloatCandleSeries series = new FloatCandleSeries(1);
+        series.add(START, 1, 3, 0.5, 2, 100)
+                .add(START.plusDays(1), 2, 4, 1.5, 3, 200)
+                .add(START.plusDays(2), 3, 5, 2.5, 4, 300);
+
+        assertEquals(3, series.size());
+        assertEquals(START.plusDays(1), series.date(1));
+        assertEquals(4.0f, series.high(1));
+        assertEquals(300.0f, series.volume(2));
+        assertArrayEquals(new float[]{2, 3, 4}, series.closesCopy());
+        assertThrows(IndexOutOfBoundsException.class, () -> series.close(3));
+    }
+
+    @Test
+    void testRejectsOutOfOrderDates() {
+        FloatCandleSeries series = new FloatCandleSeries().add(START, 1, 1, 1, 1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> series.add(START.minusDays(1), 1, 1, 1, 1, 1));
+    }
+
+    @Test
+    void testRoundsToNearestFloat() {
+        CandleSeries doubles = new CandleSeries().add(START, 0.1, 100.123456789, 0.3, 12345.6789, 1e9 + 1);
+        FloatCandleSeries floats = FloatCandleSeries.of(doubles);
+
+        assertEquals(START, floats.date(0));
+        assertEquals(0.1f, floats.open(0));
+        assertEquals((float) 12345.6789, floats.close(0));
+        assertEquals(12345.6789, floats.close(0), 12345.6789 * 0x1p-24);
+        assertEquals(1e9f, floats.volume(0));
+    }
+
+    @Test
+    void testCursorFeedsStreamingIndicators() {
+        FloatCandleSeries series = new FloatCandleSeries();
+        for (int i = 0; i < 10; i++) {
+            series.add(START.plusDays(i), 10 + i, 11 + i, 9 + i, 10.5 + i, 1000);
+        }
+        CandleIndicator atr = atrIndicator(3);
+        FloatCandleSeries.Cursor cursor = series.cursor();
+        double last = Double.NaN;
+        while (cursor.next()) {
+            last = atr.next(cursor);
+        }
+        assertEquals(9, cursor.index());
+        assertEquals(START.plusDays(9), cursor.date());
+        assertEquals(2.0, last, 1e-12);
+        assertEquals(14.0, series.cursor().moveTo(3).high());
+    }
+}
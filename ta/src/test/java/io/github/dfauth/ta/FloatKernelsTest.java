@@ -0,0 +1,163 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloatKernelsTest {
+
+    private static final double EPSILON = 0x1p-24;
+    private static final int N = 5000;
+    private static final int PERIOD = 14;
+
+    /**
+     * Random walk around {@code level} with daily moves of about 1%.
+     */
+    private static CandleSeries series(double level, long seed) {
+        Random random = new Random(seed);
+        CandleSeries series = new CandleSeries(N);
+        double price = level;
+        for (int i = 0; i < N; i++) {
+            double open = price;
+            price = Math.max(level / 10, price * (1 + 0.01 * random.nextGaussian()));
+            double range = level * 0.005 * random.nextDouble();
+            series.add(18_000 + i, open, Math.max(open, price) + range, Math.min(open, price) - range, price, 1e6);
+        }
+        return series;
+    }
+
+    private static double max(double[] values, int from, int to) {
+        double max = 0.0;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    @Test
+    void testSmaAndEmaWithinBound() {
+        for (double level : new double[]{0.05, 30.0, 25_000.0}) {
+            CandleSeries series = series(level, 50);
+            double[] prices = series.closesCopy();
+            FloatCandleSeries floats = FloatCandleSeries.of(series);
+            float[] out = new float[N];
+
+            double[] sma = SimpleMovingAverage.sma(prices, PERIOD);
+            assertEquals(sma.length, FloatKernels.sma(floats.closes(), N, PERIOD, out));
+            for (int i = 0; i < sma.length; i++) {
+                assertEquals(sma[i], out[i], 2 * EPSILON * max(prices, i, i + PERIOD));
+            }
+
+            double[] ema = ExponentialMovingAverage.ema(prices, PERIOD);
+            assertEquals(ema.length, FloatKernels.ema(floats.closes(), N, PERIOD, out));
+            for (int i = 0; i < ema.length; i++) {
+                assertEquals(ema[i], out[i], 2 * EPSILON * max(prices, 0, i + PERIOD));
+            }
+        }
+    }
+
+    @Test
+    void testRocWithinBound() {
+        CandleSeries series = series(30.0, 51);
+        double[] prices = series.closesCopy();
+        float[] out = new float[N];
+        double[] roc = RateOfChange.roc(prices, PERIOD);
+        assertEquals(roc.length, FloatKernels.roc(FloatCandleSeries.of(series).closes(), N, PERIOD, out));
+        for (int i = 0; i < roc.length; i++) {
+            assertEquals(roc[i], out[i], 3 * EPSILON * (1 + Math.abs(roc[i])));
+        }
+    }
+
+    @Test
+    void testAtrWithinBound() {
+        for (double level : new double[]{0.05, 30.0, 25_000.0}) {
+            CandleSeries series = series(level, 52);
+            double[] atr = AverageTrueRange.atr(series, PERIOD);
+            float[] out = new float[N];
+            assertEquals(atr.length, FloatKernels.atr(FloatCandleSeries.of(series), PERIOD, out));
+            double[] highs = series.highs();
+            for (int i = 0; i < atr.length; i++) {
+                assertEquals(atr[i], out[i], 2 * EPSILON * max(highs, 0, i + PERIOD + 1) + EPSILON * atr[i]);
+            }
+        }
+    }
+
+    @Test
+    void testRsiWithinBound() {
+        for (double level : new double[]{0.05, 30.0, 25_000.0}) {
+            CandleSeries series = series(level, 53);
+            double[] prices = series.closesCopy();
+            double[] rsi = RelativeStrengthIndex.rsi(prices, PERIOD);
+            float[] out = new float[N];
+            assertEquals(rsi.length, FloatKernels.rsi(FloatCandleSeries.of(series).closes(), N, PERIOD, out));
+            // average absolute change, the denominator of the bound
+            double moves = 0.0;
+            for (int i = 1; i <= PERIOD; i++) {
+                moves += Math.abs(prices[i] - prices[i - 1]);
+            }
+            moves /= PERIOD;
+            for (int i = 0; i < rsi.length; i++) {
+                if (i > 0) {
+                    double move = Math.abs(prices[i + PERIOD] - prices[i + PERIOD - 1]);
+                    moves = (moves * (PERIOD - 1) + move) / PERIOD;
+                }
+                double bound = 200 * EPSILON * max(prices, 0, i + PERIOD + 1) / moves + 100 * EPSILON;
+                // first-order bound, with slack for the second-order terms
+                assertEquals(rsi[i], out[i], 1.01 * bound);
+            }
+        }
+    }
+
+    @Test
+    void testExactOnFloatRepresentableInputs() {
+        // inputs already floats: the double arithmetic is identical, so only the output is rounded
+        FloatCandleSeries floats = FloatCandleSeries.of(series(30.0, 54));
+        CandleSeries doubles = new CandleSeries(N);
+        for (int i = 0; i < N; i++) {
+            doubles.add(floats.epochDay(i), floats.open(i), floats.high(i), floats.low(i), floats.close(i), floats.volume(i));
+        }
+        double[] prices = doubles.closesCopy();
+        float[] out = new float[N];
+
+        FloatKernels.sma(floats.closes(), N, PERIOD, out);
+        assertRounded(SimpleMovingAverage.sma(prices, PERIOD), out);
+        FloatKernels.ema(floats.closes(), N, PERIOD, out);
+        assertRounded(ExponentialMovingAverage.ema(prices, PERIOD), out);
+        FloatKernels.roc(floats.closes(), N, PERIOD, out);
+        assertRounded(RateOfChange.roc(prices, PERIOD), out);
+        FloatKernels.rsi(floats.closes(), N, PERIOD, out);
+        assertRounded(RelativeStrengthIndex.rsi(prices, PERIOD), out);
+        FloatKernels.atr(floats, PERIOD, out);
+        assertRounded(AverageTrueRange.atr(doubles, PERIOD), out);
+    }
+
+    private static void assertRounded(double[] expected, float[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals((float) expected[i], actual[i]);
+        }
+    }
+
+    @Test
+    void testReadsOnlyLength() {
+        FloatCandleSeries series = new FloatCandleSeries(8);
+        for (int i = 0; i < 4; i++) {
+            series.add(18_000 + i, i + 1, i + 1, i + 1, i + 1, 0);
+        }
+        float[] out = new float[8];
+        assertEquals(3, FloatKernels.sma(series.closes(), series.size(), 2, out));
+        assertArrayEquals(new float[]{1.5f, 2.5f, 3.5f}, Arrays.copyOf(out, 3));
+        assertEquals(0, FloatKernels.roc(series.closes(), series.size(), 4, out));
+        assertEquals(0, FloatKernels.rsi(series.closes(), 2, 2, out));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        float[] prices = new float[10];
+        assertThrows(IllegalArgumentException.class, () -> FloatKernels.sma(prices, 10, 0, new float[10]));
+        assertThrows(IllegalArgumentException.class, () -> FloatKernels.ema(prices, 11, 2, new float[10]));
+        assertThrows(IllegalArgumentException.class, () -> FloatKernels.roc(prices, 10, 2, new float[7]));
+    }
+}
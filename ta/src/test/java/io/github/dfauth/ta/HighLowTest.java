@@ -0,0 +1,33 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HighLowTest {
+
+    private static final double[] PRICES = {3.0, 5.0, 4.0, 2.0, 6.0, 1.0};
+
+    @Test
+    void testBatchHighAndLow() {
+        assertArrayEquals(new double[]{5.0, 5.0, 6.0, 6.0}, HighLow.high(PRICES, 3));
+        assertArrayEquals(new double[]{3.0, 2.0, 2.0, 1.0}, HighLow.low(PRICES, 3));
+        assertEquals(0, HighLow.high(PRICES, 7).length);
+    }
+
+    @Test
+    void testDaysSinceExtreme() {
+        DoubleUnaryIndicator sinceHigh = HighLow.daysSinceHighIndicator(3);
+        DoubleUnaryIndicator sinceLow = HighLow.daysSinceLowIndicator(3);
+
+        assertTrue(Double.isNaN(sinceHigh.next(PRICES[0])));
+        sinceLow.next(PRICES[0]);
+        sinceHigh.next(PRICES[1]);
+        sinceLow.next(PRICES[1]);
+        assertEquals(1.0, sinceHigh.next(PRICES[2]));  // 5.0 one bar ago
+        assertEquals(2.0, sinceLow.next(PRICES[2]));   // 3.0 two bars ago
+        assertEquals(2.0, sinceHigh.next(PRICES[3]));
+        assertEquals(0.0, sinceLow.next(PRICES[3]));   // 2.0 is the new low
+        assertTrue(sinceHigh.isReady());
+    }
+}
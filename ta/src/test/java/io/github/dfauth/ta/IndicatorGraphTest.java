@@ -0,0 +1,104 @@
+package io.github.dfauth.ta;
+
+import io.github.dfauth.ta.IndicatorGraph.Node;
+import org.junit.jupiter.api.Test;
+
+import static io.github.dfauth.ta.TestData.candles;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicatorGraphTest {
+
+    @Test
+    void testIdenticalNodesAreShared() {
+        IndicatorGraph.Builder b = IndicatorGraph.builder();
+        Node ema = b.ema(b.close(), 21);
+
+        assertSame(ema, b.ema(b.close(), 21));
+        assertNotSame(ema, b.ema(b.close(), 8));
+        assertNotSame(ema, b.ema(b.open(), 21));
+        assertNotSame(ema, b.sma(b.close(), 21));
+        assertSame(b.atr(14), b.atr(14));
+    }
+
+    @Test
+    void testTrendVelocityReusesEmaAndAtr() {
+        IndicatorGraph.Builder b = IndicatorGraph.builder();
+        b.ema(b.close(), 10);
+        b.atr(10);
+        int before = b.build().size();
+        b.trendVelocity(10);
+
+        // only roc and divide are new
+        assertEquals(before + 2, b.build().size());
+    }
+
+    @Test
+    void testMatchesStandaloneIndicators() {
+        Candle[] candles = candles(11, 120);
+        IndicatorGraph.Builder b = IndicatorGraph.builder();
+        Node ema = b.ema(b.close(), 10);
+        Node rsi = b.rsi(b.close(), 14);
+        Node tv = b.trendVelocity(10);
+        IndicatorGraph graph = b.build();
+
+        DoubleUnaryIndicator emaIndicator = ExponentialMovingAverage.emaIndicator(10);
+        DoubleUnaryIndicator rsiIndicator = RelativeStrengthIndex.rsiIndicator(14);
+        CandleIndicator tvIndicator = TrendVelocity.trendVelocityIndicator(10);
+        for (Candle candle : candles) {
+            graph.next(candle);
+            double e = emaIndicator.next(candle.close());
+            double r = rsiIndicator.next(candle.close());
+            double t = tvIndicator.next(candle);
+
+            assertEquals(emaIndicator.isReady(), graph.isReady(ema));
+            assertEquals(rsiIndicator.isReady(), graph.isReady(rsi));
+            assertEquals(tvIndicator.isReady(), graph.isReady(tv));
+            assertEquals(e, graph.value(ema), 1e-12);
+            assertEquals(r, graph.value(rsi), 1e-12);
+            assertEquals(t, graph.value(tv), 1e-12);
+        }
+        assertTrue(graph.isReady(tv));
+    }
+
+    @Test
+    void testDerivedNodeWaitsForInput() {
+        IndicatorGraph.Builder b = IndicatorGraph.builder();
+        Node smaOfEma = b.sma(b.ema(b.close(), 3), 2);
+        IndicatorGraph graph = b.build();
+
+        graph.next(Candle.candle(1, 1, 1, 1));
+        graph.next(Candle.candle(2, 2, 2, 2));
+        graph.next(Candle.candle(3, 3, 3, 3));
+        assertFalse(graph.isReady(smaOfEma));
+        graph.next(Candle.candle(4, 4, 4, 4));
+        assertTrue(graph.isReady(smaOfEma));
+        // mean of EMA seed 2.0 and (4 - 2) * 0.5 + 2 = 3.0
+        assertEquals(2.5, graph.value(smaOfEma), 1e-12);
+    }
+
+    @Test
+    void testGraphsHaveIndependentState() {
+        IndicatorGraph.Builder b = IndicatorGraph.builder();
+        Node sma = b.sma(b.close(), 2);
+        IndicatorGraph first = b.build();
+        IndicatorGraph second = b.build();
+
+        first.next(Candle.candle(1, 1, 1, 1));
+        first.next(Candle.candle(3, 3, 3, 3));
+
+        assertEquals(2.0, first.value(sma), 1e-12);
+        assertFalse(second.isReady(sma));
+    }
+
+    @Test
+    void testForeignNodeRejected() {
+        IndicatorGraph.Builder b = IndicatorGraph.builder();
+        IndicatorGraph graph = b.build();
+        Node late = b.close();
+        Node foreign = IndicatorGraph.builder().close();
+
+        assertThrows(IllegalArgumentException.class, () -> graph.value(late));
+        assertThrows(IllegalArgumentException.class, () -> graph.value(foreign));
+        assertThrows(IllegalArgumentException.class, () -> b.ema(foreign, 3));
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static io.github.dfauth.ta.TestData.candles;
+import static io.github.dfauth.ta.TestData.randomWalk;
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicatorStateTest {
+
+    private static IndicatorState roundTrip(IndicatorState state) {
+        IndicatorState copy = new IndicatorState();
+        copy.read(state.write());
+        assertEquals(state, copy);
+        return copy;
+    }
+
+    /**
+     * Feeds the first {@code split} values, checkpoints through the binary
+     * encoding into a fresh indicator, then checks both agree on the rest.
+     */
+    private static void assertResumes(Supplier<DoubleUnaryIndicator> factory, int split) {
+        double[] prices = randomWalk(3, 80);
+        DoubleUnaryIndicator original = factory.get();
+        for (int i = 0; i < split; i++) {
+            original.next(prices[i]);
+        }
+        DoubleUnaryIndicator resumed = factory.get();
+        resumed.restore(roundTrip(original.checkpoint()));
+        assertEquals(original.isReady(), resumed.isReady());
+        for (int i = split; i < prices.length; i++) {
+            assertEquals(original.next(prices[i]), resumed.next(prices[i]));
+            assertEquals(original.isReady(), resumed.isReady());
+        }
+    }
+
+    private static void assertResumes(Supplier<CandleIndicator> factory, Candle[] candles, int split) {
+        CandleIndicator original = factory.get();
+        for (int i = 0; i < split; i++) {
+            original.next(candles[i]);
+        }
+        CandleIndicator resumed = factory.get();
+        resumed.restore(roundTrip(original.checkpoint()));
+        for (int i = split; i < candles.length; i++) {
+            assertEquals(original.next(candles[i]), resumed.next(candles[i]));
+            assertEquals(original.isReady(), resumed.isReady());
+        }
+    }
+
+    @Test
+    void testEmaResumes() {
+        assertResumes(() -> ExponentialMovingAverage.emaIndicator(10), 5);
+        assertResumes(() -> ExponentialMovingAverage.emaIndicator(10), 40);
+    }
+
+    @Test
+    void testSmaResumes() {
+        assertResumes(() -> SimpleMovingAverage.smaIndicator(10), 5);
+        assertResumes(() -> SimpleMovingAverage.smaIndicator(10), 10);
+        assertResumes(() -> SimpleMovingAverage.smaIndicator(10), 43);
+    }
+
+    @Test
+    void testRocResumes() {
+        assertResumes(() -> RateOfChange.rocIndicator(10), 10);
+        assertResumes(() -> RateOfChange.rocIndicator(10), 40);
+    }
+
+    @Test
+    void testRsiResumes() {
+        assertResumes(() -> RelativeStrengthIndex.rsiIndicator(14), 0);
+        assertResumes(() -> RelativeStrengthIndex.rsiIndicator(14), 7);
+        assertResumes(() -> RelativeStrengthIndex.rsiIndicator(14), 50);
+    }
+
+    @Test
+    void testAtrAndTrendVelocityResume() {
+        Candle[] candles = candles(3, randomWalk(3, 80));
+        assertResumes(() -> AverageTrueRange.atrIndicator(14), candles, 8);
+        assertResumes(() -> AverageTrueRange.atrIndicator(14), candles, 50);
+        assertResumes(() -> TrendVelocity.trendVelocityIndicator(10), candles, 15);
+        assertResumes(() -> TrendVelocity.trendVelocityIndicator(10), candles, 50);
+    }
+
+    @Test
+    void testTrendEngineResumes() {
+        double[] prices = randomWalk(3, 300);
+        TrendEngine original = new TrendEngine(8, 21, 200);
+        for (int i = 0; i < 250; i++) {
+            original.next(prices[i]);
+        }
+        TrendEngine resumed = new TrendEngine(8, 21, 200);
+        resumed.restore(roundTrip(original.checkpoint()));
+        assertEquals(original.trendState(), resumed.trendState());
+        for (int i = 250; i < prices.length; i++) {
+            original.next(prices[i]);
+            resumed.next(prices[i]);
+            assertEquals(original.trendState(), resumed.trendState());
+            assertArrayEquals(original.fast().toArray(), resumed.fast().toArray());
+            assertArrayEquals(original.lng().toArray(), resumed.lng().toArray());
+        }
+    }
+
+    @Test
+    void testMismatchedStateRejected() {
+        IndicatorState ema = ExponentialMovingAverage.emaIndicator(10).checkpoint();
+
+        assertThrows(IllegalArgumentException.class, () -> ExponentialMovingAverage.emaIndicator(12).restore(ema));
+        assertThrows(IllegalArgumentException.class, () -> ExponentialMovingAverage.emaIndicator(3.0, 10).restore(ema));
+        assertThrows(IllegalArgumentException.class, () -> SimpleMovingAverage.smaIndicator(10).restore(ema));
+        assertThrows(IllegalArgumentException.class, () -> new TrendEngine(5, 21, 200).restore(new TrendEngine(8, 21, 200).checkpoint()));
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+
+import static io.github.dfauth.ta.LinearRegression.*;
+import static io.github.dfauth.ta.TestData.randomWalk;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinearRegressionTest {
+
+    /**
+     * Two-pass OLS over {@code values[from, to)} with the latest at x = 0.
+     */
+    private static Fit naiveFit(double[] values, int from, int to) {
+        int n = to - from;
+        double meanX = -(n - 1) / 2.0;
+        double meanY = 0.0;
+        for (int i = from; i < to; i++) {
+            meanY += values[i];
+        }
+        meanY /= n;
+        double sxx = 0.0, sxy = 0.0, syy = 0.0;
+        for (int i = from; i < to; i++) {
+            double dx = (i - to + 1) - meanX;
+            double dy = values[i] - meanY;
+            sxx += dx * dx;
+            sxy += dx * dy;
+            syy += dy * dy;
+        }
+        double slope = sxy / sxx;
+        return new Fit(slope, meanY - slope * meanX, syy == 0.0 ? 0.0 : sxy * sxy / (sxx * syy));
+    }
+
+    @Test
+    void testPerfectLine() {
+        Indicator regression = regressionIndicator(5);
+        double slope = Double.NaN;
+        for (int i = 0; i < 8; i++) {
+            slope = regression.next(10.0 + 2.0 * i);
+        }
+        assertEquals(2.0, slope, 1e-12);
+        assertEquals(24.0, regression.intercept(), 1e-12);
+        assertEquals(1.0, regression.rSquared(), 1e-12);
+    }
+
+    @Test
+    void testFlatWindow() {
+        Indicator regression = regressionIndicator(3);
+        for (int i = 0; i < 3; i++) {
+            regression.next(7.0);
+        }
+        assertEquals(0.0, regression.slope());
+        assertEquals(7.0, regression.intercept(), 1e-12);
+        assertEquals(0.0, regression.rSquared());
+    }
+
+    @Test
+    void testNaNUntilFull() {
+        Indicator regression = regressionIndicator(3);
+        assertTrue(Double.isNaN(regression.next(1.0)));
+        assertTrue(Double.isNaN(regression.next(2.0)));
+        assertFalse(regression.isReady());
+        assertTrue(Double.isNaN(regression.rSquared()));
+        assertEquals(1.0, regression.next(3.0), 1e-12);
+        assertTrue(regression.isReady());
+    }
+
+    @Test
+    void testMatchesTwoPassOverLongSeries() {
+        double[] values = randomWalk(47, 5000);
+        for (int period : new int[]{2, 20, 251}) {
+            RollingRegression regression = new RollingRegression(period);
+            for (int i = 0; i < values.length; i++) {
+                regression.add(values[i]);
+                if (i >= period - 1) {
+                    Fit expected = naiveFit(values, i - period + 1, i + 1);
+                    assertEquals(expected.slope(), regression.slope(), 1e-9);
+                    assertEquals(expected.intercept(), regression.intercept(), 1e-8);
+                    assertEquals(expected.rSquared(), regression.rSquared(), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStableWithLargeOffset() {
+        Random random = new Random(48);
+        double[] values = new double[2000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1e6 + 0.01 * i + random.nextDouble();
+        }
+        RollingRegression regression = new RollingRegression(50);
+        for (int i = 0; i < values.length; i++) {
+            regression.add(values[i]);
+            if (i >= 49) {
+                Fit expected = naiveFit(values, i - 49, i + 1);
+                assertEquals(expected.slope(), regression.slope(), 1e-7);
+                assertEquals(expected.rSquared(), regression.rSquared(), 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void testBatchSlope() {
+        double[] slopes = slope(new double[]{1, 2, 3, 5, 4}, 3);
+        assertArrayEquals(new double[]{1.0, 1.5, 0.5}, slopes, 1e-12);
+        assertEquals(0, slope(new double[]{1, 2}, 3).length);
+    }
+
+    @Test
+    void testStream() {
+        Function<Double, Optional<Fit>> stream = regressionStream(2);
+        assertTrue(stream.apply(1.0).isEmpty());
+        Fit fit = stream.apply(3.0).orElseThrow();
+        assertEquals(2.0, fit.slope(), 1e-12);
+        assertEquals(3.0, fit.intercept(), 1e-12);
+        assertEquals(1.0, fit.rSquared(), 1e-12);
+    }
+
+    @Test
+    void testCheckpointResumes() {
+        Random random = new Random(49);
+        Indicator original = regressionIndicator(10);
+        for (int i = 0; i < 37; i++) {
+            original.next(100.0 + random.nextGaussian());
+        }
+        IndicatorState state = new IndicatorState();
+        state.read(original.checkpoint().write());
+        Indicator resumed = regressionIndicator(10);
+        resumed.restore(state);
+        for (int i = 0; i < 30; i++) {
+            double d = 100.0 + random.nextGaussian();
+            assertEquals(original.next(d), resumed.next(d));
+            assertEquals(original.rSquared(), resumed.rSquared());
+        }
+        assertThrows(IllegalArgumentException.class, () -> regressionIndicator(11).restore(state));
+    }
+
+    @Test
+    void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> regressionIndicator(1));
+    }
+}
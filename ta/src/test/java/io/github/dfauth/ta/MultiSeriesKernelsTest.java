@@ -0,0 +1,117 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import static io.github.dfauth.ta.TestData.candles;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiSeriesKernelsTest {
+
+    // deliberately not a multiple of any vector length so the scalar tail is exercised
+    private static final int LANES = 13;
+    private static final int TIMES = 120;
+    private static final int PERIOD = 14;
+
+    private final Candle[][] lanes = new Candle[LANES][];
+    private final double[] close = new double[LANES * TIMES];
+    private final double[] high = new double[LANES * TIMES];
+    private final double[] low = new double[LANES * TIMES];
+
+    MultiSeriesKernelsTest() {
+        for (int s = 0; s < LANES; s++) {
+            lanes[s] = candles(11 + s, TIMES);
+            for (int t = 0; t < TIMES; t++) {
+                int i = t * LANES + s;
+                close[i] = lanes[s][t].close();
+                high[i] = lanes[s][t].high();
+                low[i] = lanes[s][t].low();
+            }
+        }
+    }
+
+    private double[] series(double[] values, int s) {
+        double[] result = new double[TIMES];
+        for (int t = 0; t < TIMES; t++) {
+            result[t] = values[t * LANES + s];
+        }
+        return result;
+    }
+
+    private static void assertLane(double[] expected, double[] out, int s, int warmUp) {
+        for (int t = 0; t < TIMES; t++) {
+            double actual = out[t * LANES + s];
+            if (t < warmUp) {
+                assertTrue(Double.isNaN(actual), "lane " + s + " time " + t);
+            } else {
+                assertEquals(expected[t - warmUp], actual, 1e-9, "lane " + s + " time " + t);
+            }
+        }
+    }
+
+    private void assertMatchesSingleSeries(MultiSeriesKernels kernels) {
+        double[] out = new double[close.length];
+        for (int s = 0; s < LANES; s++) {
+            kernels.ema(close, LANES, PERIOD, out);
+            assertLane(ExponentialMovingAverage.ema(series(close, s), PERIOD), out, s, PERIOD - 1);
+            kernels.sma(close, LANES, PERIOD, out);
+            assertLane(SimpleMovingAverage.sma(series(close, s), PERIOD), out, s, PERIOD - 1);
+            kernels.rsi(close, LANES, PERIOD, out);
+            assertLane(RelativeStrengthIndex.rsi(series(close, s), PERIOD), out, s, PERIOD);
+            kernels.atr(high, low, close, LANES, PERIOD, out);
+            assertLane(AverageTrueRange.atr(lanes[s], PERIOD), out, s, PERIOD);
+        }
+    }
+
+    @Test
+    void testScalarMatchesSingleSeries() {
+        assertMatchesSingleSeries(MultiSeriesKernels.scalar());
+    }
+
+    @Test
+    void testPreferredMatchesSingleSeries() {
+        assertMatchesSingleSeries(MultiSeriesKernels.get());
+    }
+
+    @Test
+    void testVectorIsIdenticalToScalar() {
+        MultiSeriesKernels kernels = MultiSeriesKernels.get();
+        double[] expected = new double[close.length];
+        double[] actual = new double[close.length];
+
+        MultiSeriesKernels.scalar().wilder(close, LANES, PERIOD, expected);
+        kernels.wilder(close, LANES, PERIOD, actual);
+        assertArrayEquals(expected, actual);
+
+        MultiSeriesKernels.scalar().rsi(close, LANES, PERIOD, expected);
+        kernels.rsi(close, LANES, PERIOD, actual);
+        assertArrayEquals(expected, actual);
+
+        MultiSeriesKernels.scalar().atr(high, low, close, LANES, PERIOD, expected);
+        kernels.atr(high, low, close, LANES, PERIOD, actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    void testVectorSelectedWhenModulePresent() {
+        boolean present = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        assertEquals(present, MultiSeriesKernels.get() instanceof VectorMultiSeriesKernels);
+    }
+
+    @Test
+    void testInsufficientDataIsAllNaN() {
+        double[] in = new double[LANES * 3];
+        double[] out = new double[in.length];
+        MultiSeriesKernels.get().rsi(in, LANES, PERIOD, out);
+        for (double d : out) {
+            assertTrue(Double.isNaN(d));
+        }
+    }
+
+    @Test
+    void testShapeValidation() {
+        MultiSeriesKernels kernels = MultiSeriesKernels.get();
+        assertThrows(IllegalArgumentException.class, () -> kernels.ema(new double[10], 3, 2, new double[10]));
+        assertThrows(IllegalArgumentException.class, () -> kernels.ema(new double[9], 3, 2, new double[8]));
+        assertThrows(IllegalArgumentException.class, () -> kernels.ema(new double[9], 3, 0, new double[9]));
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStatisticTreeTest {
+
+    @Test
+    void testMatchesSortedList() {
+        Random random = new Random(48);
+        OrderStatisticTree tree = new OrderStatisticTree(64);
+        List<Double> sorted = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (sorted.size() == 64 || (!sorted.isEmpty() && random.nextInt(3) == 0)) {
+                double k = sorted.remove(random.nextInt(sorted.size()));
+                tree.remove(k);
+            } else {
+                // small integers so duplicates are common
+                double k = random.nextInt(20);
+                int at = Collections.binarySearch(sorted, k);
+                sorted.add(at < 0 ? -at - 1 : at, k);
+                tree.insert(k);
+            }
+            assertEquals(sorted.size(), tree.size());
+            if (!sorted.isEmpty()) {
+                int k = random.nextInt(sorted.size());
+                assertEquals(sorted.get(k), tree.kth(k));
+            }
+            double probe = random.nextInt(22) - 1;
+            assertEquals(sorted.stream().filter(d -> d < probe).count(), tree.countBelow(probe));
+            assertEquals(sorted.stream().filter(d -> d <= probe).count(), tree.countAtOrBelow(probe));
+        }
+    }
+
+    @Test
+    void testCapacityAndMissingKeys() {
+        OrderStatisticTree tree = new OrderStatisticTree(2);
+        tree.insert(1.0);
+        tree.insert(1.0);
+        assertThrows(IllegalStateException.class, () -> tree.insert(2.0));
+        assertThrows(IllegalArgumentException.class, () -> tree.remove(2.0));
+        tree.remove(1.0);
+        assertEquals(1, tree.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.kth(1));
+
+        tree.clear();
+        assertEquals(0, tree.size());
+        tree.insert(3.0);
+        tree.insert(Double.NaN);
+        assertEquals(Double.NaN, tree.kth(1));
+        tree.remove(Double.NaN);
+        assertEquals(3.0, tree.kth(0));
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderStatisticTree(0));
+    }
+}
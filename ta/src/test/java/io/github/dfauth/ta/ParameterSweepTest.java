@@ -0,0 +1,80 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntFunction;
+
+import static io.github.dfauth.ta.TestData.randomWalk;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParameterSweepTest {
+
+    private static final int[] PERIODS = {14, 1, 5, 30, 2};
+
+    private static double[] stream(DoubleUnaryIndicator indicator, double[] prices) {
+        double[] result = new double[prices.length];
+        for (int t = 0; t < prices.length; t++) {
+            result[t] = indicator.next(prices[t]);
+        }
+        return result;
+    }
+
+    private static void assertMatches(double[][] sweep, IntFunction<double[]> expected) {
+        assertEquals(PERIODS.length, sweep.length);
+        for (int j = 0; j < PERIODS.length; j++) {
+            assertArrayEquals(expected.apply(PERIODS[j]), sweep[j], "period " + PERIODS[j]);
+        }
+    }
+
+    @Test
+    void testEmaMatchesIndicator() {
+        double[] prices = randomWalk(37, 200);
+        assertMatches(ParameterSweep.ema(prices, PERIODS), p -> stream(ExponentialMovingAverage.emaIndicator(p), prices));
+    }
+
+    @Test
+    void testRsiMatchesIndicator() {
+        double[] prices = randomWalk(37, 200);
+        assertMatches(ParameterSweep.rsi(prices, PERIODS), p -> stream(RelativeStrengthIndex.rsiIndicator(p), prices));
+    }
+
+    @Test
+    void testAtrMatchesIndicator() {
+        double[] prices = randomWalk(37, 200);
+        CandleSeries series = new CandleSeries();
+        for (int t = 0; t < prices.length; t++) {
+            series.add(t, prices[t], prices[t] + 1.0 + Math.sin(t), prices[t] - 1.0, prices[t], 0);
+        }
+        assertMatches(ParameterSweep.atr(series, PERIODS), p -> {
+            CandleIndicator atr = AverageTrueRange.atrIndicator(p);
+            double[] result = new double[series.size()];
+            CandleSeries.Cursor cursor = series.cursor();
+            while (cursor.next()) {
+                result[cursor.index()] = atr.next(cursor);
+            }
+            return result;
+        });
+    }
+
+    @Test
+    void testShorterThanLongestPeriod() {
+        double[] prices = randomWalk(37, 10);
+        assertMatches(ParameterSweep.ema(prices, PERIODS), p -> stream(ExponentialMovingAverage.emaIndicator(p), prices));
+        assertMatches(ParameterSweep.rsi(prices, PERIODS), p -> stream(RelativeStrengthIndex.rsiIndicator(p), prices));
+    }
+
+    @Test
+    void testPeriods() {
+        assertArrayEquals(new int[]{5, 6, 7}, ParameterSweep.periods(5, 7));
+        assertEquals(246, ParameterSweep.periods(5, 250).length);
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.periods(0, 5));
+    }
+
+    @Test
+    void testInvalidShape() {
+        double[] prices = randomWalk(37, 10);
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.ema(prices, new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.ema(prices, new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> ParameterSweep.rsi(prices, new int[]{3}, new double[1][5]));
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static io.github.dfauth.ta.PercentRank.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PercentRankTest {
+
+    @Test
+    void testBatchPercentRank() {
+        // 3 is above 1 and 2 of {1, 2, 3}; 0 is below all; 2 is above only 0
+        assertArrayEquals(new double[]{100.0, 0.0, 50.0}, percentRank(new double[]{1, 2, 3, 0, 2}, 3));
+        assertEquals(0, percentRank(new double[]{1}, 3).length);
+    }
+
+    @Test
+    void testTiesCountAsNotBelow() {
+        DoubleUnaryIndicator rank = percentRankIndicator(3);
+        rank.next(5);
+        rank.next(5);
+        assertEquals(0.0, rank.next(5));
+        assertEquals(100.0, rank.next(6));
+    }
+
+    @Test
+    void testMatchesNaive() {
+        Random random = new Random(52);
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(50);
+        }
+        int period = 20;
+        DoubleUnaryIndicator rank = percentRankIndicator(period);
+        for (int i = 0; i < values.length; i++) {
+            double value = rank.next(values[i]);
+            if (i >= period - 1) {
+                int below = 0;
+                for (int j = i - period + 1; j < i; j++) {
+                    if (values[j] < values[i]) {
+                        below++;
+                    }
+                }
+                assertEquals(100.0 * below / (period - 1), value, 1e-12);
+            } else {
+                assertTrue(Double.isNaN(value));
+            }
+        }
+    }
+
+    @Test
+    void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> percentRankIndicator(1));
+    }
+}
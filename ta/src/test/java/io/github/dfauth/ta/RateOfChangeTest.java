@@ -105,4 +105,27 @@ class RateOfChangeTest {
         assertTrue(result.isPresent());
         assertEquals(-0.2, result.get(), 1e-9);
     }
+
+    @Test
+    void testKernelMatchesStreaming() {
+        double[] prices = {100, 102, 101, 105, 110, 108, 111, 115};
+        Function<Double, Optional<Double>> roc = RateOfChange.rocStream(3);
+        List<Double> expected = new ArrayList<>();
+        for (double price : prices) {
+            roc.apply(price).ifPresent(expected::add);
+        }
+        double[] out = new double[prices.length];
+
+        int n = RateOfChange.roc(prices, 3, out);
+
+        assertEquals(expected.size(), n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(expected.get(i), out[i], 1e-12);
+        }
+    }
+
+    @Test
+    void testKernelRejectsShortOutput() {
+        assertThrows(IllegalArgumentException.class, () -> RateOfChange.roc(new double[]{1, 2, 3, 4}, 1, new double[2]));
+    }
 }
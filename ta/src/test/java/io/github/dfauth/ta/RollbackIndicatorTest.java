@@ -0,0 +1,168 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static io.github.dfauth.ta.AverageTrueRange.atrIndicator;
+import static io.github.dfauth.ta.ExponentialMovingAverage.emaIndicator;
+import static io.github.dfauth.ta.RelativeStrengthIndex.rsiIndicator;
+import static io.github.dfauth.ta.SimpleMovingAverage.smaIndicator;
+import static io.github.dfauth.ta.TestData.randomWalk;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollbackIndicatorTest {
+
+    private static double replay(Supplier<DoubleUnaryIndicator> factory, List<Double> prices) {
+        DoubleUnaryIndicator indicator = factory.get();
+        double last = Double.NaN;
+        for (double price : prices) {
+            last = indicator.next(price);
+        }
+        return last;
+    }
+
+    private static void assertMatchesReplay(Supplier<DoubleUnaryIndicator> factory, int depth) {
+        Random random = new Random(46);
+        List<Double> history = new ArrayList<>();
+        RollbackIndicator indicator = new RollbackIndicator(factory.get(), depth);
+        for (double price : randomWalk(46, 200)) {
+            history.add(price);
+            assertEquals(replay(factory, history), indicator.next(price));
+            assertTrue(indicator.journalled() >= Math.min(depth, history.size()));
+            if (history.size() % 7 == 0) {
+                int ago = random.nextInt(depth);
+                double revised = price + random.nextGaussian();
+                history.set(history.size() - 1 - ago, revised);
+                assertEquals(replay(factory, history), indicator.correct(ago, revised));
+            }
+            if (history.size() % 11 == 0) {
+                int ago = random.nextInt(depth + 1);
+                double missed = price + random.nextGaussian();
+                history.add(history.size() - ago, missed);
+                assertEquals(replay(factory, history), indicator.insert(ago, missed));
+            }
+        }
+    }
+
+    @Test
+    void testEmaCorrectionsMatchFullReplay() {
+        assertMatchesReplay(() -> emaIndicator(10), 5);
+    }
+
+    @Test
+    void testSmaCorrectionsMatchFullReplay() {
+        assertMatchesReplay(() -> smaIndicator(20), 8);
+    }
+
+    @Test
+    void testRsiCorrectionsMatchFullReplay() {
+        assertMatchesReplay(() -> rsiIndicator(14), 1);
+    }
+
+    @Test
+    void testCorrectingLatest() {
+        RollbackIndicator indicator = new RollbackIndicator(smaIndicator(2), 3);
+        indicator.next(1.0);
+        assertEquals(2.0, indicator.next(3.0));
+        assertEquals(3.0, indicator.correct(0, 5.0));
+        assertEquals(5.5, indicator.next(6.0));
+    }
+
+    @Test
+    void testInsertingMissedValue() {
+        RollbackIndicator indicator = new RollbackIndicator(smaIndicator(2), 3);
+        indicator.next(1.0);
+        indicator.next(3.0);
+        // 1, 2, 3
+        assertEquals(2.5, indicator.insert(1, 2.0));
+        assertEquals(3, indicator.journalled());
+        // 0, 1, 2, 3
+        assertEquals(2.5, indicator.insert(3, 0.0));
+    }
+
+    @Test
+    void testBeyondJournal() {
+        RollbackIndicator indicator = new RollbackIndicator(emaIndicator(3), 2);
+        assertThrows(IllegalArgumentException.class, () -> indicator.correct(0, 1.0));
+        for (int i = 0; i < 10; i++) {
+            indicator.next(i);
+        }
+        assertTrue(indicator.journalled() <= 4);
+        assertThrows(IllegalArgumentException.class, () -> indicator.correct(indicator.journalled(), 1.0));
+        assertThrows(IllegalArgumentException.class, () -> indicator.insert(indicator.journalled() + 1, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> indicator.correct(-1, 1.0));
+    }
+
+    @Test
+    void testRestoreClearsJournal() {
+        RollbackIndicator indicator = new RollbackIndicator(smaIndicator(2), 3);
+        indicator.next(1.0);
+        indicator.next(3.0);
+        IndicatorState state = indicator.checkpoint();
+        indicator.next(10.0);
+        indicator.next(20.0);
+
+        indicator.restore(state);
+        assertEquals(0, indicator.journalled());
+        assertThrows(IllegalArgumentException.class, () -> indicator.correct(0, 1.0));
+
+        // 3, 5, then 3, 7 after the correction
+        assertEquals(4.0, indicator.next(5.0));
+        assertEquals(5.0, indicator.correct(0, 7.0));
+        assertEquals(8.0, indicator.next(9.0));
+    }
+
+    @Test
+    void testRestoreCandleIndicator() {
+        RollbackCandleIndicator indicator = new RollbackCandleIndicator(atrIndicator(2), 2);
+        CandleIndicator reference = atrIndicator(2);
+        for (double c : new double[]{10, 11, 12}) {
+            indicator.next(Candle.candle(c, c + 1, c - 1, c));
+            reference.next(Candle.candle(c, c + 1, c - 1, c));
+        }
+        IndicatorState state = indicator.checkpoint();
+        indicator.next(Candle.candle(30, 40, 20, 30));
+
+        indicator.restore(state);
+        assertEquals(0, indicator.journalled());
+        indicator.next(Candle.candle(13, 15, 12, 13));
+        assertEquals(reference.next(Candle.candle(13, 14, 12, 13)), indicator.correct(0, Candle.candle(13, 14, 12, 13)));
+    }
+
+    @Test
+    void testInvalidDepth() {
+        assertThrows(IllegalArgumentException.class, () -> new RollbackIndicator(emaIndicator(3), 0));
+    }
+
+    @Test
+    void testCandleCorrectionsMatchFullReplay() {
+        double[] closes = randomWalk(46, 120);
+        Random random = new Random(47);
+        List<Candle> history = new ArrayList<>();
+        RollbackCandleIndicator indicator = new RollbackCandleIndicator(atrIndicator(14), 6);
+        for (int i = 0; i < closes.length; i++) {
+            double c = closes[i];
+            history.add(Candle.candle(c, c + random.nextDouble(), c - random.nextDouble(), c));
+            double streamed = indicator.next(history.getLast());
+            if (i % 5 == 4) {
+                int ago = random.nextInt(6);
+                double r = c + random.nextGaussian();
+                Candle revised = Candle.candle(r, r + 1.0, r - 1.0, r);
+                history.set(history.size() - 1 - ago, revised);
+                streamed = indicator.correct(ago, revised);
+            }
+            CandleIndicator replayed = atrIndicator(14);
+            double expected = Double.NaN;
+            for (Candle candle : history) {
+                expected = replayed.next(candle);
+            }
+            assertEquals(expected, streamed);
+            assertEquals(replayed.isReady(), indicator.isReady());
+        }
+        assertTrue(indicator.journalled() >= 6 && indicator.journalled() <= 12);
+    }
+}
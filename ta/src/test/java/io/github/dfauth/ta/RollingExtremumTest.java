@@ -0,0 +1,110 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingExtremumTest {
+
+    @Test
+    void testMaxSlidesWithWindow() {
+        RollingExtremum max = RollingExtremum.max(3);
+
+        assertEquals(5.0, max.add(5.0));
+        assertEquals(5.0, max.add(1.0));
+        assertEquals(5.0, max.add(2.0));
+        assertEquals(2, max.age());
+        // 5.0 drops out of the window
+        assertEquals(3.0, max.add(3.0));
+        assertEquals(0, max.age());
+        assertEquals(3.0, max.add(0.0));
+    }
+
+    @Test
+    void testMinSlidesWithWindow() {
+        RollingExtremum min = RollingExtremum.min(2);
+
+        assertEquals(4.0, min.add(4.0));
+        assertEquals(2.0, min.add(2.0));
+        assertEquals(2.0, min.add(3.0));
+        assertEquals(1, min.age());
+        assertEquals(3.0, min.add(6.0));
+    }
+
+    @Test
+    void testTiesKeepLatest() {
+        RollingExtremum max = RollingExtremum.max(5);
+        max.add(7.0);
+        max.add(1.0);
+        max.add(7.0);
+        max.add(1.0);
+
+        assertEquals(7.0, max.value());
+        assertEquals(1, max.age());
+    }
+
+    @Test
+    void testEmpty() {
+        RollingExtremum max = RollingExtremum.max(3);
+
+        assertTrue(Double.isNaN(max.value()));
+        assertEquals(-1, max.age());
+        assertFalse(max.isFull());
+    }
+
+    @Test
+    void testMatchesNaiveScan() {
+        Random random = new Random(5);
+        double[] values = new double[500];
+        for (int i = 0; i < values.length; i++) {
+            // coarse values so ties are common
+            values[i] = random.nextInt(20);
+        }
+        for (int period : new int[]{1, 2, 7, 16, 33}) {
+            RollingExtremum max = RollingExtremum.max(period);
+            RollingExtremum min = RollingExtremum.min(period);
+            for (int i = 0; i < values.length; i++) {
+                max.add(values[i]);
+                min.add(values[i]);
+                int from = Math.max(0, i - period + 1);
+                double expectedMax = Double.NEGATIVE_INFINITY;
+                double expectedMin = Double.POSITIVE_INFINITY;
+                int maxAt = -1;
+                for (int j = from; j <= i; j++) {
+                    if (values[j] >= expectedMax) {
+                        expectedMax = values[j];
+                        maxAt = j;
+                    }
+                    expectedMin = Math.min(expectedMin, values[j]);
+                }
+                assertEquals(expectedMax, max.value());
+                assertEquals(expectedMin, min.value());
+                assertEquals(i - maxAt, max.age());
+            }
+        }
+    }
+
+    @Test
+    void testCheckpointResumes() {
+        Random random = new Random(9);
+        RollingExtremum original = RollingExtremum.max(10);
+        for (int i = 0; i < 25; i++) {
+            original.add(random.nextGaussian());
+        }
+        RollingExtremum resumed = RollingExtremum.max(10);
+        resumed.restore(original.checkpoint());
+        for (int i = 0; i < 50; i++) {
+            double d = random.nextGaussian();
+            assertEquals(original.add(d), resumed.add(d));
+            assertEquals(original.age(), resumed.age());
+        }
+        assertThrows(IllegalArgumentException.class, () -> RollingExtremum.min(10).restore(original.checkpoint()));
+    }
+
+    @Test
+    void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> RollingExtremum.max(0));
+    }
+}
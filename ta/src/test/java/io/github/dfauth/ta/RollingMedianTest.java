@@ -0,0 +1,77 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static io.github.dfauth.ta.RollingMedian.*;
+import static io.github.dfauth.ta.TestData.candles;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingMedianTest {
+
+    private static double naiveMedian(double[] values, int from, int to) {
+        double[] sorted = Arrays.copyOfRange(values, from, to);
+        Arrays.sort(sorted);
+        int n = sorted.length;
+        return n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2;
+    }
+
+    @Test
+    void testBatchMedian() {
+        assertArrayEquals(new double[]{2.0, 3.0, 3.0}, median(new double[]{1, 3, 2, 4, 3}, 3));
+        assertEquals(0, median(new double[]{1, 2}, 3).length);
+    }
+
+    @Test
+    void testMedianIgnoresOutlier() {
+        DoubleUnaryIndicator median = medianIndicator(5);
+        for (double d : new double[]{10, 11, 10, 1000, 11}) {
+            median.next(d);
+        }
+        assertEquals(11.0, median.next(10));
+    }
+
+    @Test
+    void testMedianTrueRangeMatchesNaive() {
+        int n = 300;
+        int period = 14;
+        Candle[] candles = candles(51, n);
+        double[] trueRanges = new double[n];
+        for (int i = 0; i < n; i++) {
+            trueRanges[i] = i == 0 ? Double.NaN : AverageTrueRange.trueRange(candles[i].high(), candles[i].low(), candles[i - 1].close());
+        }
+        CandleIndicator mtr = medianTrueRangeIndicator(period);
+        for (int i = 0; i < n; i++) {
+            double value = mtr.next(candles[i]);
+            if (i < period) {
+                assertTrue(Double.isNaN(value));
+                assertFalse(mtr.isReady());
+            } else {
+                assertEquals(naiveMedian(trueRanges, i - period + 1, i + 1), value);
+                assertTrue(mtr.isReady());
+            }
+        }
+    }
+
+    @Test
+    void testMedianTrueRangeCheckpointResumes() {
+        CandleIndicator original = medianTrueRangeIndicator(3);
+        double[] closes = {10, 12, 11, 15, 14, 13, 16, 18};
+        for (int i = 0; i < 4; i++) {
+            original.next(Candle.candle(closes[i], closes[i] + 1, closes[i] - 1, closes[i]));
+        }
+        CandleIndicator resumed = medianTrueRangeIndicator(3);
+        resumed.restore(original.checkpoint());
+        for (int i = 4; i < closes.length; i++) {
+            Candle candle = Candle.candle(closes[i], closes[i] + 1, closes[i] - 1, closes[i]);
+            assertEquals(original.next(candle), resumed.next(candle));
+        }
+    }
+
+    @Test
+    void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> medianIndicator(0));
+        assertThrows(IllegalArgumentException.class, () -> medianTrueRangeIndicator(0));
+    }
+}
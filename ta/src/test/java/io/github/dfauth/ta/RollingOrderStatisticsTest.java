@@ -0,0 +1,79 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingOrderStatisticsTest {
+
+    @Test
+    void testQuantilesMatchSortedWindow() {
+        Random random = new Random(49);
+        double[] values = new double[3000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.round(100.0 + random.nextGaussian() * 10);
+        }
+        for (int period : new int[]{1, 2, 7, 50}) {
+            RollingOrderStatistics statistics = new RollingOrderStatistics(period);
+            for (int i = 0; i < values.length; i++) {
+                statistics.add(values[i]);
+                if (i >= period - 1) {
+                    double[] sorted = Arrays.copyOfRange(values, i - period + 1, i + 1);
+                    Arrays.sort(sorted);
+                    assertEquals(sorted[0], statistics.quantile(0.0));
+                    assertEquals(sorted[period - 1], statistics.quantile(1.0));
+                    double h = (period - 1) * 0.25;
+                    int lo = (int) h;
+                    double expected = lo + 1 < period ? sorted[lo] + (h - lo) * (sorted[lo + 1] - sorted[lo]) : sorted[lo];
+                    assertEquals(expected, statistics.quantile(0.25), 1e-12);
+                    assertEquals(sorted[period / 2], statistics.kth(period / 2));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMedian() {
+        RollingOrderStatistics statistics = new RollingOrderStatistics(4);
+        statistics.add(5);
+        statistics.add(1);
+        statistics.add(9);
+        assertTrue(Double.isNaN(statistics.median()));
+        statistics.add(3);
+        assertEquals(4.0, statistics.median());
+        statistics.add(7);  // 1, 9, 3, 7
+        assertEquals(5.0, statistics.median());
+        assertEquals(2, statistics.countBelow(7));
+        assertEquals(3, statistics.countAtOrBelow(7));
+    }
+
+    @Test
+    void testInvalidQuantile() {
+        RollingOrderStatistics statistics = new RollingOrderStatistics(2);
+        assertThrows(IllegalArgumentException.class, () -> statistics.quantile(1.5));
+        assertThrows(IllegalArgumentException.class, () -> statistics.quantile(Double.NaN));
+    }
+
+    @Test
+    void testCheckpointResumes() {
+        Random random = new Random(50);
+        RollingOrderStatistics original = new RollingOrderStatistics(9);
+        for (int i = 0; i < 20; i++) {
+            original.add(random.nextInt(10));
+        }
+        IndicatorState state = new IndicatorState();
+        state.read(original.checkpoint().write());
+        RollingOrderStatistics resumed = new RollingOrderStatistics(9);
+        resumed.restore(state);
+        for (int i = 0; i < 20; i++) {
+            double d = random.nextInt(10);
+            original.add(d);
+            resumed.add(d);
+            assertEquals(original.median(), resumed.median());
+            assertEquals(original.countBelow(d), resumed.countBelow(d));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingSumTest {
+
+    @Test
+    void testSumOfPartialWindow() {
+        RollingSum rollingSum = new RollingSum(3);
+
+        assertEquals(1.0, rollingSum.add(1.0), 1e-9);
+        assertEquals(3.0, rollingSum.add(2.0), 1e-9);
+        assertFalse(rollingSum.isFull());
+        assertTrue(Double.isNaN(rollingSum.mean()));
+    }
+
+    @Test
+    void testSumSlidesWithWindow() {
+        RollingSum rollingSum = new RollingSum(3);
+        rollingSum.add(1.0);
+        rollingSum.add(2.0);
+        rollingSum.add(3.0);
+
+        assertTrue(rollingSum.isFull());
+        assertEquals(6.0, rollingSum.sum(), 1e-9);
+        assertEquals(2.0, rollingSum.mean(), 1e-9);
+        assertEquals(9.0, rollingSum.add(4.0), 1e-9);
+        assertEquals(12.0, rollingSum.add(5.0), 1e-9);
+    }
+
+    @Test
+    void testDriftIsBounded() {
+        int period = 200;
+        RollingSum rollingSum = new RollingSum(period);
+        DoubleRingBuffer reference = new DoubleRingBuffer(period);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // wide dynamic range to provoke cancellation error
+            double d = random.nextDouble() * (i % 7 == 0 ? 1e6 : 1e-3);
+            rollingSum.add(d);
+            reference.write(d);
+            assertEquals(reference.sum(), rollingSum.sum(), Math.abs(reference.sum()) * 1e-9 + 1e-9);
+        }
+    }
+
+    @Test
+    void testMeanMatchesNaiveAverage() {
+        double[] prices = {44.0, 44.3, 44.1, 44.2, 44.5, 43.9, 44.7, 45.1, 45.4, 45.0};
+        int period = 4;
+        RollingSum rollingSum = new RollingSum(period);
+        for (int i = 0; i < prices.length; i++) {
+            rollingSum.add(prices[i]);
+            if (i >= period - 1) {
+                double expected = 0.0;
+                for (int j = i - period + 1; j <= i; j++) {
+                    expected += prices[j];
+                }
+                assertEquals(expected / period, rollingSum.mean(), 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingVarianceTest {
+
+    private static double naiveVariance(double[] values, int from, int to) {
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        double mean = sum / (to - from);
+        double m2 = 0.0;
+        for (int i = from; i < to; i++) {
+            m2 += (values[i] - mean) * (values[i] - mean);
+        }
+        return m2 / (to - from);
+    }
+
+    @Test
+    void testSmallWindow() {
+        RollingVariance variance = new RollingVariance(4);
+        for (double d : new double[]{2, 4, 4, 4}) {
+            variance.add(d);
+        }
+        assertEquals(3.5, variance.mean(), 1e-12);
+        assertEquals(0.75, variance.variance(), 1e-12);
+        assertEquals(1.0, variance.sampleVariance(), 1e-12);
+
+        variance.add(6);  // window is now 4, 4, 4, 6
+        assertEquals(4.5, variance.mean(), 1e-12);
+        assertEquals(0.75, variance.variance(), 1e-12);
+        assertEquals(Math.sqrt(0.75), variance.stddev(), 1e-12);
+    }
+
+    @Test
+    void testNaNUntilFull() {
+        RollingVariance variance = new RollingVariance(3);
+        variance.add(1.0);
+        variance.add(2.0);
+
+        assertFalse(variance.isFull());
+        assertTrue(Double.isNaN(variance.mean()));
+        assertTrue(Double.isNaN(variance.variance()));
+        assertTrue(Double.isNaN(new RollingVariance(1).sampleVariance()));
+    }
+
+    @Test
+    void testMatchesTwoPassOverLongSeries() {
+        Random random = new Random(17);
+        double[] values = new double[5000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100.0 + random.nextGaussian() * 5;
+        }
+        for (int period : new int[]{2, 20, 251}) {
+            RollingVariance variance = new RollingVariance(period);
+            for (int i = 0; i < values.length; i++) {
+                variance.add(values[i]);
+                if (i >= period - 1) {
+                    assertEquals(naiveVariance(values, i - period + 1, i + 1), variance.variance(), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStableWithLargeOffset() {
+        // naive sum-of-squares loses all precision at this magnitude
+        Random random = new Random(23);
+        double[] values = new double[2000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1e9 + random.nextDouble();
+        }
+        RollingVariance variance = new RollingVariance(50);
+        for (int i = 0; i < values.length; i++) {
+            variance.add(values[i]);
+            if (i >= 49) {
+                double expected = naiveVariance(values, i - 49, i + 1);
+                assertEquals(expected, variance.variance(), expected * 1e-4);
+            }
+        }
+    }
+
+    @Test
+    void testCheckpointResumes() {
+        Random random = new Random(29);
+        RollingVariance original = new RollingVariance(10);
+        for (int i = 0; i < 37; i++) {
+            original.add(random.nextGaussian());
+        }
+        RollingVariance resumed = new RollingVariance(10);
+        resumed.restore(original.checkpoint());
+        for (int i = 0; i < 40; i++) {
+            double d = random.nextGaussian();
+            assertEquals(original.add(d), resumed.add(d));
+            assertEquals(original.variance(), resumed.variance());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static io.github.dfauth.ta.TestData.randomWalk;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanEngineTest {
+
+    private static Map<String, double[]> market(int codes, int length) {
+        Map<String, double[]> market = new LinkedHashMap<>();
+        for (int c = 0; c < codes; c++) {
+            market.put("C" + c, randomWalk(31 + c, length));
+        }
+        return market;
+    }
+
+    @Test
+    void testMatchesSequentialScan() {
+        Map<String, double[]> market = market(200, 300);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ScanEngine.ScanResult<String> result = new ScanEngine(pool)
+                    .scan(market, ScanEngine.last(() -> RelativeStrengthIndex.rsiIndicator(14)));
+
+            assertEquals(List.copyOf(market.keySet()), result.keys());
+            for (int i = 0; i < result.size(); i++) {
+                double[] rsi = RelativeStrengthIndex.rsi(market.get(result.key(i)), 14);
+                assertEquals(rsi[rsi.length - 1], result.value(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testWritesIntoPreallocatedArray() {
+        List<double[]> inputs = List.copyOf(market(10, 50).values());
+        double[] out = new double[12];
+        out[11] = -1.0;
+
+        assertSame(out, ScanEngine.common().scan(inputs, ScanEngine.last(() -> SimpleMovingAverage.smaIndicator(5)), out));
+        for (int i = 0; i < inputs.size(); i++) {
+            double[] prices = inputs.get(i);
+            double[] sma = SimpleMovingAverage.sma(prices, 5);
+            assertEquals(sma[sma.length - 1], out[i], 1e-9);
+        }
+        assertEquals(-1.0, out[11]);
+        assertThrows(IllegalArgumentException.class, () -> ScanEngine.common().scan(inputs, p -> 0.0, new double[9]));
+    }
+
+    @Test
+    void testInsufficientDataIsNaN() {
+        Map<String, double[]> market = Map.of("SHORT", new double[]{1, 2, 3});
+
+        assertTrue(Double.isNaN(ScanEngine.common().scan(market, ScanEngine.last(() -> RelativeStrengthIndex.rsiIndicator(14))).value(0)));
+    }
+
+    @Test
+    void testCandleSeriesScan() {
+        Map<Integer, CandleSeries> market = new LinkedHashMap<>();
+        IntStream.range(0, 20).forEach(c -> {
+            CandleSeries series = new CandleSeries();
+            for (int i = 0; i < 60; i++) {
+                double close = 10 + c + Math.sin(i / 3.0);
+                series.add(i, close, close + 0.5, close - 0.5, close, 1000);
+            }
+            market.put(c, series);
+        });
+        Map<Integer, Double> atr = ScanEngine.common().scan(market, ScanEngine.lastCandle(() -> AverageTrueRange.atrIndicator(14))).toMap();
+
+        market.forEach((c, series) -> {
+            double[] expected = AverageTrueRange.atr(series, 14);
+            assertEquals(expected[expected.length - 1], atr.get(c), 1e-12);
+        });
+    }
+
+    @Test
+    void testSpecFailurePropagates() {
+        Map<String, double[]> market = market(50, 10);
+
+        assertThrows(IllegalStateException.class, () -> ScanEngine.common().scan(market, p -> {
+            throw new IllegalStateException("boom");
+        }));
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignalEngineTest {
+
+    record Fired(String name, int tick) {}
+
+    private static Candle candle(double close) {
+        return Candle.candle(close, close, close, close);
+    }
+
+    @Test
+    void testThresholdFiresOnlyOnFlip() {
+        List<Fired> fired = new ArrayList<>();
+        SignalEngine.Builder b = SignalEngine.builder();
+        IndicatorGraph.Builder g = b.graph();
+        b.below("below 10", g.close(), 10.0).above("above 10", g.close(), 10.0);
+        SignalEngine engine = b.build((name, tick) -> fired.add(new Fired(name, tick)));
+
+        // first known tick establishes the side without firing
+        for (double close : new double[]{9, 11, 12, 10, 13, 8, 7}) {
+            engine.next(candle(close));
+        }
+
+        assertEquals(List.of(
+                new Fired("above 10", 1),
+                // touching 10 at tick 3 keeps the side, so tick 4 is not a cross
+                new Fired("below 10", 5)
+        ), fired);
+    }
+
+    @Test
+    void testCrossOfTwoNodes() {
+        List<Fired> fired = new ArrayList<>();
+        SignalEngine.Builder b = SignalEngine.builder();
+        IndicatorGraph.Builder g = b.graph();
+        IndicatorGraph.Node fast = g.sma(g.close(), 2);
+        IndicatorGraph.Node slow = g.sma(g.close(), 4);
+        b.crossAbove("golden", fast, slow).crossBelow("death", fast, slow);
+        SignalEngine engine = b.build((name, tick) -> fired.add(new Fired(name, tick)));
+
+        double[] closes = {10, 9, 8, 7, 6, 9, 12, 12, 8, 4};
+        int[] counts = new int[closes.length];
+        for (int i = 0; i < closes.length; i++) {
+            counts[i] = engine.next(candle(closes[i]));
+        }
+
+        // tick 3: fast 7.5 < slow 8.5; tick 5: fast 7.5 = slow 7.5; tick 6: 10.5 > 8.25
+        assertEquals(new Fired("golden", 6), fired.get(0));
+        assertEquals(1, counts[6]);
+        // tick 8: fast 10 < slow 10.25
+        assertEquals(List.of(new Fired("golden", 6), new Fired("death", 8)), fired);
+        assertEquals(0, counts[9]);
+        assertEquals(6.0, engine.graph().value(fast));
+    }
+
+    @Test
+    void testTrendTransition() {
+        List<Fired> fired = new ArrayList<>();
+        SignalEngine engine = SignalEngine.builder()
+                .trendPeriods(2, 3, 5)
+                .trendTransition("any", null, null)
+                .trendTransition("to bear", null, TrendState.BEAR)
+                .trendTransition("bull to late bull", TrendState.BULL, TrendState.LATE_BULL)
+                .build((name, tick) -> fired.add(new Fired(name, tick)));
+
+        TrendEngine reference = new TrendEngine(2, 3, 5);
+        List<TrendState> states = new ArrayList<>();
+        double[] closes = {1, 2, 3, 4, 5, 6, 7, 6, 5, 4, 3, 2, 1, 0.5};
+        for (double close : closes) {
+            engine.next(candle(close));
+            states.add(reference.next(close) ? reference.trendState() : null);
+        }
+
+        List<Fired> expected = new ArrayList<>();
+        for (int i = 1; i < states.size(); i++) {
+            TrendState prev = states.get(i - 1);
+            TrendState next = states.get(i);
+            if (prev != null && next != prev) {
+                expected.add(new Fired("any", i));
+                if (next == TrendState.BEAR) {
+                    expected.add(new Fired("to bear", i));
+                }
+                if (prev == TrendState.BULL && next == TrendState.LATE_BULL) {
+                    expected.add(new Fired("bull to late bull", i));
+                }
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, fired);
+    }
+
+    @Test
+    void testFlatSeriesHasNoTransition() {
+        List<Fired> fired = new ArrayList<>();
+        SignalEngine engine = SignalEngine.builder()
+                .trendTransition("any", null, null)
+                .build((name, tick) -> fired.add(new Fired(name, tick)));
+
+        // all three EMAs equal, so no ordering holds on any tick
+        for (int i = 0; i < 300; i++) {
+            assertEquals(0, engine.next(candle(10.0)));
+        }
+
+        assertTrue(fired.isEmpty());
+    }
+
+    @Test
+    void testEnginesHaveIndependentState() {
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        SignalEngine.Builder b = SignalEngine.builder();
+        b.above("up", b.graph().close(), 5.0);
+        SignalEngine a = b.build((name, tick) -> first.add(name));
+        SignalEngine c = b.build((name, tick) -> second.add(name));
+
+        a.next(candle(4));
+        a.next(candle(6));
+        c.next(candle(6));
+
+        assertEquals(List.of("up"), first);
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    void testForeignNodeRejected() {
+        IndicatorGraph.Node foreign = IndicatorGraph.builder().close();
+
+        assertThrows(IllegalArgumentException.class, () -> SignalEngine.builder().above("x", foreign, 1.0));
+    }
+}
@@ -101,4 +101,31 @@ class SimpleMovingAverageTest {
     void testWindowedSmaPeriodExceedsWindow() {
         assertThrows(IllegalArgumentException.class, () -> SimpleMovingAverage.sma(5, 3));
     }
+
+    @Test
+    void testKernelMatchesNaiveAverage() {
+        double[] prices = new double[100];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 1e6 + Math.cos(i) * 1e-3 + (i % 5 == 0 ? 1e4 : 0);
+        }
+        int period = 7;
+        double[] out = new double[prices.length];
+
+        int n = SimpleMovingAverage.sma(prices, period, out);
+
+        assertEquals(prices.length - period + 1, n);
+        for (int i = 0; i < n; i++) {
+            double sum = 0.0;
+            for (int j = i; j < i + period; j++) {
+                sum += prices[j];
+            }
+            assertEquals(sum / period, out[i], 1e-6, "index " + i);
+        }
+    }
+
+    @Test
+    void testKernelInsufficientDataAndShortOutput() {
+        assertEquals(0, SimpleMovingAverage.sma(new double[]{1, 2}, 3, new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> SimpleMovingAverage.sma(new double[]{1, 2, 3, 4}, 2, new double[2]));
+    }
 }
@@ -0,0 +1,60 @@
+package io.github.dfauth.ta;
+
+import java.util.Random;
+
+/**
+ * Seeded synthetic series shared by the indicator tests. Each call draws
+ * from its own {@link Random}, so a test's data depends only on its seed.
+ */
+final class TestData {
+
+    private TestData() {
+    }
+
+    /**
+     * @return {@code n} prices of a Gaussian random walk starting from 100,
+     * floored at 1 so the series stays a plausible price
+     */
+    static double[] randomWalk(long seed, int n) {
+        Random random = new Random(seed);
+        double[] prices = new double[n];
+        double price = 100.0;
+        for (int i = 0; i < n; i++) {
+            price = Math.max(1.0, price + random.nextGaussian());
+            prices[i] = price;
+        }
+        return prices;
+    }
+
+    /**
+     * @return candles opening and closing at {@code closes}, with the high
+     * and low up to 1 either side
+     */
+    static Candle[] candles(long seed, double[] closes) {
+        Random random = new Random(seed);
+        Candle[] candles = new Candle[closes.length];
+        for (int i = 0; i < closes.length; i++) {
+            double c = closes[i];
+            candles[i] = Candle.candle(c, c + random.nextDouble(), c - random.nextDouble(), c);
+        }
+        return candles;
+    }
+
+    /**
+     * @return {@code n} candles closing on a {@link #randomWalk}, each
+     * opening at the previous close, with the high and low up to 1 beyond
+     * the body
+     */
+    static Candle[] candles(long seed, int n) {
+        double[] closes = randomWalk(seed, n);
+        Random random = new Random(~seed);
+        Candle[] candles = new Candle[n];
+        double open = 100.0;
+        for (int i = 0; i < n; i++) {
+            double close = closes[i];
+            candles[i] = Candle.candle(open, Math.max(open, close) + random.nextDouble(), Math.min(open, close) - random.nextDouble(), close);
+            open = close;
+        }
+        return candles;
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickResamplerTest {
+
+    record Bar(long start, double open, double high, double low, double close, double volume, int ticks) {}
+
+    @Test
+    void testMinuteBars() {
+        List<Bar> bars = new ArrayList<>();
+        TickResampler resampler = new TickResampler(Duration.ofMinutes(1), (s, o, h, l, c, v, n) -> bars.add(new Bar(s, o, h, l, c, v, n)));
+
+        resampler.next(60_500, 10.0, 100);
+        resampler.next(75_000, 10.5, 50);
+        resampler.next(119_999, 9.5, 25);
+        assertTrue(bars.isEmpty());
+        // next minute completes the first bar; the gap at 180_000 produces no bar
+        assertTrue(resampler.next(120_000, 9.75, 10));
+        assertTrue(resampler.next(245_000, 11.0, 5));
+        assertTrue(resampler.flush());
+        assertFalse(resampler.flush());
+
+        assertEquals(List.of(
+                new Bar(60_000, 10.0, 10.5, 9.5, 9.5, 175, 3),
+                new Bar(120_000, 9.75, 9.75, 9.75, 9.75, 10, 1),
+                new Bar(240_000, 11.0, 11.0, 11.0, 11.0, 5, 1)
+        ), bars);
+    }
+
+    @Test
+    void testFormingBarIsReadable() {
+        TickResampler resampler = new TickResampler(Duration.ofSeconds(5), (s, o, h, l, c, v, n) -> {});
+        resampler.next(1_000, 3.0, 1);
+        resampler.next(2_000, 4.0, 2);
+
+        assertTrue(resampler.isOpen());
+        assertEquals(0L, resampler.startMillis());
+        assertEquals(2, resampler.ticks());
+        assertEquals(4.0, resampler.high());
+        assertEquals(3.0, resampler.low());
+        assertEquals(3.0, resampler.volume());
+    }
+
+    @Test
+    void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new TickResampler(Duration.ZERO, (s, o, h, l, c, v, n) -> {}));
+        TickResampler resampler = new TickResampler(Duration.ofSeconds(1), (s, o, h, l, c, v, n) -> {});
+        resampler.next(5_000, 1.0, 1);
+        assertThrows(IllegalArgumentException.class, () -> resampler.next(4_999, 1.0, 1));
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import static io.github.dfauth.ta.TestData.randomWalk;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendEngineTest {
+
+    @Test
+    void testEachEmaSeesEveryPrice() {
+        double[] prices = randomWalk(7, 100);
+        TrendEngine engine = new TrendEngine(3, 7, 20);
+        DoubleUnaryIndicator fast = ExponentialMovingAverage.emaIndicator(3);
+        DoubleUnaryIndicator slow = ExponentialMovingAverage.emaIndicator(7);
+        DoubleUnaryIndicator lng = ExponentialMovingAverage.emaIndicator(20);
+        for (double price : prices) {
+            boolean ready = engine.next(price);
+            double f = fast.next(price);
+            double s = slow.next(price);
+            double l = lng.next(price);
+            assertEquals(lng.isReady(), ready);
+            if (ready) {
+                assertEquals(f, engine.fast().last(), 1e-9);
+                assertEquals(s, engine.slow().last(), 1e-9);
+                assertEquals(l, engine.lng().last(), 1e-9);
+                assertEquals(TrendState.classify(f, s, l), engine.trendState());
+            }
+        }
+    }
+
+    @Test
+    void testNotReadyDuringWarmUp() {
+        TrendEngine engine = new TrendEngine(2, 5, 10);
+        for (int i = 1; i < 10; i++) {
+            assertFalse(engine.next(i));
+            assertNull(engine.trendState());
+            assertTrue(engine.trend().isEmpty());
+        }
+        assertTrue(engine.lng().isEmpty());
+        assertEquals(TrendEngine.DEFAULT_WINDOW, engine.fast().size());
+        assertTrue(engine.next(10));
+    }
+
+    @Test
+    void testTiedEmasKeepPreviousState() {
+        TrendEngine engine = new TrendEngine(2, 5, 10);
+        for (int i = 0; i < 20; i++) {
+            assertFalse(engine.next(7.0));
+            assertNull(engine.trendState());
+        }
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(engine.next(7.0 + i));
+        }
+        assertEquals(TrendState.BULL, engine.trendState());
+
+        // a restored engine keeps the state rather than reclassifying
+        TrendEngine restored = new TrendEngine(2, 5, 10);
+        restored.restore(engine.checkpoint());
+        assertEquals(TrendState.BULL, restored.trendState());
+    }
+
+    @Test
+    void testWindowsAreLiveViews() {
+        TrendEngine engine = new TrendEngine(2, 5, 10);
+        for (int i = 1; i <= 12; i++) {
+            engine.next(i);
+        }
+        DoubleWindow fast = engine.fast();
+        double before = fast.last();
+        engine.next(13);
+        assertSame(fast, engine.fast());
+        assertEquals(before, fast.get(fast.size() - 2), 1e-9);
+        assertTrue(fast.last() > before);
+    }
+
+    @Test
+    void testTrendSnapshotIsDetached() {
+        TrendEngine engine = new TrendEngine(2, 5, 10);
+        for (int i = 1; i <= 12; i++) {
+            engine.next(i);
+        }
+        Trend trend = engine.trend().orElseThrow();
+        double[] fast = trend.getFast().clone();
+        engine.next(13);
+
+        assertArrayEquals(fast, trend.getFast());
+        assertEquals(12.0, trend.getPrice());
+        assertEquals(TrendState.BULL, trend.getTrendState());
+        assertEquals(TrendEngine.DEFAULT_WINDOW, trend.getLng().length);
+    }
+
+    @Test
+    void testMatchesTrendCalculator() {
+        double[] prices = randomWalk(7, 300);
+        TrendEngine engine = new TrendEngine(8, 21, 200);
+        for (double price : prices) {
+            engine.next(price);
+        }
+        Trend trend = TrendCalculator.trend(prices, 8, 21, 200).orElseThrow();
+
+        assertEquals(engine.trendState(), trend.getTrendState());
+        assertArrayEquals(engine.lng().toArray(), trend.getLng());
+    }
+
+    @Test
+    void testInvalidPeriods() {
+        assertThrows(IllegalArgumentException.class, () -> new TrendEngine(0, 5, 10));
+        assertThrows(IllegalArgumentException.class, () -> new TrendEngine(5, 5, 10));
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.dfauth.ta;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZScoreTest {
+
+    @Test
+    void testZScore() {
+        double[] z = ZScore.zScore(new double[]{2, 4, 4, 4, 6}, 4);
+
+        assertEquals(2, z.length);
+        assertEquals((4 - 3.5) / Math.sqrt(0.75), z[0], 1e-12);
+        assertEquals((6 - 4.5) / Math.sqrt(0.75), z[1], 1e-12);
+    }
+
+    @Test
+    void testNoDispersion() {
+        DoubleUnaryIndicator z = ZScore.zScoreIndicator(2);
+
+        assertTrue(Double.isNaN(z.next(3.0)));
+        assertEquals(0.0, z.next(3.0));
+        assertTrue(z.isReady());
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.dfauth.trade.config;
+
+import io.github.dfauth.dormant.Dormant;
+import io.github.dfauth.dormant.Serde;
+import io.github.dfauth.dormant.SerdeFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes {@code application/x-dormant} bodies: a single {@link Dormant}
+ * or a collection of a concrete {@link Dormant} type.
+ * <p>
+ * A single object is written as a {@link Serde#writeEnvelope(Dormant) envelope}.
+ * A collection is written as the magic number and the element type id once,
+ * followed by a list of element bodies, so bulk payloads carry no per-row header.
+ */
+public class DormantHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_DORMANT_VALUE = "application/x-dormant";
+    public static final MediaType APPLICATION_DORMANT = MediaType.valueOf(APPLICATION_DORMANT_VALUE);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public DormantHttpMessageConverter() {
+        super(APPLICATION_DORMANT);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Dormant.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        // collections are read into an ArrayList
+        boolean assignable = !isCollection(resolved) || resolved.toClass().isAssignableFrom(ArrayList.class);
+        return assignable && isSupported(resolved) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.forClass(clazz);
+        return isSupported(resolved) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        ResolvableType resolved = ResolvableType.forType(type);
+        Serde serde = SerdeFactory.create(new BufferedInputStream(inputMessage.getBody(), BUFFER_SIZE));
+        try {
+            if (isCollection(resolved)) {
+                Class<? extends Dormant> elementClass = elementClass(resolved);
+                readHeader(serde, BeanUtils.instantiateClass(elementClass), inputMessage);
+                List<Dormant> result = serde.readCollection(s -> {
+                    Dormant element = BeanUtils.instantiateClass(elementClass);
+                    element.read(s);
+                    return element;
+                }, ArrayList::new);
+                return result != null ? result : List.of();
+            }
+            Dormant value = (Dormant) BeanUtils.instantiateClass(resolved.toClass());
+            readHeader(serde, value, inputMessage);
+            value.read(serde);
+            return value;
+        } catch (HttpMessageNotReadableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new HttpMessageNotReadableException("Could not read dormant payload: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(outputMessage.getBody(), BUFFER_SIZE);
+        Serde serde = SerdeFactory.create(out);
+        if (value instanceof Collection<?> collection) {
+            serde.writeInt(serde.magicNumber());
+            serde.writeInt(BeanUtils.instantiateClass(elementClass(ResolvableType.forType(type))).typeId());
+            serde.writeList(asList(collection), (s, e) -> e.write(s));
+        } else {
+            serde.writeEnvelope((Dormant) value);
+        }
+        out.flush();
+    }
+
+    private void readHeader(Serde serde, Dormant expected, HttpInputMessage inputMessage) {
+        int magic = serde.readInt();
+        if (magic != serde.magicNumber()) {
+            throw new HttpMessageNotReadableException("Invalid magic number: 0x" + Integer.toHexString(magic), inputMessage);
+        }
+        int typeId = serde.readInt();
+        if (typeId != expected.typeId()) {
+            throw new HttpMessageNotReadableException("Type ID mismatch: expected " + expected.typeId() + " but got " + typeId, inputMessage);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Dormant> asList(Collection<?> collection) {
+        return (List<Dormant>) (collection instanceof List<?> list ? list : List.copyOf(collection));
+    }
+
+    private static boolean isSupported(ResolvableType type) {
+        if (isCollection(type)) {
+            Class<?> element = type.asCollection().resolveGeneric(0);
+            return element != null && isConcreteDormant(element);
+        }
+        Class<?> clazz = type.resolve();
+        return clazz != null && isConcreteDormant(clazz);
+    }
+
+    private static boolean isCollection(ResolvableType type) {
+        Class<?> clazz = type.resolve();
+        return clazz != null && Collection.class.isAssignableFrom(clazz);
+    }
+
+    private static boolean isConcreteDormant(Class<?> clazz) {
+        return Dormant.class.isAssignableFrom(clazz) && !clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Dormant> elementClass(ResolvableType type) {
+        return (Class<? extends Dormant>) type.asCollection().resolveGeneric(0);
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.dfauth.trade.config;
+
+import io.github.dfauth.ta.ScanEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class ScanConfig {
+
+    /**
+     * Workers for market-wide scans whose spec loads prices. They block on
+     * the database, so they get their own pool rather than the common one,
+     * sized to half the connection pool so a scan leaves connections for
+     * other requests.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool scanPool(@Value("${spring.datasource.hikari.maximum-pool-size:10}") int connections) {
+        return new ForkJoinPool(Math.max(1, connections / 2));
+    }
+
+    @Bean
+    public ScanEngine scanEngine(ForkJoinPool scanPool) {
+        return new ScanEngine(scanPool);
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.dfauth.trade.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        // appended after Jackson so JSON stays the default for Accept: */*
+        builder.configureMessageConvertersList(converters -> converters.add(new DormantHttpMessageConverter()));
+    }
+}
@@ -1,6 +1,6 @@
 package io.github.dfauth.trade.controller;
 
-import io.github.dfauth.ta.TrendCalculator;
+import io.github.dfauth.ta.TrendEngine;
 import io.github.dfauth.trade.model.*;
 import io.github.dfauth.trade.repository.PriceRepository;
 import io.github.dfauth.trade.service.UserService;
@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +19,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static io.github.dfauth.trade.config.DormantHttpMessageConverter.APPLICATION_DORMANT_VALUE;
 import static io.github.dfauth.trycatch.Utils.oops;
 import static java.lang.Math.abs;
 
@@ -36,7 +38,7 @@ public class PriceController extends BaseController {
 
     @Operation(summary = "Batch insert prices", description = "Persists a list of prices for a security, silently skipping any that already exist for the same market, code, and date.")
     @ApiResponse(responseCode = "201", description = "Number of new prices persisted")
-    @PostMapping("/batch/{code}")
+    @PostMapping(value = "/batch/{code}", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_DORMANT_VALUE})
     public ResponseEntity<Integer> createPrices(
             @Parameter(description = "Security code (e.g. BHP)") @PathVariable("code") String code,
             @RequestBody List<Price> prices) {
@@ -98,11 +100,11 @@ public class PriceController extends BaseController {
             @Parameter(description = "Trend state filter (e.g. BULL, BEAR)") @RequestParam("sentiment") Optional<String> sentiment) {
         return priceRepository.findDistinctCodesByMarket(market).stream()
                 .flatMap(code -> {
-                    double[] prices = priceRepository.findByMarketAndCodeOrderByDateAsc(market, code)
-                            .stream()
-                            .mapToDouble(p -> p.getClose().doubleValue())
-                            .toArray();
-                    return TrendCalculator.trend(prices, 8, 21, 200)
+                    TrendEngine engine = new TrendEngine(8, 21, 200);
+                    for (Price p : priceRepository.findByMarketAndCodeOrderByDateAsc(market, code)) {
+                        engine.next(p.getClose().doubleValue());
+                    }
+                    return engine.trend()
                             .stream()
                             .map(trend -> new TrendSummary(market, code, trend.getPrice(), trend));
                 })
@@ -113,7 +115,7 @@ public class PriceController extends BaseController {
 
     @Operation(summary = "Get prices for a security", description = "Returns OHLCV prices ordered by date ascending, optionally filtered by date range or tenor.")
     @ApiResponse(responseCode = "200", description = "List of prices")
-    @GetMapping("/{code}")
+    @GetMapping(value = "/{code}", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_DORMANT_VALUE})
     public List<Price> getPrices(
             @Parameter(description = "Market code (e.g. ASX)") @RequestParam("market") Optional<String> market,
             @Parameter(description = "Security code (e.g. BHP)") @PathVariable("code") String code,
@@ -1,7 +1,9 @@
 package io.github.dfauth.trade.controller;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.dfauth.ta.DoubleUnaryIndicator;
 import io.github.dfauth.ta.RelativeStrengthIndex;
+import io.github.dfauth.ta.ScanEngine;
 import io.github.dfauth.ta.TrendVelocity;
 import io.github.dfauth.trade.model.*;
 import io.github.dfauth.trade.repository.PriceRepository;
@@ -14,12 +16,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 import static io.github.dfauth.trycatch.Utils.oops;
 import static io.github.dfauth.trycatch.Utils.right;
@@ -33,10 +35,12 @@ import static java.util.Optional.empty;
 public class TechnicalAnalysisController extends BaseController {
 
     private final PriceRepository priceRepository;
+    private final ScanEngine scanEngine;
 
-    public TechnicalAnalysisController(PriceRepository priceRepository, UserService userService) {
+    public TechnicalAnalysisController(PriceRepository priceRepository, ScanEngine scanEngine, UserService userService) {
         super(userService);
         this.priceRepository = priceRepository;
+        this.scanEngine = scanEngine;
     }
 
     @Operation(summary = "Get RSI for all securities in a market", description = "Returns the latest RSI for every code in the market, excluding codes with insufficient price history.")
@@ -50,19 +54,19 @@ public class TechnicalAnalysisController extends BaseController {
             String market = optMarket.orElse(u.getDefaultMarket());
             int period = optPeriod.orElse(14);
             Optional<DateRange> dateRange = DateRange.resolve(empty(), empty(), endAt);
-            return priceRepository.findDistinctCodesByMarket(market).stream()
-                    .map(code -> {
-                        Function<Double, Optional<Double>> rsi = RelativeStrengthIndex.rsiStream(period);
-                        Optional<Double> last = dateRange
-                                .map(dr -> priceRepository.findByMarketAndCodeAndDateBetweenOrderByDateAsc(market, code, dr.start(), dr.end()))
-                                .orElseGet(() -> priceRepository.findByMarketAndCodeOrderByDateAsc(market, code))
-                                .stream()
-                                .flatMap(p -> rsi.apply(p.getClose().doubleValue()).stream())
-                                .reduce((a, b) -> b);
-                        return new CodeAware<>(market, code, last.orElse(Double.NaN));
-                    })
-                    .filter(ca -> !Double.isNaN(ca.getPayload()))
-                    .collect(Collectors.toList());
+            List<String> codes = priceRepository.findDistinctCodesByMarket(market);
+            // each worker loads and reduces one code at a time, so only the price lists in flight
+            // are held; the engine's pool is bounded by ScanConfig, as the loads block on JDBC
+            double[] rsi = scanEngine.scan(codes, code -> lastRsi(dateRange
+                    .map(dr -> priceRepository.findByMarketAndCodeAndDateBetweenOrderByDateAsc(market, code, dr.start(), dr.end()))
+                    .orElseGet(() -> priceRepository.findByMarketAndCodeOrderByDateAsc(market, code)), period), new double[codes.size()]);
+            List<CodeAware<Double>> result = new ArrayList<>();
+            for (int i = 0; i < codes.size(); i++) {
+                if (!Double.isNaN(rsi[i])) {
+                    result.add(new CodeAware<>(market, codes.get(i), rsi[i]));
+                }
+            }
+            return result;
         });
     }
 
@@ -76,21 +80,24 @@ public class TechnicalAnalysisController extends BaseController {
         return authorize(u -> {
             Optional<DateRange> dateRange = DateRange.resolve(empty(), empty(), endAt);
             int period = optPeriod.orElse(14);
-            Function<Double, Optional<Double>> rsi = RelativeStrengthIndex.rsiStream(period);
             return u.resolveCode(marketCodeString, (mkt, cd) -> {
-                Optional<Double> last = dateRange
+                List<Price> prices = dateRange
                         .map(dr -> priceRepository.findByMarketAndCodeAndDateBetweenOrderByDateAsc(mkt, cd, dr.start(), dr.end()))
-                        .orElseGet(() -> priceRepository.findByMarketAndCodeOrderByDateAsc(mkt, cd))
-                        .stream()
-                        .map(p -> rsi.apply(p.getClose().doubleValue()))
-                        .filter(Optional::isPresent)
-                        .reduce((a, b) -> b)
-                        .flatMap(o -> o);
-                return new CodeAware<>(mkt, cd, last.orElse(Double.NaN));
+                        .orElseGet(() -> priceRepository.findByMarketAndCodeOrderByDateAsc(mkt, cd));
+                return new CodeAware<>(mkt, cd, lastRsi(prices, period));
             });
         });
     }
 
+    private static double lastRsi(List<Price> prices, int period) {
+        DoubleUnaryIndicator rsi = RelativeStrengthIndex.rsiIndicator(period);
+        double last = Double.NaN;
+        for (Price price : prices) {
+            last = rsi.next(price.close());
+        }
+        return last;
+    }
+
     @Operation(summary = "Get Trend Velocity for a security", description = "Returns the latest Trend Velocity value: RoC(ema(period)) / atr(period).")
     @ApiResponse(responseCode = "200", description = "Trend Velocity value")
     @GetMapping("/tv/{code}/{period}")
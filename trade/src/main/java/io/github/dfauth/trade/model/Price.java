@@ -1,5 +1,7 @@
 package io.github.dfauth.trade.model;
 
+import io.github.dfauth.dormant.Dormant;
+import io.github.dfauth.dormant.Serde;
 import io.github.dfauth.ta.Candle;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -16,7 +18,7 @@ import java.time.LocalDate;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Price implements Candle {
+public class Price implements Candle, Dormant {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -65,4 +67,33 @@ public class Price implements Candle {
     public double close() {
         return getClose().doubleValue();
     }
+
+    @Override
+    public void write(Serde serde) {
+        serde.writeBoolean(id != null);
+        if (id != null) {
+            serde.writeLong(id);
+        }
+        serde.writeString(market);
+        serde.writeString(code);
+        serde.writeLocalDate(date);
+        serde.writeBigDecimal(open);
+        serde.writeBigDecimal(high);
+        serde.writeBigDecimal(low);
+        serde.writeBigDecimal(close);
+        serde.writeInt(volume);
+    }
+
+    @Override
+    public void read(Serde serde) {
+        id = serde.readBoolean() ? serde.readLong() : null;
+        market = serde.readString();
+        code = serde.readString();
+        date = serde.readLocalDate();
+        open = serde.readBigDecimal();
+        high = serde.readBigDecimal();
+        low = serde.readBigDecimal();
+        close = serde.readBigDecimal();
+        volume = serde.readInt();
+    }
 }
@@ -1,5 +1,6 @@
 package io.github.dfauth.trade.controller;
 
+import io.github.dfauth.trade.config.DormantHttpMessageConverter;
 import io.github.dfauth.trade.model.Price;
 import io.github.dfauth.trade.model.User;
 import io.github.dfauth.trade.repository.PriceRepository;
@@ -9,10 +10,14 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
 import org.springframework.test.web.servlet.MockMvc;
 import tools.jackson.databind.ObjectMapper;
 
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -24,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.oidcLogin;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -34,6 +40,7 @@ class PriceControllerTest {
     private static final String MARKET = "ASX";
     private static final String CODE = "BHP";
     private static final String GOOGLE_ID = "google-123";
+    private static final Type PRICE_LIST = new ParameterizedTypeReference<List<Price>>() {}.getType();
 
     @Autowired
     private MockMvc mockMvc;
@@ -144,6 +151,74 @@ class PriceControllerTest {
                 .andExpect(jsonPath("$[1].date").value("2024-01-15"));
     }
 
+    @Test
+    void createBatch_dormant() throws Exception {
+        List<Price> prices = List.of(
+                samplePrice(LocalDate.of(2024, 1, 2)),
+                samplePrice(LocalDate.of(2024, 1, 3))
+        );
+
+        mockMvc.perform(post("/api/prices/batch/" + CODE)
+                        .with(oidcLogin().idToken(token -> token.subject(GOOGLE_ID).claim("email", "test@example.com")))
+                        .contentType(DormantHttpMessageConverter.APPLICATION_DORMANT)
+                        .content(toDormant(prices)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$").value(2));
+
+        assertEquals(2, priceRepository.count());
+    }
+
+    @Test
+    void getPrices_dormant() throws Exception {
+        priceRepository.save(samplePrice(LocalDate.of(2024, 1, 3)));
+        priceRepository.save(samplePrice(LocalDate.of(2024, 1, 2)));
+
+        byte[] body = mockMvc.perform(get("/api/prices/" + CODE).param("market", MARKET)
+                        .accept(DormantHttpMessageConverter.APPLICATION_DORMANT)
+                        .with(oidcLogin().idToken(token -> token.subject(GOOGLE_ID).claim("email", "test@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(DormantHttpMessageConverter.APPLICATION_DORMANT))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<Price> prices = fromDormant(body);
+        assertEquals(2, prices.size());
+        assertEquals(LocalDate.of(2024, 1, 2), prices.get(0).getDate());
+        assertEquals(LocalDate.of(2024, 1, 3), prices.get(1).getDate());
+        assertEquals(new BigDecimal("43.200000"), prices.get(1).getClose());
+        assertEquals(1_000_000, prices.get(1).getVolume());
+    }
+
+    @Test
+    void getPrices_defaultsToJson() throws Exception {
+        priceRepository.save(samplePrice(LocalDate.of(2024, 1, 2)));
+
+        mockMvc.perform(get("/api/prices/" + CODE).param("market", MARKET)
+                        .accept(MediaType.ALL)
+                        .with(oidcLogin().idToken(token -> token.subject(GOOGLE_ID).claim("email", "test@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void createBatch_invalidDormant_returns400() throws Exception {
+        mockMvc.perform(post("/api/prices/batch/" + CODE)
+                        .with(oidcLogin().idToken(token -> token.subject(GOOGLE_ID).claim("email", "test@example.com")))
+                        .contentType(DormantHttpMessageConverter.APPLICATION_DORMANT)
+                        .content("not dormant".getBytes()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private byte[] toDormant(List<Price> prices) throws Exception {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        new DormantHttpMessageConverter().write(prices, PRICE_LIST, DormantHttpMessageConverter.APPLICATION_DORMANT, message);
+        return message.getBodyAsBytes();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Price> fromDormant(byte[] body) throws Exception {
+        return (List<Price>) new DormantHttpMessageConverter().read(PRICE_LIST, null, new MockHttpInputMessage(body));
+    }
+
     // Generates `count` prices with close linearly stepping by `increment` per bar.
     // A positive increment produces a rising trend (→ BULL); negative produces falling (→ BEAR).
     private List<Price> trendingPrices(String market, String code, int count, double start, double increment) {